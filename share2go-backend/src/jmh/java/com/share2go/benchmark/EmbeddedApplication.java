@@ -0,0 +1,43 @@
+package com.share2go.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.share2go.Share2goBackendApplication;
+
+/**
+ * Boots the application on a private in-memory H2 database and a random port
+ * for benchmarks and load runs.
+ */
+public final class EmbeddedApplication {
+
+	private EmbeddedApplication() {
+	}
+
+	public static ConfigurableApplicationContext start(String database, String... extraArguments) {
+		List<String> arguments = new ArrayList<>(List.of(
+				// Command line arguments outrank the MySQL settings in application.properties
+				"--spring.datasource.url=jdbc:h2:mem:" + database
+						+ ";MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.hibernate.ddl-auto=create-drop",
+				"--spring.jpa.show-sql=false",
+				"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+				"--spring.jpa.properties.hibernate.generate_statistics=false",
+				"--server.port=0",
+				"--logging.level.root=WARN"));
+		arguments.addAll(List.of(extraArguments));
+		// Devtools would otherwise rerun the caller's main method in a restart class loader
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		return new SpringApplicationBuilder(Share2goBackendApplication.class).run(arguments.toArray(String[]::new));
+	}
+
+	public static int port(ConfigurableApplicationContext context) {
+		return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+	}
+}
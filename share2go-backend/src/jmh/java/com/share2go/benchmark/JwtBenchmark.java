@@ -0,0 +1,73 @@
+package com.share2go.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.share2go.auth.JwtUtil;
+import com.share2go.model.User;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Access token throughput: signing a new token, and validating one with a
+ * parser built per call (the previous JwtUtil.validate), one shared parser,
+ * and JwtUtil.validate with the verified-token cache.
+ *
+ * mvn -P benchmark test-compile exec:exec -Djmh.includes=JwtBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+	private static final String SECRET = "mySecretKey123456789mySecretKey123456789mySecretKey123456789";
+
+	private JwtUtil jwtUtil;
+	private JwtParser sharedParser;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtUtil = new JwtUtil(SECRET, 900_000, 604_800_000, 60_000, 10_000);
+		sharedParser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+		token = jwtUtil.generateAccessToken("driver@share2go.test", 42L, User.Role.Driver);
+	}
+
+	@Benchmark
+	public String generate() {
+		return jwtUtil.generateAccessToken("driver@share2go.test", 42L, User.Role.Driver);
+	}
+
+	@Benchmark
+	public Jws<Claims> parserPerCall() {
+		return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+				.parseClaimsJws(token);
+	}
+
+	@Benchmark
+	public Jws<Claims> sharedParser() {
+		return sharedParser.parseClaimsJws(token);
+	}
+
+	@Benchmark
+	public Jws<Claims> cachedValidate() {
+		return jwtUtil.validate(token);
+	}
+}
@@ -0,0 +1,107 @@
+package com.share2go.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.share2go.dto.BookingDTO;
+import com.share2go.dto.NotificationDTO;
+import com.share2go.dto.RideDTO;
+import com.share2go.mapper.BookingMapper;
+import com.share2go.mapper.NotificationMapper;
+import com.share2go.mapper.RideMapper;
+import com.share2go.model.Booking;
+import com.share2go.model.Notification;
+import com.share2go.model.Ride;
+import com.share2go.model.User;
+
+/**
+ * Entity to DTO mapping throughput for the three mappers on the list endpoints.
+ *
+ * mvn -P benchmark test-compile exec:exec -Djmh.includes=MapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+	private Ride ride;
+	private List<Long> passengerIds;
+	private Booking booking;
+	private Notification notification;
+
+	@Setup
+	public void setUp() {
+		User driver = user(1L, User.Role.Driver);
+		User passenger = user(2L, User.Role.Passenger);
+
+		ride = new Ride();
+		ride.setId(10L);
+		ride.setOrigin("Pune");
+		ride.setDestination("Mumbai");
+		ride.setDepartureTime(LocalDateTime.now().plusDays(1));
+		ride.setAvailableSeats(3);
+		ride.setPricePerSeat(450);
+		ride.setOriginLat(18.52);
+		ride.setOriginLng(73.85);
+		ride.setDestinationLat(19.07);
+		ride.setDestinationLng(72.87);
+		ride.setDriver(driver);
+		passengerIds = new ArrayList<>(List.of(2L, 3L, 4L));
+
+		booking = new Booking();
+		booking.setId(100L);
+		booking.setNumberOfSeats(2);
+		booking.setStatus("CONFIRMED");
+		booking.setBookingTime(LocalDateTime.now());
+		booking.setRide(ride);
+		booking.setPassenger(passenger);
+
+		notification = new Notification();
+		notification.setId(1000L);
+		notification.setRecipient(driver);
+		notification.setType("BOOKING_REQUEST");
+		notification.setMessage("New booking request: Passenger requested 2 seat(s).");
+		notification.setRideId(ride.getId());
+		notification.setBookingId(booking.getId());
+	}
+
+	@Benchmark
+	public RideDTO rideToDTO() {
+		return RideMapper.toDTO(ride, passengerIds);
+	}
+
+	@Benchmark
+	public BookingDTO bookingToDTO() {
+		return BookingMapper.toDTO(booking);
+	}
+
+	@Benchmark
+	public NotificationDTO notificationToDTO() {
+		return NotificationMapper.toDTO(notification);
+	}
+
+	private static User user(Long id, User.Role role) {
+		User user = new User();
+		user.setId(id);
+		user.setName(role + " " + id);
+		user.setEmail(role.toString().toLowerCase() + id + "@share2go.test");
+		user.setRole(role);
+		return user;
+	}
+}
@@ -0,0 +1,59 @@
+package com.share2go.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.share2go.search.RideGeoEntry;
+import com.share2go.search.RideGeoIndex;
+
+/**
+ * Proximity lookups on RideGeoIndex with rides spread over Maharashtra
+ * (roughly 7 x 8 degrees), querying a 10 km radius around Pune and Mumbai.
+ *
+ * mvn -P benchmark test-compile exec:exec -Djmh.includes=RideGeoBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RideGeoBenchmark {
+
+	@Param({ "10000", "100000", "1000000" })
+	public int rides;
+
+	private RideGeoIndex index;
+	private LocalDateTime now;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		now = LocalDateTime.now();
+		index = new RideGeoIndex(null, 0.05);
+		Random random = new Random(42);
+		for (long id = 1; id <= rides; id++) {
+			index.index(new RideGeoEntry(id, 15.5 + random.nextDouble() * 7, 72.5 + random.nextDouble() * 8,
+					15.5 + random.nextDouble() * 7, 72.5 + random.nextDouble() * 8,
+					now.plusMinutes(random.nextInt(60 * 24 * 60) - 60 * 24 * 30)));
+		}
+	}
+
+	@Benchmark
+	public Object nearby() {
+		return index.nearby(18.52, 73.86, 19.08, 72.88, 10, now);
+	}
+}
@@ -0,0 +1,140 @@
+package com.share2go.benchmark;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.share2go.search.RideSearchEntry;
+import com.share2go.search.RideSearchIndex;
+
+/**
+ * Compares the LIKE '%x%' query behind RideRepository.searchRides with
+ * RideSearchIndex at 10k, 100k and 1M rides on an embedded H2 database.
+ *
+ * mvn -P benchmark test-compile exec:exec -Djmh.includes=RideSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RideSearchBenchmark {
+
+	static final String[] CITIES = { "Mumbai", "Pune", "Nashik", "Nagpur", "Aurangabad", "Kolhapur", "Solapur",
+			"Satara", "Sangli", "Thane", "Navi Mumbai", "Lonavala", "Ahmednagar", "Jalgaon", "Latur", "Nanded",
+			"Akola", "Amravati", "Ratnagiri", "Panvel", "Bengaluru", "Hyderabad", "Chennai", "Goa", "Indore",
+			"Surat", "Vadodara", "Ahmedabad", "Belgaum", "Hubli" };
+
+	private static final String LIKE_QUERY = "SELECT id, origin, destination, departure_time FROM rides WHERE "
+			+ "LOWER(origin) LIKE LOWER(CONCAT('%', ?, '%')) AND "
+			+ "LOWER(destination) LIKE LOWER(CONCAT('%', ?, '%')) AND departure_time >= ?";
+
+	private static final String ID_QUERY = "SELECT id, origin, destination, departure_time FROM rides "
+			+ "WHERE id = ANY(?)";
+
+	@Param({ "10000", "100000", "1000000" })
+	public int rides;
+
+	private Connection connection;
+	private RideSearchIndex index;
+	private LocalDateTime now;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		now = LocalDateTime.now();
+		connection = DriverManager.getConnection("jdbc:h2:mem:ride_search_" + rides + ";MODE=MySQL");
+		try (Statement ddl = connection.createStatement()) {
+			ddl.execute("CREATE TABLE rides (id BIGINT PRIMARY KEY, origin VARCHAR(255), "
+					+ "destination VARCHAR(255), departure_time TIMESTAMP)");
+			ddl.execute("CREATE INDEX idx_rides_departure_time ON rides (departure_time)");
+		}
+
+		index = new RideSearchIndex(null);
+		Random random = new Random(42);
+		connection.setAutoCommit(false);
+		try (PreparedStatement insert = connection.prepareStatement("INSERT INTO rides VALUES (?, ?, ?, ?)")) {
+			for (long id = 1; id <= rides; id++) {
+				String origin = CITIES[random.nextInt(CITIES.length)];
+				String destination = CITIES[random.nextInt(CITIES.length)];
+				LocalDateTime departure = now.plusMinutes(random.nextInt(60 * 24 * 60) - 60 * 24 * 30);
+				insert.setLong(1, id);
+				insert.setString(2, origin);
+				insert.setString(3, destination);
+				insert.setTimestamp(4, Timestamp.valueOf(departure));
+				insert.addBatch();
+				if (id % 10_000 == 0) {
+					insert.executeBatch();
+				}
+				index.index(new RideSearchEntry(id, origin, destination, departure));
+			}
+			insert.executeBatch();
+		}
+		connection.commit();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Benchmark
+	public void likeScan(Blackhole bh) throws SQLException {
+		try (PreparedStatement query = connection.prepareStatement(LIKE_QUERY)) {
+			query.setString(1, "pune");
+			query.setString(2, "mumbai");
+			query.setTimestamp(3, Timestamp.valueOf(now));
+			consume(query, bh);
+		}
+	}
+
+	@Benchmark
+	public void indexLookup(Blackhole bh) {
+		bh.consume(index.search("pune", "mumbai", now));
+	}
+
+	@Benchmark
+	public void indexLookupAndFetch(Blackhole bh) throws SQLException {
+		List<Long> ids = index.search("pune", "mumbai", now);
+		try (PreparedStatement query = connection.prepareStatement(ID_QUERY)) {
+			Array array = connection.createArrayOf("BIGINT", ids.toArray());
+			query.setArray(1, array);
+			consume(query, bh);
+		}
+	}
+
+	private static void consume(PreparedStatement query, Blackhole bh) throws SQLException {
+		try (ResultSet rs = query.executeQuery()) {
+			while (rs.next()) {
+				bh.consume(rs.getLong(1));
+				bh.consume(rs.getString(2));
+				bh.consume(rs.getString(3));
+				bh.consume(rs.getTimestamp(4));
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.share2go.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.dto.RideDTO;
+import com.share2go.model.Ride;
+import com.share2go.model.User;
+import com.share2go.repository.RideRepository;
+import com.share2go.repository.UserRepository;
+import com.share2go.search.RideGeoIndex;
+import com.share2go.search.RideSearchIndex;
+import com.share2go.service.RideService;
+
+/**
+ * End-to-end RideServiceImpl.searchRides, index lookup plus entity fetch and
+ * mapping, on an embedded H2 database seeded with synthetic rides between
+ * Maharashtra cities.
+ *
+ * mvn -P benchmark test-compile exec:exec -Djmh.includes=RideServiceSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RideServiceSearchBenchmark {
+
+	private static final int DRIVERS = 500;
+	private static final int SEED_BATCH_SIZE = 1000;
+
+	@Param({ "10000", "100000" })
+	public int rides;
+
+	private ConfigurableApplicationContext context;
+	private RideService rideService;
+	private LocalDateTime now;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = EmbeddedApplication.start("ride_service_" + rides,
+				"--spring.jpa.properties.hibernate.jdbc.batch_size=" + SEED_BATCH_SIZE);
+		rideService = context.getBean(RideService.class);
+		now = LocalDateTime.now();
+		seed();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<RideDTO> searchByText() {
+		return rideService.searchRides("pune", "mumbai", now);
+	}
+
+	@Benchmark
+	public List<RideDTO> searchByOriginPrefix() {
+		return rideService.searchRides("nag", "", now);
+	}
+
+	private void seed() {
+		UserRepository userRepository = context.getBean(UserRepository.class);
+		RideRepository rideRepository = context.getBean(RideRepository.class);
+		TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+		List<User> drivers = new ArrayList<>();
+		for (int i = 0; i < DRIVERS; i++) {
+			User driver = new User();
+			driver.setName("Driver " + i);
+			driver.setEmail("driver" + i + "@bench.test");
+			driver.setPassword("unused");
+			driver.setRole(User.Role.Driver);
+			drivers.add(driver);
+		}
+		List<User> savedDrivers = userRepository.saveAll(drivers);
+
+		Random random = new Random(42);
+		for (int from = 0; from < rides; from += SEED_BATCH_SIZE) {
+			int count = Math.min(SEED_BATCH_SIZE, rides - from);
+			tx.executeWithoutResult(status -> {
+				List<Ride> batch = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					Ride ride = new Ride();
+					ride.setOrigin(RideSearchBenchmark.CITIES[random.nextInt(RideSearchBenchmark.CITIES.length)]);
+					ride.setDestination(
+							RideSearchBenchmark.CITIES[random.nextInt(RideSearchBenchmark.CITIES.length)]);
+					ride.setDepartureTime(now.plusMinutes(random.nextInt(60 * 24 * 60) - 60 * 24 * 30));
+					ride.setAvailableSeats(1 + random.nextInt(4));
+					ride.setPricePerSeat(100 + random.nextInt(900));
+					ride.setDriver(savedDrivers.get(random.nextInt(DRIVERS)));
+					batch.add(ride);
+				}
+				rideRepository.saveAll(batch);
+			});
+		}
+		// The indexes were loaded at startup, before the rides existed
+		context.getBean(RideSearchIndex.class).afterSingletonsInstantiated();
+		context.getBean(RideGeoIndex.class).afterSingletonsInstantiated();
+	}
+}
@@ -0,0 +1,362 @@
+package com.share2go.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.share2go.benchmark.EmbeddedApplication;
+
+/**
+ * Open-loop load generator for the ride, booking and notification APIs.
+ *
+ * Requests are started on a fixed schedule at the configured rate whatever the
+ * server's response time, and latency is measured from each request's planned
+ * start, so a stalled server shows up as latency instead of quietly lowering
+ * the load. Without --target the application is started on an in-memory H2
+ * database first.
+ *
+ * mvn -P benchmark test-compile exec:exec@load-test -Dloadtest.args="--rate=300 --duration=PT60S"
+ *
+ * Options (defaults in brackets):
+ *   --target=URL         run against a running server [embedded]
+ *   --rate=N             requests per second over all endpoints [200]
+ *   --duration=ISO       measured run time [PT60S]
+ *   --warmup=ISO         unmeasured run time before it [PT10S]
+ *   --drivers=N          --passengers=N  synthetic users [20, 200]
+ *   --max-in-flight=N    requests beyond this are counted as dropped [512]
+ *   --mix=op:w,...       weights for search, book, decide, publish, unread, notifications
+ *                        [search:40,unread:20,book:15,notifications:10,decide:10,publish:5]
+ *   --report=FILE        also write the results as CSV
+ *   --query-delay=ISO    extra time every embedded JDBC statement takes [PT0S]
+ *   --spring.*, --server.*, --logging.*  passed on to the embedded application
+ */
+public class LoadGenerator {
+
+	private static final String[] CITIES = { "Mumbai", "Pune", "Nashik", "Nagpur", "Aurangabad", "Kolhapur",
+			"Solapur", "Satara", "Thane", "Lonavala" };
+	private static final String PASSWORD = "load-test-password";
+	private static final String DEFAULT_MIX = "search:40,unread:20,book:15,notifications:10,decide:10,publish:5";
+
+	private final Map<String, String> options;
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	private final ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	private final List<Account> drivers = new ArrayList<>();
+	private final List<Account> passengers = new ArrayList<>();
+	private final List<Long> rideIds = new CopyOnWriteArrayList<>();
+	private final Queue<Long> pendingBookings = new ConcurrentLinkedQueue<>();
+	private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+	private String baseUrl;
+	private volatile long measureFromNanos;
+
+	LoadGenerator(Map<String, String> options) {
+		this.options = options;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		// Maven passes loadtest.args as one argument, so split on whitespace as well
+		for (String arg : String.join(" ", args).trim().split("\\s+")) {
+			if (!arg.isEmpty()) {
+				String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+				options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+			}
+		}
+
+		ConfigurableApplicationContext context = null;
+		String target = options.get("target");
+		if (target == null) {
+			List<String> arguments = new ArrayList<>(List.of(
+					"--spring.main.sources=" + QueryDelay.class.getName(),
+					"--share2go.loadtest.query-delay=" + options.getOrDefault("query-delay", "PT0S")));
+			options.forEach((name, value) -> {
+				if (name.startsWith("spring.") || name.startsWith("server.") || name.startsWith("logging.")) {
+					arguments.add("--" + name + "=" + value);
+				}
+			});
+			context = EmbeddedApplication.start("load_test", arguments.toArray(String[]::new));
+			target = "http://localhost:" + EmbeddedApplication.port(context);
+		}
+		try {
+			new LoadGenerator(options).run(target);
+		} finally {
+			if (context != null) {
+				context.close();
+			}
+		}
+	}
+
+	void run(String target) throws Exception {
+		baseUrl = target;
+		int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+		Duration duration = Duration.parse(options.getOrDefault("duration", "PT60S"));
+		Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+		Semaphore inFlight = new Semaphore(Integer.parseInt(options.getOrDefault("max-in-flight", "512")));
+		List<Operation> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+		int totalWeight = mix.stream().mapToInt(Operation::weight).sum();
+
+		setUpUsers(Integer.parseInt(options.getOrDefault("drivers", "20")),
+				Integer.parseInt(options.getOrDefault("passengers", "200")));
+		for (int i = 0; i < drivers.size() * 5; i++) {
+			publishRide(randomOf(drivers)).join();
+		}
+
+		System.out.printf("Running %d req/s against %s: %s warmup, %s measured%n", rate, baseUrl, warmup, duration);
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+		long start = System.nanoTime();
+		measureFromNanos = start + warmup.toNanos();
+		long end = measureFromNanos + duration.toNanos();
+		List<CompletableFuture<?>> outstanding = new CopyOnWriteArrayList<>();
+
+		for (long planned = start; planned < end; planned += intervalNanos) {
+			long wait = planned - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			Operation op = pick(mix, totalWeight);
+			if (!inFlight.tryAcquire()) {
+				stats(op.name()).dropped.increment();
+				continue;
+			}
+			long plannedStart = planned;
+			CompletableFuture<?> call = execute(op.name(), plannedStart)
+					.whenComplete((ignored, error) -> inFlight.release());
+			outstanding.add(call);
+			outstanding.removeIf(CompletableFuture::isDone);
+		}
+		CompletableFuture.allOf(outstanding.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+		report(duration, System.out);
+		String reportFile = options.get("report");
+		if (reportFile != null) {
+			writeCsv(Path.of(reportFile), duration);
+		}
+	}
+
+	private CompletableFuture<?> execute(String op, long plannedStart) {
+		Account passenger = randomOf(passengers);
+		Account driver = randomOf(drivers);
+		return switch (op) {
+		case "search" -> timed(op, plannedStart, get("/api/rides/search?origin=" + randomCity().toLowerCase()
+				+ "&destination=" + randomCity().toLowerCase(), passenger));
+		case "book" -> book(passenger, plannedStart);
+		case "decide" -> decide(driver, plannedStart);
+		case "publish" -> timed(op, plannedStart, publishRide(driver));
+		case "unread" -> timed(op, plannedStart,
+				get("/api/notifications/user/" + passenger.id() + "/unread-count", passenger));
+		case "notifications" -> timed(op, plannedStart,
+				get("/api/notifications/user/" + passenger.id(), passenger));
+		default -> throw new IllegalArgumentException("Unknown operation " + op);
+		};
+	}
+
+	private CompletableFuture<?> book(Account passenger, long plannedStart) {
+		Long rideId = randomOf(rideIds);
+		Map<String, Object> body = Map.of("rideId", rideId, "passengerId", passenger.id(), "numberOfSeats", 1);
+		return timed("book", plannedStart, send(post("/api/bookings", body, passenger)).thenApply(response -> {
+			if (response.statusCode() == 200) {
+				pendingBookings.add(read(response).path("id").asLong());
+			}
+			return response;
+		}));
+	}
+
+	private CompletableFuture<?> decide(Account driver, long plannedStart) {
+		Long bookingId = pendingBookings.poll();
+		if (bookingId == null) {
+			return timed("decide", plannedStart, get("/api/rides/driver/" + driver.id(), driver));
+		}
+		String action = ThreadLocalRandom.current().nextInt(10) < 7 ? "accept" : "reject";
+		HttpRequest request = authorized("/api/bookings/" + bookingId + "/" + action, driver)
+				.PUT(HttpRequest.BodyPublishers.noBody()).build();
+		return timed("decide", plannedStart, send(request));
+	}
+
+	private CompletableFuture<HttpResponse<String>> publishRide(Account driver) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Map<String, Object> ride = new HashMap<>();
+		ride.put("origin", randomCity());
+		ride.put("destination", randomCity());
+		ride.put("departureTime", LocalDateTime.now().plusHours(1 + random.nextInt(24 * 14)).withNano(0));
+		ride.put("availableSeats", 2 + random.nextInt(4));
+		ride.put("pricePerSeat", 100 + random.nextInt(900));
+		return send(post("/api/rides/driver/" + driver.id(), ride, driver)).thenApply(response -> {
+			if (response.statusCode() == 200) {
+				rideIds.add(read(response).path("id").asLong());
+			}
+			return response;
+		});
+	}
+
+	private CompletableFuture<?> timed(String op, long plannedStart,
+			CompletableFuture<HttpResponse<String>> call) {
+		EndpointStats endpoint = stats(op);
+		return call.whenComplete((response, error) -> {
+			if (plannedStart < measureFromNanos) {
+				return;
+			}
+			endpoint.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - plannedStart));
+			if (error != null || response.statusCode() >= 400) {
+				endpoint.errors.increment();
+			}
+		});
+	}
+
+	private void setUpUsers(int driverCount, int passengerCount) {
+		String run = Long.toString(System.currentTimeMillis(), 36);
+		for (int i = 0; i < driverCount; i++) {
+			drivers.add(register("Load Driver " + i, "driver" + i + "." + run + "@load.test", "Driver"));
+		}
+		for (int i = 0; i < passengerCount; i++) {
+			passengers.add(register("Load Passenger " + i, "passenger" + i + "." + run + "@load.test", "Passenger"));
+		}
+	}
+
+	private Account register(String name, String email, String role) {
+		Map<String, Object> user = Map.of("name", name, "email", email, "password", PASSWORD, "role", role);
+		HttpRequest registration = HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/register"))
+				.header("Content-Type", "application/json").POST(body(user)).build();
+		send(registration).join();
+		HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+				.header("Content-Type", "application/json")
+				.POST(body(Map.of("email", email, "password", PASSWORD))).build();
+		JsonNode session = read(send(login).join());
+		return new Account(session.path("userId").asLong(), session.path("accessToken").asText());
+	}
+
+	private CompletableFuture<HttpResponse<String>> get(String path, Account account) {
+		return send(authorized(path, account).GET().build());
+	}
+
+	private HttpRequest post(String path, Object body, Account account) {
+		return authorized(path, account).header("Content-Type", "application/json").POST(body(body)).build();
+	}
+
+	private HttpRequest.Builder authorized(String path, Account account) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30))
+				.header("Authorization", "Bearer " + account.token());
+	}
+
+	private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+		return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpRequest.BodyPublisher body(Object value) {
+		try {
+			return HttpRequest.BodyPublishers.ofString(json.writeValueAsString(value));
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private JsonNode read(HttpResponse<String> response) {
+		try {
+			return json.readTree(response.body());
+		} catch (IOException e) {
+			throw new IllegalStateException("Unexpected response " + response.statusCode(), e);
+		}
+	}
+
+	private synchronized EndpointStats stats(String op) {
+		return stats.computeIfAbsent(op, name -> new EndpointStats());
+	}
+
+	private void report(Duration duration, PrintStream out) {
+		double seconds = duration.toMillis() / 1000.0;
+		out.printf("%n%-14s %9s %8s %8s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "dropped",
+				"req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+		stats.forEach((op, endpoint) -> {
+			Histogram h = endpoint.latency;
+			out.printf("%-14s %9d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", op, h.getTotalCount(),
+					endpoint.errors.sum(), endpoint.dropped.sum(), h.getTotalCount() / seconds,
+					h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(95) / 1000.0,
+					h.getValueAtPercentile(99) / 1000.0, h.getMaxValue() / 1000.0);
+		});
+	}
+
+	private void writeCsv(Path file, Duration duration) throws IOException {
+		double seconds = duration.toMillis() / 1000.0;
+		StringBuilder csv = new StringBuilder("endpoint,requests,errors,dropped,rps,p50_ms,p95_ms,p99_ms,max_ms\n");
+		stats.forEach((op, endpoint) -> {
+			Histogram h = endpoint.latency;
+			csv.append(String.format("%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f%n", op, h.getTotalCount(),
+					endpoint.errors.sum(), endpoint.dropped.sum(), h.getTotalCount() / seconds,
+					h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(95) / 1000.0,
+					h.getValueAtPercentile(99) / 1000.0, h.getMaxValue() / 1000.0));
+		});
+		Files.writeString(file, csv, StandardCharsets.UTF_8);
+	}
+
+	private static List<Operation> parseMix(String mix) {
+		List<Operation> operations = new ArrayList<>();
+		for (String entry : mix.split(",")) {
+			String[] pair = entry.trim().split(":");
+			operations.add(new Operation(pair[0], Integer.parseInt(pair[1])));
+		}
+		return operations;
+	}
+
+	private static Operation pick(List<Operation> mix, int totalWeight) {
+		int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+		for (Operation op : mix) {
+			roll -= op.weight();
+			if (roll < 0) {
+				return op;
+			}
+		}
+		return mix.get(mix.size() - 1);
+	}
+
+	private static String randomCity() {
+		return CITIES[ThreadLocalRandom.current().nextInt(CITIES.length)];
+	}
+
+	private static <T> T randomOf(List<T> values) {
+		return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+	}
+
+	private record Account(Long id, String token) {
+	}
+
+	private record Operation(String name, int weight) {
+	}
+
+	private static final class EndpointStats {
+		// Microseconds, up to one minute at three significant digits
+		final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+		final LongAdder errors = new LongAdder();
+		final LongAdder dropped = new LongAdder();
+	}
+}
@@ -0,0 +1,64 @@
+package com.share2go.loadtest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+/**
+ * Makes every JDBC statement take at least share2go.loadtest.query-delay
+ * while holding its connection, to mimic a remote database on the in-memory
+ * one. Added to the embedded application with --spring.main.sources.
+ */
+public class QueryDelay implements BeanPostProcessor, EnvironmentAware {
+
+	private Duration delay = Duration.ZERO;
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		delay = environment.getProperty("share2go.loadtest.query-delay", Duration.class, Duration.ZERO);
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource && !delay.isZero()) {
+			return proxy(DataSource.class, dataSource);
+		}
+		return bean;
+	}
+
+	private <T> T proxy(Class<T> type, T target) {
+		return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					if (target instanceof Statement && method.getName().startsWith("execute")) {
+						Thread.sleep(delay.toMillis());
+					}
+					Object result = invoke(method, target, args);
+					return wrap(method.getReturnType(), result);
+				}));
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Object wrap(Class<?> returnType, Object result) {
+		if (result != null && (returnType == Connection.class || Statement.class.isAssignableFrom(returnType))) {
+			return proxy((Class) returnType, result);
+		}
+		return result;
+	}
+
+	private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+}
@@ -2,8 +2,10 @@ package com.share2go;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class Share2goBackendApplication {
 
 	public static void main(String[] args) {
@@ -2,26 +2,50 @@ package com.share2go.auth;
 
 import com.share2go.service.UserService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+	/**
+	 * Where the authenticated principal comes from. CLAIMS trusts the verified
+	 * token and needs no database access; DATABASE looks the user up (through
+	 * UserDetailsCache) so deleted users and role changes take effect before
+	 * their tokens expire.
+	 */
+	public enum PrincipalSource {
+		CLAIMS, DATABASE
+	}
+
+	private static final String STREAM_PATH_PREFIX = "/api/notifications/user/";
+	private static final String STREAM_PATH_SUFFIX = "/stream";
+	private static final String STREAM_TOKEN_PARAMETER = "access_token";
+
 	private final JwtUtil jwtUtil;
 	private final UserService userService;
+	private final UserDetailsCache userDetailsCache;
+	private final PrincipalSource principalSource;
 
-	public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService) {
+	public JwtAuthenticationFilter(JwtUtil jwtUtil, UserService userService, UserDetailsCache userDetailsCache,
+			PrincipalSource principalSource) {
 		this.jwtUtil = jwtUtil;
 		this.userService = userService;
+		this.userDetailsCache = userDetailsCache;
+		this.principalSource = principalSource;
 	}
 
 	@Override
@@ -36,29 +60,71 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			@NonNull FilterChain filterChain) throws ServletException, IOException {
 
 		String header = request.getHeader("Authorization");
+		String token = header != null && header.startsWith("Bearer ") ? header.substring(7) : null;
+		boolean fromQuery = false;
+		if (token == null && isStream(request)) {
+			token = request.getParameter(STREAM_TOKEN_PARAMETER);
+			fromQuery = true;
+		}
 
-		if (header == null || !header.startsWith("Bearer ")) {
+		if (token == null) {
 			filterChain.doFilter(request, response);
 			return;
 		}
 
-		String token = header.substring(7);
-
 		try {
 			Claims claims = jwtUtil.validate(token).getBody();
-			String username = claims.getSubject();
-
-			UserDetails userDetails = userService.loadUserByUsername(username);
+			if (!allowed(claims, fromQuery, request)) {
+				throw new JwtException("Token is not valid for " + request.getServletPath());
+			}
+			UserDetails userDetails = principalFrom(claims);
 
 			var authentication = new UsernamePasswordAuthenticationToken(userDetails, null,
 					userDetails.getAuthorities());
 
-			SecurityContextHolder.getContext().setAuthentication(authentication);
+			// A new context rather than mutating the current one, which may be shared
+			SecurityContext context = SecurityContextHolder.createEmptyContext();
+			context.setAuthentication(authentication);
+			SecurityContextHolder.setContext(context);
 
 		} catch (Exception ex) {
 			SecurityContextHolder.clearContext();
 		}
 
-		filterChain.doFilter(request, response);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			// Pooled platform threads must not carry one request's user into the next
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	private UserDetails principalFrom(Claims claims) {
+		String role = claims.get("role", String.class);
+		// Refresh and stream tokens carry no role, so they always go through the database
+		if (principalSource == PrincipalSource.CLAIMS && role != null) {
+			return new User(claims.getSubject(), "", List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+		}
+		return userDetailsCache.get(claims.getSubject(), userService::loadUserByUsername);
+	}
+
+	/**
+	 * EventSource cannot send headers, so event streams pass a token as a query
+	 * parameter instead, where it can end up in access logs and browser history.
+	 * Only short-lived stream tokens are accepted there, only for the stream of
+	 * the user they were issued to, and they are accepted nowhere else.
+	 */
+	private static boolean allowed(Claims claims, boolean fromQuery, HttpServletRequest request) {
+		boolean streamScoped = JwtUtil.STREAM_SCOPE.equals(claims.get("scope", String.class));
+		if (!fromQuery) {
+			return !streamScoped;
+		}
+		return streamScoped && request.getServletPath()
+				.equals(STREAM_PATH_PREFIX + claims.get("uid", Long.class) + STREAM_PATH_SUFFIX);
+	}
+
+	private static boolean isStream(HttpServletRequest request) {
+		String path = request.getServletPath();
+		return path.startsWith(STREAM_PATH_PREFIX) && path.endsWith(STREAM_PATH_SUFFIX);
 	}
 }
@@ -4,25 +4,67 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.share2go.model.User;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
+    /** Scope claim of tokens that can only open the notification stream of their user. */
+    public static final String STREAM_SCOPE = "notification-stream";
+
     private final Key key;
     private final long accessTokenTtl;
     private final long refreshTokenTtl;
+    private final long streamTokenTtl;
+    private final JwtParser parser;
+    // Tokens that passed verification, keyed by SHA-256 and dropped when they expire
+    private final Cache<String, Jws<Claims>> verified;
 
     public JwtUtil(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.accessTokenExpirationMs}") long accessTokenTtl,
-            @Value("${jwt.refreshTokenExpirationMs}") long refreshTokenTtl) {
+            @Value("${jwt.refreshTokenExpirationMs}") long refreshTokenTtl,
+            @Value("${jwt.streamTokenExpirationMs:60000}") long streamTokenTtl,
+            @Value("${jwt.verifiedTokenCacheSize:10000}") long verifiedTokenCacheSize) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
         this.accessTokenTtl = accessTokenTtl;
         this.refreshTokenTtl = refreshTokenTtl;
+        this.streamTokenTtl = streamTokenTtl;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new Expiry<String, Jws<Claims>>() {
+                    @Override
+                    public long expireAfterCreate(String hash, Jws<Claims> jws, long currentTime) {
+                        long millisLeft = jws.getBody().getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String hash, Jws<Claims> jws, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String hash, Jws<Claims> jws, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     public String generateAccessToken(String username, Long userId, User.Role role) {
@@ -50,8 +92,34 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Token for the query string of an event stream request, which EventSource
+     * cannot send headers with. It only needs to live until the stream is open.
+     */
+    public String generateStreamToken(String username, Long userId) {
+        Date now = new Date();
+        Date expiry = new Date(now.getTime() + streamTokenTtl);
+        return Jwts.builder()
+                .setSubject(username)
+                .claim("uid", userId)
+                .claim("scope", STREAM_SCOPE)
+                .setIssuedAt(now)
+                .setExpiration(expiry)
+                .signWith(key)
+                .compact();
+    }
+
     public Jws<Claims> validate(String token) throws JwtException {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        String hash = sha256(token);
+        Jws<Claims> jws = verified.getIfPresent(hash);
+        if (jws == null) {
+            // Invalid tokens throw here and are never cached
+            jws = parser.parseClaimsJws(token);
+            if (jws.getBody().getExpiration() != null) {
+                verified.put(hash, jws);
+            }
+        }
+        return jws;
     }
 
     public long getRefreshTokenTtl() {
@@ -60,9 +128,20 @@ public class JwtUtil {
 
     public boolean isTokenExpired(String token) {
         try {
-            return validate(token).getBody().getExpiration().before(new Date());
+            // Parsing already rejects expired tokens
+            validate(token);
+            return false;
         } catch (JwtException e) {
             return true;
         }
     }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package com.share2go.auth;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Short-lived cache of loaded UserDetails, keyed by email, for the database
+ * principal mode. UserServiceImpl evicts a user's entry when the user is
+ * updated or deleted; a TTL of zero turns the cache off.
+ */
+@Component
+public class UserDetailsCache {
+
+	private final Cache<String, UserDetails> users;
+
+	public UserDetailsCache(@Value("${share2go.auth.user-cache-size:10000}") long maximumSize,
+			@Value("${share2go.auth.user-cache-ttl:PT5M}") Duration ttl) {
+		this.users = Caffeine.newBuilder().maximumSize(ttl.isZero() ? 0 : maximumSize).expireAfterWrite(ttl).build();
+	}
+
+	public UserDetails get(String email, Function<String, UserDetails> loader) {
+		return users.get(email, loader);
+	}
+
+	public void evict(String email) {
+		if (email != null) {
+			users.invalidate(email);
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.share2go.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.share2go.service.impl.RideCaches;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	@Bean
+	public CacheManager cacheManager(@Value("${share2go.cache.rides.size:10000}") long maximumSize,
+			@Value("${share2go.cache.rides.ttl:PT1M}") Duration ttl) {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager(RideCaches.RIDES, RideCaches.DRIVER_RIDES);
+		// The TTL only bounds staleness from writes that bypass the services
+		cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats());
+		cacheManager.setAllowNullValues(false);
+		// Evictions made inside a transaction wait for it to commit
+		return new TransactionAwareCacheManagerProxy(cacheManager);
+	}
+}
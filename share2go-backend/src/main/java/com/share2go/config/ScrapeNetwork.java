@@ -0,0 +1,45 @@
+package com.share2go.config;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+/**
+ * Lets a request through when it comes from one of the configured addresses
+ * or CIDR ranges, for endpoints such as the Prometheus scrape that are called
+ * without a user token.
+ */
+public class ScrapeNetwork implements AuthorizationManager<RequestAuthorizationContext> {
+
+	private final List<IpAddressMatcher> allowed;
+
+	public ScrapeNetwork(List<String> addresses) {
+		this.allowed = addresses.stream().map(String::trim).filter(address -> !address.isEmpty())
+				.map(IpAddressMatcher::new).toList();
+	}
+
+	@Override
+	public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+		return decide(context);
+	}
+
+	/**
+	 * Spring Security 6 still declares this abstract; it is only here to
+	 * satisfy the interface and gives the same answer as authorize.
+	 */
+	@Deprecated
+	@Override
+	public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+		return decide(context);
+	}
+
+	private AuthorizationDecision decide(RequestAuthorizationContext context) {
+		return new AuthorizationDecision(allowed.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+	}
+}
@@ -1,8 +1,17 @@
 package com.share2go.config;
 
 import com.share2go.auth.JwtAuthenticationFilter;
+import com.share2go.auth.JwtAuthenticationFilter.PrincipalSource;
 import com.share2go.auth.JwtUtil;
+import com.share2go.auth.UserDetailsCache;
+import com.share2go.dto.CursorPage;
 import com.share2go.service.UserService;
+
+import jakarta.servlet.DispatcherType;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -19,15 +28,23 @@ public class SecurityConfig {
 
 	private final JwtUtil jwtUtil;
 	private final UserService userService;
+	private final UserDetailsCache userDetailsCache;
+	private final PrincipalSource principalSource;
+	private final ScrapeNetwork scrapeNetwork;
 
-	public SecurityConfig(JwtUtil jwtUtil, @Lazy UserService userService) {
+	public SecurityConfig(JwtUtil jwtUtil, @Lazy UserService userService, UserDetailsCache userDetailsCache,
+			@Value("${share2go.auth.principal-source:claims}") PrincipalSource principalSource,
+			@Value("${share2go.metrics.scrape-addresses:127.0.0.1/32,::1/128}") List<String> scrapeAddresses) {
 		this.jwtUtil = jwtUtil;
 		this.userService = userService;
+		this.userDetailsCache = userDetailsCache;
+		this.principalSource = principalSource;
+		this.scrapeNetwork = new ScrapeNetwork(scrapeAddresses);
 	}
 
 	@Bean
 	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-		var jwtFilter = new JwtAuthenticationFilter(jwtUtil, userService);
+		var jwtFilter = new JwtAuthenticationFilter(jwtUtil, userService, userDetailsCache, principalSource);
 
 		http.cors(cors -> cors.configurationSource(request -> {
 			var config = new org.springframework.web.cors.CorsConfiguration();
@@ -37,14 +54,24 @@ public class SecurityConfig {
 			config.addAllowedOriginPattern("https://*.vercel.app");
 			config.addAllowedHeader("*");
 			config.addAllowedMethod("*");
+			config.addExposedHeader(CursorPage.NEXT_CURSOR_HEADER);
 			config.setAllowCredentials(true);
 			return config;
 		})).csrf(csrf -> csrf.disable())
 				.sessionManagement(session -> session.sessionCreationPolicy(
 						org.springframework.security.config.http.SessionCreationPolicy.STATELESS))
 				.authorizeHttpRequests(auth -> auth
+						// Async dispatches finish responses such as event streams that were already authorized
+						.dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR)
+						.permitAll()
 						.requestMatchers("/auth/**", "/h2-console/**", "/public/**", "/api/users/register")
 						.permitAll()
+						// Health checks and Prometheus scrapes carry no user token
+						.requestMatchers("/actuator/health/**")
+						.permitAll()
+						// Metrics reveal traffic and internals, so only the scrape network gets them
+						.requestMatchers("/actuator/prometheus")
+						.access(scrapeNetwork)
 						.anyRequest()
 						.authenticated())
 				.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
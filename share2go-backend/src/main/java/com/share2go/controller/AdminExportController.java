@@ -0,0 +1,49 @@
+package com.share2go.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.share2go.service.ExportService;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@PreAuthorize("hasRole('Admin')")
+public class AdminExportController {
+
+	private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	private final ExportService exportService;
+
+	public AdminExportController(ExportService exportService) {
+		this.exportService = exportService;
+	}
+
+	@GetMapping("/rides")
+	public ResponseEntity<StreamingResponseBody> exportRides() {
+		return ndjson(exportService::exportRides);
+	}
+
+	@GetMapping("/bookings")
+	public ResponseEntity<StreamingResponseBody> exportBookings() {
+		return ndjson(exportService::exportBookings);
+	}
+
+	@GetMapping("/users")
+	public ResponseEntity<StreamingResponseBody> exportUsers() {
+		return ndjson(exportService::exportUsers);
+	}
+
+	@GetMapping("/notifications")
+	public ResponseEntity<StreamingResponseBody> exportNotifications() {
+		return ndjson(exportService::exportNotifications);
+	}
+
+	private static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+		return ResponseEntity.ok().contentType(NDJSON).body(body);
+	}
+}
@@ -27,24 +27,40 @@ public class BookingController {
 		return ResponseEntity.ok(bookingService.createBooking(bookingDTO));
 	}
 
+	@PostMapping("/batch")
+	@PreAuthorize("hasRole('Passenger')")
+	public ResponseEntity<List<BookingDTO>> createBookings(@RequestBody List<BookingDTO> bookingDTOs) {
+		return ResponseEntity.ok(bookingService.createBookings(bookingDTOs));
+	}
+
 	@GetMapping("/{id}")
 	public ResponseEntity<BookingDTO> getBookingById(@PathVariable Long id) {
 		return ResponseEntity.ok(bookingService.getBookingById(id));
 	}
 
 	@GetMapping
-	public ResponseEntity<List<BookingDTO>> getAllBookings() {
-		return ResponseEntity.ok(bookingService.getAllBookings());
+	public ResponseEntity<List<BookingDTO>> getAllBookings(@RequestParam(required = false) Long cursor,
+			@RequestParam(required = false) Integer size) {
+		return PageResponses.of(cursor, size, bookingService::getAllBookings);
 	}
 
 	@GetMapping("/passenger/{passengerId}")
-	public ResponseEntity<List<BookingDTO>> getBookingsByPassenger(@PathVariable Long passengerId) {
-		return ResponseEntity.ok(bookingService.getBookingsByPassenger(passengerId));
+	public ResponseEntity<List<BookingDTO>> getBookingsByPassenger(@PathVariable Long passengerId,
+			@RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer size) {
+		return PageResponses.of(cursor, size,
+				(from, pageSize) -> bookingService.getBookingsByPassenger(passengerId, from, pageSize));
+	}
+
+	@GetMapping("/archive/passenger/{passengerId}")
+	public ResponseEntity<List<BookingDTO>> getArchivedBookingsByPassenger(@PathVariable Long passengerId) {
+		return ResponseEntity.ok(bookingService.getArchivedBookingsByPassenger(passengerId));
 	}
 
 	@GetMapping("/ride/{rideId}")
-	public ResponseEntity<List<BookingDTO>> getBookingsByRide(@PathVariable Long rideId) {
-		return ResponseEntity.ok(bookingService.getBookingsByRide(rideId));
+	public ResponseEntity<List<BookingDTO>> getBookingsByRide(@PathVariable Long rideId,
+			@RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer size) {
+		return PageResponses.of(cursor, size,
+				(from, pageSize) -> bookingService.getBookingsByRide(rideId, from, pageSize));
 	}
 
 	@PutMapping("/{id}")
@@ -0,0 +1,27 @@
+package com.share2go.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.share2go.dto.DriverRideSummaryDTO;
+import com.share2go.service.DriverDashboardService;
+
+@RestController
+@RequestMapping("/api/drivers")
+public class DriverController {
+
+	private final DriverDashboardService driverDashboardService;
+
+	public DriverController(DriverDashboardService driverDashboardService) {
+		this.driverDashboardService = driverDashboardService;
+	}
+
+	@GetMapping("/{driverId}/dashboard")
+	@PreAuthorize("hasRole('Driver')")
+	public ResponseEntity<List<DriverRideSummaryDTO>> getDashboard(@PathVariable Long driverId) {
+		return ResponseEntity.ok(driverDashboardService.getDashboard(driverId));
+	}
+}
@@ -1,26 +1,42 @@
 package com.share2go.controller;
 
+import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.share2go.auth.JwtUtil;
 import com.share2go.dto.NotificationDTO;
+import com.share2go.model.User;
 import com.share2go.service.NotificationService;
+import com.share2go.service.UserService;
+
+import jakarta.persistence.EntityNotFoundException;
 
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final UserService userService;
+    private final JwtUtil jwtUtil;
 
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, UserService userService,
+            JwtUtil jwtUtil) {
         this.notificationService = notificationService;
+        this.userService = userService;
+        this.jwtUtil = jwtUtil;
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<NotificationDTO>> getUserNotifications(@PathVariable Long userId) {
-        return ResponseEntity.ok(notificationService.getUserNotifications(userId));
+    public ResponseEntity<List<NotificationDTO>> getUserNotifications(@PathVariable Long userId,
+            @RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer size) {
+        return PageResponses.of(cursor, size,
+                (from, pageSize) -> notificationService.getUserNotifications(userId, from, pageSize));
     }
 
     @GetMapping("/user/{userId}/unread-count")
@@ -28,6 +44,22 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getUnreadCount(userId));
     }
 
+    /**
+     * Issues the short-lived token the caller's event stream is opened with, so
+     * the login token never has to appear in a URL.
+     */
+    @PostMapping("/stream-token")
+    public ResponseEntity<Map<String, String>> streamToken(Principal principal) {
+        User user = userService.findByEmail(principal.getName())
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        return ResponseEntity.ok(Map.of("token", jwtUtil.generateStreamToken(user.getEmail(), user.getId())));
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@PathVariable Long userId) {
+        return notificationService.subscribe(userId);
+    }
+
     @PutMapping("/{id}/read")
     public ResponseEntity<Void> markRead(@PathVariable Long id) {
         notificationService.markAsRead(id);
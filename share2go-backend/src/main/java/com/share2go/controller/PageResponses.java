@@ -0,0 +1,28 @@
+package com.share2go.controller;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.springframework.http.ResponseEntity;
+
+import com.share2go.dto.CursorPage;
+
+final class PageResponses {
+
+	private PageResponses() {
+	}
+
+	/**
+	 * Renders one page as a plain JSON array, passing the next cursor in the
+	 * X-Next-Cursor header. Without a size the page holds
+	 * CursorPage.DEFAULT_SIZE items, and clients follow the header for more.
+	 */
+	static <T> ResponseEntity<List<T>> of(Long cursor, Integer size, BiFunction<Long, Integer, CursorPage<T>> pages) {
+		CursorPage<T> page = pages.apply(cursor, CursorPage.clampSize(size));
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+		if (page.getNextCursor() != null) {
+			response.header(CursorPage.NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+		}
+		return response.body(page.getItems());
+	}
+}
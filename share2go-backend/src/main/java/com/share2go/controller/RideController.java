@@ -9,6 +9,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import com.share2go.dto.RideDTO;
+import com.share2go.dto.RideMatchDTO;
+import com.share2go.search.RideRanker;
+import com.share2go.search.RideSort;
 import com.share2go.service.RideService;
 
 @RestController
@@ -34,16 +37,40 @@ public class RideController {
 	}
 
 	@GetMapping
-	public ResponseEntity<List<RideDTO>> getAllRides() {
-		return ResponseEntity.ok(rideService.getAllRides());
+	public ResponseEntity<List<RideDTO>> getAllRides(@RequestParam(required = false) Long cursor,
+			@RequestParam(required = false) Integer size) {
+		return PageResponses.of(cursor, size, rideService::getAllRides);
 	}
 
 	@GetMapping("/search")
 	@PreAuthorize("permitAll()")
 	public ResponseEntity<List<RideDTO>> searchRides(@RequestParam(required = false) String origin,
 			@RequestParam(required = false) String destination,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departureTime,
+			@RequestParam(required = false) RideSort sort, @RequestParam(required = false) Integer limit) {
+		if (sort == null && limit == null) {
+			return ResponseEntity.ok(rideService.searchRides(origin, destination, departureTime));
+		}
+		return ResponseEntity.ok(rideService.searchRides(origin, destination, departureTime,
+				sort != null ? sort : RideSort.RELEVANCE, RideRanker.clampLimit(limit)));
+	}
+
+	@GetMapping("/nearby")
+	@PreAuthorize("permitAll()")
+	public ResponseEntity<List<RideDTO>> findNearbyRides(@RequestParam double originLat,
+			@RequestParam double originLng, @RequestParam double destinationLat, @RequestParam double destinationLng,
+			@RequestParam(defaultValue = "10") double radiusKm,
 			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departureTime) {
-		return ResponseEntity.ok(rideService.searchRides(origin, destination, departureTime));
+		return ResponseEntity.ok(rideService.findNearbyRides(originLat, originLng, destinationLat, destinationLng,
+				radiusKm, departureTime));
+	}
+
+	@GetMapping("/match")
+	@PreAuthorize("permitAll()")
+	public ResponseEntity<List<RideMatchDTO>> matchRoute(@RequestParam String from, @RequestParam String to,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime departureTime,
+			@RequestParam(defaultValue = "1") int seats) {
+		return ResponseEntity.ok(rideService.matchRoute(from, to, departureTime, seats));
 	}
 
 	@PutMapping("/{id}")
@@ -61,7 +88,15 @@ public class RideController {
 
 	@GetMapping("/driver/{driverId}")
 	@PreAuthorize("hasRole('Driver')")
-	public ResponseEntity<List<RideDTO>> getRidesByDriver(@PathVariable Long driverId) {
-		return ResponseEntity.ok(rideService.getRidesByDriver(driverId));
+	public ResponseEntity<List<RideDTO>> getRidesByDriver(@PathVariable Long driverId,
+			@RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer size) {
+		return PageResponses.of(cursor, size,
+				(from, pageSize) -> rideService.getRidesByDriver(driverId, from, pageSize));
+	}
+
+	@GetMapping("/archive/driver/{driverId}")
+	@PreAuthorize("hasRole('Driver')")
+	public ResponseEntity<List<RideDTO>> getArchivedRidesByDriver(@PathVariable Long driverId) {
+		return ResponseEntity.ok(rideService.getArchivedRidesByDriver(driverId));
 	}
 }
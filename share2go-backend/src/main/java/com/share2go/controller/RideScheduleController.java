@@ -0,0 +1,40 @@
+package com.share2go.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.share2go.dto.RideScheduleDTO;
+import com.share2go.service.RideScheduleService;
+
+@RestController
+@RequestMapping("/api/schedules")
+public class RideScheduleController {
+
+	private final RideScheduleService rideScheduleService;
+
+	public RideScheduleController(RideScheduleService rideScheduleService) {
+		this.rideScheduleService = rideScheduleService;
+	}
+
+	@PostMapping("/driver/{driverId}")
+	@PreAuthorize("hasRole('Driver')")
+	public ResponseEntity<RideScheduleDTO> createSchedule(@PathVariable Long driverId,
+			@RequestBody RideScheduleDTO scheduleDTO) {
+		return ResponseEntity.ok(rideScheduleService.createSchedule(scheduleDTO, driverId));
+	}
+
+	@GetMapping("/driver/{driverId}")
+	public ResponseEntity<List<RideScheduleDTO>> getSchedulesByDriver(@PathVariable Long driverId) {
+		return ResponseEntity.ok(rideScheduleService.getSchedulesByDriver(driverId));
+	}
+
+	@DeleteMapping("/{id}")
+	@PreAuthorize("hasRole('Driver')")
+	public ResponseEntity<String> deleteSchedule(@PathVariable Long id) {
+		rideScheduleService.deleteSchedule(id);
+		return ResponseEntity.ok("Schedule deleted successfully");
+	}
+}
@@ -25,8 +25,9 @@ public class UserController {
 	}
 
 	@GetMapping
-	public List<UserDTO> getAllUsers() {
-		return userService.getAllUser();
+	public ResponseEntity<List<UserDTO>> getAllUsers(@RequestParam(required = false) Long cursor,
+			@RequestParam(required = false) Integer size) {
+		return PageResponses.of(cursor, size, userService::getAllUser);
 	}
 
 	@GetMapping("/{id}")
@@ -14,6 +14,12 @@ public class BookingDTO {
 	private String status;
 	private LocalDateTime bookingTime;
 	private String passengerName;
+	private LocalDateTime holdExpiresAt;
+	private Integer boardStop;
+	private Integer alightStop;
+	// An occurrence of a schedule to book when rideId is not set
+	private Long scheduleId;
+	private LocalDateTime departureTime;
 
 	public Long getId() {
 		return id;
@@ -63,6 +69,14 @@ public class BookingDTO {
 		this.bookingTime = bookingTime;
 	}
 
+	public LocalDateTime getHoldExpiresAt() {
+		return holdExpiresAt;
+	}
+
+	public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+		this.holdExpiresAt = holdExpiresAt;
+	}
+
 	public String getPassengerName() {
 		return passengerName;
 	}
@@ -71,4 +85,35 @@ public class BookingDTO {
 		this.passengerName = passengerName;
 	}
 
+	public Integer getBoardStop() {
+		return boardStop;
+	}
+
+	public void setBoardStop(Integer boardStop) {
+		this.boardStop = boardStop;
+	}
+
+	public Integer getAlightStop() {
+		return alightStop;
+	}
+
+	public void setAlightStop(Integer alightStop) {
+		this.alightStop = alightStop;
+	}
+
+	public Long getScheduleId() {
+		return scheduleId;
+	}
+
+	public void setScheduleId(Long scheduleId) {
+		this.scheduleId = scheduleId;
+	}
+
+	public LocalDateTime getDepartureTime() {
+		return departureTime;
+	}
+
+	public void setDepartureTime(LocalDateTime departureTime) {
+		this.departureTime = departureTime;
+	}
 }
@@ -0,0 +1,53 @@
+package com.share2go.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. nextCursor is the id to pass as
+ * the cursor for the following page, or null on the last page.
+ */
+public class CursorPage<T> {
+
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	public static final int DEFAULT_SIZE = 50;
+	public static final int MAX_SIZE = 200;
+
+	private final List<T> items;
+	private final Long nextCursor;
+
+	public CursorPage(List<T> items, Long nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+
+	/**
+	 * Builds a page from a query that fetched up to size + 1 rows; the extra
+	 * row only signals that another page exists.
+	 */
+	public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, Long> idOf, Function<E, T> mapper) {
+		boolean hasMore = rows.size() > size;
+		List<E> page = hasMore ? rows.subList(0, size) : rows;
+		Long nextCursor = hasMore ? idOf.apply(page.get(page.size() - 1)) : null;
+		return new CursorPage<>(page.stream().map(mapper).toList(), nextCursor);
+	}
+
+	public <R> CursorPage<R> mapItems(Function<List<T>, List<R>> mapper) {
+		return new CursorPage<>(mapper.apply(items), nextCursor);
+	}
+
+	public static int clampSize(Integer size) {
+		if (size == null || size <= 0) {
+			return DEFAULT_SIZE;
+		}
+		return Math.min(size, MAX_SIZE);
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public Long getNextCursor() {
+		return nextCursor;
+	}
+}
@@ -0,0 +1,88 @@
+package com.share2go.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class DriverRideSummaryDTO {
+	private Long rideId;
+	private String origin;
+	private String destination;
+	private LocalDateTime departureTime;
+	private int availableSeats;
+	private int pendingBookings;
+	private int confirmedBookings;
+	private int confirmedSeats;
+	private List<String> recentPassengers;
+
+	public Long getRideId() {
+		return rideId;
+	}
+
+	public void setRideId(Long rideId) {
+		this.rideId = rideId;
+	}
+
+	public String getOrigin() {
+		return origin;
+	}
+
+	public void setOrigin(String origin) {
+		this.origin = origin;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public void setDestination(String destination) {
+		this.destination = destination;
+	}
+
+	public LocalDateTime getDepartureTime() {
+		return departureTime;
+	}
+
+	public void setDepartureTime(LocalDateTime departureTime) {
+		this.departureTime = departureTime;
+	}
+
+	public int getAvailableSeats() {
+		return availableSeats;
+	}
+
+	public void setAvailableSeats(int availableSeats) {
+		this.availableSeats = availableSeats;
+	}
+
+	public int getPendingBookings() {
+		return pendingBookings;
+	}
+
+	public void setPendingBookings(int pendingBookings) {
+		this.pendingBookings = pendingBookings;
+	}
+
+	public int getConfirmedBookings() {
+		return confirmedBookings;
+	}
+
+	public void setConfirmedBookings(int confirmedBookings) {
+		this.confirmedBookings = confirmedBookings;
+	}
+
+	public int getConfirmedSeats() {
+		return confirmedSeats;
+	}
+
+	public void setConfirmedSeats(int confirmedSeats) {
+		this.confirmedSeats = confirmedSeats;
+	}
+
+	public List<String> getRecentPassengers() {
+		return recentPassengers;
+	}
+
+	public void setRecentPassengers(List<String> recentPassengers) {
+		this.recentPassengers = recentPassengers;
+	}
+}
@@ -10,10 +10,17 @@ public class RideDTO {
     private LocalDateTime departureTime;
     private int availableSeats;
     private double pricePerSeat;
+    private Double originLat;
+    private Double originLng;
+    private Double destinationLat;
+    private Double destinationLng;
 
     private Long driverId;       
     private String driverName;      
     private List<Long> passengerIds;
+    private List<String> waypoints;
+    // Set on occurrences of a schedule, which have no id until someone books them
+    private Long scheduleId;
 	public Long getId() {
 		return id;
 	}
@@ -50,6 +57,30 @@ public class RideDTO {
 	public void setPricePerSeat(double pricePerSeat) {
 		this.pricePerSeat = pricePerSeat;
 	}
+	public Double getOriginLat() {
+		return originLat;
+	}
+	public void setOriginLat(Double originLat) {
+		this.originLat = originLat;
+	}
+	public Double getOriginLng() {
+		return originLng;
+	}
+	public void setOriginLng(Double originLng) {
+		this.originLng = originLng;
+	}
+	public Double getDestinationLat() {
+		return destinationLat;
+	}
+	public void setDestinationLat(Double destinationLat) {
+		this.destinationLat = destinationLat;
+	}
+	public Double getDestinationLng() {
+		return destinationLng;
+	}
+	public void setDestinationLng(Double destinationLng) {
+		this.destinationLng = destinationLng;
+	}
 	public Long getDriverId() {
 		return driverId;
 	}
@@ -68,5 +99,17 @@ public class RideDTO {
 	public void setPassengerIds(List<Long> passengerIds) {
 		this.passengerIds = passengerIds;
 	}
+	public List<String> getWaypoints() {
+		return waypoints;
+	}
+	public void setWaypoints(List<String> waypoints) {
+		this.waypoints = waypoints;
+	}
+	public Long getScheduleId() {
+		return scheduleId;
+	}
+	public void setScheduleId(Long scheduleId) {
+		this.scheduleId = scheduleId;
+	}
     
 }
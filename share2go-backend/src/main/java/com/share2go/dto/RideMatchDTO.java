@@ -0,0 +1,54 @@
+package com.share2go.dto;
+
+/**
+ * A ride that covers the passenger's part of the route, with the stop indexes
+ * to book between and the seats still free on every segment of that part.
+ */
+public class RideMatchDTO {
+	private RideDTO ride;
+	private int boardStop;
+	private int alightStop;
+	private int availableSeats;
+
+	public RideMatchDTO() {
+	}
+
+	public RideMatchDTO(RideDTO ride, int boardStop, int alightStop, int availableSeats) {
+		this.ride = ride;
+		this.boardStop = boardStop;
+		this.alightStop = alightStop;
+		this.availableSeats = availableSeats;
+	}
+
+	public RideDTO getRide() {
+		return ride;
+	}
+
+	public void setRide(RideDTO ride) {
+		this.ride = ride;
+	}
+
+	public int getBoardStop() {
+		return boardStop;
+	}
+
+	public void setBoardStop(int boardStop) {
+		this.boardStop = boardStop;
+	}
+
+	public int getAlightStop() {
+		return alightStop;
+	}
+
+	public void setAlightStop(int alightStop) {
+		this.alightStop = alightStop;
+	}
+
+	public int getAvailableSeats() {
+		return availableSeats;
+	}
+
+	public void setAvailableSeats(int availableSeats) {
+		this.availableSeats = availableSeats;
+	}
+}
@@ -0,0 +1,108 @@
+package com.share2go.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class RideScheduleDTO {
+	private Long id;
+	private String origin;
+	private String destination;
+	// RRULE such as FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR
+	private String recurrence;
+	private LocalTime departureTime;
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private int availableSeats;
+	private double pricePerSeat;
+
+	private Long driverId;
+	private String driverName;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getOrigin() {
+		return origin;
+	}
+
+	public void setOrigin(String origin) {
+		this.origin = origin;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public void setDestination(String destination) {
+		this.destination = destination;
+	}
+
+	public String getRecurrence() {
+		return recurrence;
+	}
+
+	public void setRecurrence(String recurrence) {
+		this.recurrence = recurrence;
+	}
+
+	public LocalTime getDepartureTime() {
+		return departureTime;
+	}
+
+	public void setDepartureTime(LocalTime departureTime) {
+		this.departureTime = departureTime;
+	}
+
+	public LocalDate getStartDate() {
+		return startDate;
+	}
+
+	public void setStartDate(LocalDate startDate) {
+		this.startDate = startDate;
+	}
+
+	public LocalDate getEndDate() {
+		return endDate;
+	}
+
+	public void setEndDate(LocalDate endDate) {
+		this.endDate = endDate;
+	}
+
+	public int getAvailableSeats() {
+		return availableSeats;
+	}
+
+	public void setAvailableSeats(int availableSeats) {
+		this.availableSeats = availableSeats;
+	}
+
+	public double getPricePerSeat() {
+		return pricePerSeat;
+	}
+
+	public void setPricePerSeat(double pricePerSeat) {
+		this.pricePerSeat = pricePerSeat;
+	}
+
+	public Long getDriverId() {
+		return driverId;
+	}
+
+	public void setDriverId(Long driverId) {
+		this.driverId = driverId;
+	}
+
+	public String getDriverName() {
+		return driverName;
+	}
+
+	public void setDriverName(String driverName) {
+		this.driverName = driverName;
+	}
+}
@@ -0,0 +1,10 @@
+package com.share2go.event;
+
+import java.util.List;
+
+/**
+ * Published once for a batch of bookings created together, so listeners can
+ * react to the group as a whole instead of to each booking.
+ */
+public record BookingBatchEvent(List<BookingEvent> bookings) {
+}
@@ -0,0 +1,25 @@
+package com.share2go.event;
+
+import java.time.LocalDateTime;
+
+import com.share2go.model.Booking;
+import com.share2go.model.Ride;
+
+/**
+ * Published by the booking service whenever a booking changes state. It carries
+ * everything listeners need to react without loading the booking again.
+ */
+public record BookingEvent(Type type, String previousStatus, Long bookingId, Long rideId, Long driverId, Long passengerId,
+		String passengerName, String origin, String destination, int seats, LocalDateTime occurredAt) {
+
+	public enum Type {
+		REQUESTED, ACCEPTED, REJECTED, EXPIRED, CANCELLED
+	}
+
+	public static BookingEvent of(Type type, String previousStatus, Booking booking) {
+		Ride ride = booking.getRide();
+		return new BookingEvent(type, previousStatus, booking.getId(), ride.getId(), ride.getDriver().getId(),
+				booking.getPassenger().getId(), booking.getPassenger().getName(), ride.getOrigin(),
+				ride.getDestination(), booking.getNumberOfSeats(), LocalDateTime.now());
+	}
+}
@@ -0,0 +1,94 @@
+package com.share2go.mapper;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.share2go.dto.BookingDTO;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.ArchivedBooking;
+import com.share2go.model.ArchivedRide;
+import com.share2go.model.Booking;
+import com.share2go.model.Ride;
+
+public class ArchiveMapper {
+
+	private static final String SEPARATOR = "\n";
+
+	public static ArchivedRide toArchive(Ride ride, List<String> waypoints, List<Long> passengerIds,
+			LocalDateTime archivedAt) {
+		ArchivedRide archived = new ArchivedRide();
+		archived.setId(ride.getId());
+		archived.setDriver(ride.getDriver());
+		archived.setOrigin(ride.getOrigin());
+		archived.setDestination(ride.getDestination());
+		archived.setDepartureTime(ride.getDepartureTime());
+		archived.setAvailableSeats(ride.getAvailableSeats());
+		archived.setPricePerSeat(ride.getPricePerSeat());
+		archived.setOriginLat(ride.getOriginLat());
+		archived.setOriginLng(ride.getOriginLng());
+		archived.setDestinationLat(ride.getDestinationLat());
+		archived.setDestinationLng(ride.getDestinationLng());
+		archived.setWaypoints(waypoints.isEmpty() ? null : String.join(SEPARATOR, waypoints));
+		archived.setPassengerIds(passengerIds.isEmpty() ? null
+				: passengerIds.stream().map(String::valueOf).collect(Collectors.joining(SEPARATOR)));
+		archived.setScheduleId(ride.getSchedule() != null ? ride.getSchedule().getId() : null);
+		archived.setArchivedAt(archivedAt);
+		return archived;
+	}
+
+	public static ArchivedBooking toArchive(Booking booking, LocalDateTime archivedAt) {
+		ArchivedBooking archived = new ArchivedBooking();
+		archived.setId(booking.getId());
+		archived.setRideId(booking.getRide().getId());
+		archived.setPassenger(booking.getPassenger());
+		archived.setNumberOfSeats(booking.getNumberOfSeats());
+		archived.setStatus(booking.getStatus());
+		archived.setBookingTime(booking.getBookingTime());
+		archived.setBoardStop(booking.getBoardStop());
+		archived.setAlightStop(booking.getAlightStop());
+		archived.setArchivedAt(archivedAt);
+		return archived;
+	}
+
+	public static RideDTO toDTO(ArchivedRide ride) {
+		RideDTO dto = new RideDTO();
+		dto.setId(ride.getId());
+		dto.setOrigin(ride.getOrigin());
+		dto.setDestination(ride.getDestination());
+		dto.setDepartureTime(ride.getDepartureTime());
+		dto.setAvailableSeats(ride.getAvailableSeats());
+		dto.setPricePerSeat(ride.getPricePerSeat());
+		dto.setOriginLat(ride.getOriginLat());
+		dto.setOriginLng(ride.getOriginLng());
+		dto.setDestinationLat(ride.getDestinationLat());
+		dto.setDestinationLng(ride.getDestinationLng());
+		if (ride.getDriver() != null) {
+			dto.setDriverId(ride.getDriver().getId());
+			dto.setDriverName(ride.getDriver().getName());
+		}
+		dto.setPassengerIds(split(ride.getPassengerIds()).stream().map(Long::valueOf).collect(Collectors.toList()));
+		dto.setWaypoints(split(ride.getWaypoints()));
+		dto.setScheduleId(ride.getScheduleId());
+		return dto;
+	}
+
+	public static BookingDTO toDTO(ArchivedBooking booking) {
+		BookingDTO dto = new BookingDTO();
+		dto.setId(booking.getId());
+		dto.setRideId(booking.getRideId());
+		dto.setPassengerId(booking.getPassenger() != null ? booking.getPassenger().getId() : null);
+		dto.setNumberOfSeats(booking.getNumberOfSeats());
+		dto.setStatus(booking.getStatus());
+		dto.setBookingTime(booking.getBookingTime());
+		dto.setPassengerName(booking.getPassenger() != null ? booking.getPassenger().getName() : null);
+		dto.setBoardStop(booking.getBoardStop());
+		dto.setAlightStop(booking.getAlightStop());
+		return dto;
+	}
+
+	private static List<String> split(String joined) {
+		return joined == null ? List.of() : Arrays.asList(joined.split(SEPARATOR));
+	}
+}
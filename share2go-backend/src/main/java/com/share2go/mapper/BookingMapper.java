@@ -16,6 +16,9 @@ public class BookingMapper {
 		dto.setStatus(booking.getStatus());
 		dto.setBookingTime(booking.getBookingTime());
 		dto.setPassengerName(booking.getPassenger() != null ? booking.getPassenger().getName() : null);
+		dto.setHoldExpiresAt(booking.getHoldExpiresAt());
+		dto.setBoardStop(booking.getBoardStop());
+		dto.setAlightStop(booking.getAlightStop());
 		return dto;
 	}
 
@@ -26,6 +29,8 @@ public class BookingMapper {
 		booking.setBookingTime(dto.getBookingTime());
 		booking.setRide(ride);
 		booking.setPassenger(passenger);
+		booking.setBoardStop(dto.getBoardStop());
+		booking.setAlightStop(dto.getAlightStop());
 		return booking;
 	}
 }
@@ -0,0 +1,24 @@
+package com.share2go.mapper;
+
+import java.util.List;
+
+import com.share2go.dto.DriverRideSummaryDTO;
+import com.share2go.model.DriverRideSummary;
+
+public class DriverRideSummaryMapper {
+
+	public static DriverRideSummaryDTO toDTO(DriverRideSummary summary) {
+		DriverRideSummaryDTO dto = new DriverRideSummaryDTO();
+		dto.setRideId(summary.getRideId());
+		dto.setOrigin(summary.getOrigin());
+		dto.setDestination(summary.getDestination());
+		dto.setDepartureTime(summary.getDepartureTime());
+		dto.setAvailableSeats(summary.getAvailableSeats());
+		dto.setPendingBookings(summary.getPendingBookings());
+		dto.setConfirmedBookings(summary.getConfirmedBookings());
+		dto.setConfirmedSeats(summary.getConfirmedSeats());
+		String recent = summary.getRecentPassengers();
+		dto.setRecentPassengers(recent == null || recent.isEmpty() ? List.of() : List.of(recent.split("\n")));
+		return dto;
+	}
+}
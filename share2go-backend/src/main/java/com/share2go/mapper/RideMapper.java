@@ -1,5 +1,7 @@
 package com.share2go.mapper;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import com.share2go.dto.RideDTO;
@@ -9,6 +11,17 @@ import com.share2go.model.User;
 public class RideMapper {
 
 	public static RideDTO toDTO(Ride ride) {
+		List<Long> passengerIds = ride.getPassengers() != null
+				? ride.getPassengers().stream().map(User::getId).collect(Collectors.toList())
+				: null;
+		return toDTO(ride, passengerIds);
+	}
+
+	public static RideDTO toDTO(Ride ride, List<Long> passengerIds) {
+		return toDTO(ride, passengerIds, ride.getWaypointCount() > 0 ? ride.getWaypoints() : List.of());
+	}
+
+	public static RideDTO toDTO(Ride ride, List<Long> passengerIds, List<String> waypoints) {
 		RideDTO dto = new RideDTO();
 		dto.setId(ride.getId());
 		dto.setOrigin(ride.getOrigin());
@@ -16,15 +29,20 @@ public class RideMapper {
 		dto.setDepartureTime(ride.getDepartureTime());
 		dto.setAvailableSeats(ride.getAvailableSeats());
 		dto.setPricePerSeat(ride.getPricePerSeat());
+		dto.setOriginLat(ride.getOriginLat());
+		dto.setOriginLng(ride.getOriginLng());
+		dto.setDestinationLat(ride.getDestinationLat());
+		dto.setDestinationLng(ride.getDestinationLng());
 
 		if (ride.getDriver() != null) {
 			dto.setDriverId(ride.getDriver().getId());
 			dto.setDriverName(ride.getDriver().getName());
 		}
 
-		if (ride.getPassengers() != null) {
-			dto.setPassengerIds(ride.getPassengers().stream().map(User::getId).collect(Collectors.toList()));
-		}
+		dto.setPassengerIds(passengerIds);
+		dto.setWaypoints(List.copyOf(waypoints));
+		// The proxy knows its id, so this does not load the schedule
+		dto.setScheduleId(ride.getSchedule() != null ? ride.getSchedule().getId() : null);
 
 		return dto;
 	}
@@ -37,7 +55,24 @@ public class RideMapper {
 		ride.setDepartureTime(dto.getDepartureTime());
 		ride.setAvailableSeats(dto.getAvailableSeats());
 		ride.setPricePerSeat(dto.getPricePerSeat());
+		ride.setOriginLat(dto.getOriginLat());
+		ride.setOriginLng(dto.getOriginLng());
+		ride.setDestinationLat(dto.getDestinationLat());
+		ride.setDestinationLng(dto.getDestinationLng());
 		ride.setDriver(driver);
+		ride.setWaypoints(waypoints(dto.getWaypoints()));
+		ride.setWaypointCount(ride.getWaypoints().size());
 		return ride;
 	}
+
+	/**
+	 * Trims waypoint names and drops blank ones.
+	 */
+	public static List<String> waypoints(List<String> names) {
+		if (names == null) {
+			return new ArrayList<>();
+		}
+		return names.stream().filter(name -> name != null && !name.isBlank()).map(String::trim)
+				.collect(Collectors.toCollection(ArrayList::new));
+	}
 }
@@ -0,0 +1,84 @@
+package com.share2go.mapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.share2go.dto.RideDTO;
+import com.share2go.dto.RideScheduleDTO;
+import com.share2go.model.Recurrence;
+import com.share2go.model.Ride;
+import com.share2go.model.RideSchedule;
+import com.share2go.model.User;
+
+public class RideScheduleMapper {
+
+	public static RideScheduleDTO toDTO(RideSchedule schedule) {
+		RideScheduleDTO dto = new RideScheduleDTO();
+		dto.setId(schedule.getId());
+		dto.setOrigin(schedule.getOrigin());
+		dto.setDestination(schedule.getDestination());
+		dto.setRecurrence(schedule.getRecurrence());
+		dto.setDepartureTime(schedule.getDepartureTime());
+		dto.setStartDate(schedule.getStartDate());
+		dto.setEndDate(schedule.getEndDate());
+		dto.setAvailableSeats(schedule.getAvailableSeats());
+		dto.setPricePerSeat(schedule.getPricePerSeat());
+		dto.setDriverId(schedule.getDriver().getId());
+		dto.setDriverName(schedule.getDriver().getName());
+		return dto;
+	}
+
+	/**
+	 * Builds a schedule from the DTO, with the rule normalized and its UNTIL
+	 * date, if any, taking precedence over the end date.
+	 */
+	public static RideSchedule toEntity(RideScheduleDTO dto, User driver) {
+		Recurrence recurrence = Recurrence.parse(dto.getRecurrence());
+		RideSchedule schedule = new RideSchedule();
+		schedule.setOrigin(dto.getOrigin());
+		schedule.setDestination(dto.getDestination());
+		schedule.setRecurrence(recurrence.toRule());
+		schedule.setDaysOfWeek(recurrence.days());
+		schedule.setDepartureTime(dto.getDepartureTime());
+		schedule.setStartDate(dto.getStartDate() != null ? dto.getStartDate() : LocalDate.now());
+		schedule.setEndDate(recurrence.until() != null ? recurrence.until() : dto.getEndDate());
+		schedule.setAvailableSeats(dto.getAvailableSeats());
+		schedule.setPricePerSeat(dto.getPricePerSeat());
+		schedule.setDriver(driver);
+		return schedule;
+	}
+
+	/**
+	 * An occurrence of the schedule as a ride that does not exist yet.
+	 */
+	public static RideDTO toOccurrenceDTO(RideSchedule schedule, LocalDateTime departureTime) {
+		RideDTO dto = new RideDTO();
+		dto.setScheduleId(schedule.getId());
+		dto.setOrigin(schedule.getOrigin());
+		dto.setDestination(schedule.getDestination());
+		dto.setDepartureTime(departureTime);
+		dto.setAvailableSeats(schedule.getAvailableSeats());
+		dto.setPricePerSeat(schedule.getPricePerSeat());
+		dto.setDriverId(schedule.getDriver().getId());
+		dto.setDriverName(schedule.getDriver().getName());
+		dto.setPassengerIds(List.of());
+		dto.setWaypoints(List.of());
+		return dto;
+	}
+
+	/**
+	 * The ride created for an occurrence once someone books it.
+	 */
+	public static Ride toRide(RideSchedule schedule, LocalDateTime departureTime) {
+		Ride ride = new Ride();
+		ride.setOrigin(schedule.getOrigin());
+		ride.setDestination(schedule.getDestination());
+		ride.setDepartureTime(departureTime);
+		ride.setAvailableSeats(schedule.getAvailableSeats());
+		ride.setPricePerSeat(schedule.getPricePerSeat());
+		ride.setDriver(schedule.getDriver());
+		ride.setSchedule(schedule);
+		return ride;
+	}
+}
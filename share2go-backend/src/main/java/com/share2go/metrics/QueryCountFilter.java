@@ -0,0 +1,50 @@
+package com.share2go.metrics;
+
+import java.io.IOException;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each request ran, tagged like
+ * http.server.requests so the two can be read side by side. Runs ahead of the
+ * security filters so token checks that hit the database are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+	private final MeterRegistry meterRegistry;
+
+	public QueryCountFilter(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		QueryCounter.open();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			int statements = QueryCounter.close();
+			Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+			DistributionSummary.builder("share2go.http.server.queries")
+					.baseUnit("statements")
+					.tag("method", request.getMethod())
+					.tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+					.register(meterRegistry)
+					.record(statements);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package com.share2go.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * count is open. Statements outside an open count, such as those from
+ * background jobs, are not tracked.
+ */
+public class QueryCounter implements StatementInspector {
+
+	private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+	static void open() {
+		COUNT.set(new int[1]);
+	}
+
+	static int close() {
+		int[] count = COUNT.get();
+		COUNT.remove();
+		return count != null ? count[0] : 0;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		int[] count = COUNT.get();
+		if (count != null) {
+			count[0]++;
+		}
+		return sql;
+	}
+}
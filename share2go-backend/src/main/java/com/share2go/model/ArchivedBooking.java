@@ -0,0 +1,123 @@
+package com.share2go.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.*;
+
+/**
+ * A booking moved out of the bookings table by RideArchiver, either with its
+ * departed ride or on its own once it was closed long enough ago. It keeps the
+ * booking's id and refers to the ride by id only, as the ride may be in either
+ * table.
+ */
+@Entity
+@Table(name = "archived_bookings", indexes = {
+		@Index(name = "idx_archived_bookings_passenger", columnList = "passenger_id"),
+		@Index(name = "idx_archived_bookings_ride", columnList = "ride_id") })
+public class ArchivedBooking implements Persistable<Long> {
+
+	@Id
+	private Long id;
+
+	private Long rideId;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "passenger_id")
+	private User passenger;
+
+	private int numberOfSeats;
+	private String status;
+	private LocalDateTime bookingTime;
+	private Integer boardStop;
+	private Integer alightStop;
+	private LocalDateTime archivedAt;
+
+	@Transient
+	private boolean stored;
+
+	@Override
+	public boolean isNew() {
+		return !stored;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markStored() {
+		stored = true;
+	}
+
+	@Override
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getRideId() {
+		return rideId;
+	}
+
+	public void setRideId(Long rideId) {
+		this.rideId = rideId;
+	}
+
+	public User getPassenger() {
+		return passenger;
+	}
+
+	public void setPassenger(User passenger) {
+		this.passenger = passenger;
+	}
+
+	public int getNumberOfSeats() {
+		return numberOfSeats;
+	}
+
+	public void setNumberOfSeats(int numberOfSeats) {
+		this.numberOfSeats = numberOfSeats;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public LocalDateTime getBookingTime() {
+		return bookingTime;
+	}
+
+	public void setBookingTime(LocalDateTime bookingTime) {
+		this.bookingTime = bookingTime;
+	}
+
+	public Integer getBoardStop() {
+		return boardStop;
+	}
+
+	public void setBoardStop(Integer boardStop) {
+		this.boardStop = boardStop;
+	}
+
+	public Integer getAlightStop() {
+		return alightStop;
+	}
+
+	public void setAlightStop(Integer alightStop) {
+		this.alightStop = alightStop;
+	}
+
+	public LocalDateTime getArchivedAt() {
+		return archivedAt;
+	}
+
+	public void setArchivedAt(LocalDateTime archivedAt) {
+		this.archivedAt = archivedAt;
+	}
+}
@@ -0,0 +1,179 @@
+package com.share2go.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.*;
+
+/**
+ * A departed ride moved out of the rides table by RideArchiver. It keeps the
+ * ride's id, and its waypoints and passenger ids as one value per line.
+ */
+@Entity
+@Table(name = "archived_rides", indexes = @Index(name = "idx_archived_rides_driver_departure",
+		columnList = "driver_id, departure_time"))
+public class ArchivedRide implements Persistable<Long> {
+
+	@Id
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "driver_id")
+	private User driver;
+
+	private String origin;
+	private String destination;
+	private LocalDateTime departureTime;
+	private int availableSeats;
+	private double pricePerSeat;
+	private Double originLat;
+	private Double originLng;
+	private Double destinationLat;
+	private Double destinationLng;
+
+	@Column(length = 2000)
+	private String waypoints;
+
+	@Column(length = 2000)
+	private String passengerIds;
+
+	private Long scheduleId;
+	private LocalDateTime archivedAt;
+
+	// Ids are copied from the ride, so without this every save would look the row up first
+	@Transient
+	private boolean stored;
+
+	@Override
+	public boolean isNew() {
+		return !stored;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markStored() {
+		stored = true;
+	}
+
+	@Override
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public User getDriver() {
+		return driver;
+	}
+
+	public void setDriver(User driver) {
+		this.driver = driver;
+	}
+
+	public String getOrigin() {
+		return origin;
+	}
+
+	public void setOrigin(String origin) {
+		this.origin = origin;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public void setDestination(String destination) {
+		this.destination = destination;
+	}
+
+	public LocalDateTime getDepartureTime() {
+		return departureTime;
+	}
+
+	public void setDepartureTime(LocalDateTime departureTime) {
+		this.departureTime = departureTime;
+	}
+
+	public int getAvailableSeats() {
+		return availableSeats;
+	}
+
+	public void setAvailableSeats(int availableSeats) {
+		this.availableSeats = availableSeats;
+	}
+
+	public double getPricePerSeat() {
+		return pricePerSeat;
+	}
+
+	public void setPricePerSeat(double pricePerSeat) {
+		this.pricePerSeat = pricePerSeat;
+	}
+
+	public Double getOriginLat() {
+		return originLat;
+	}
+
+	public void setOriginLat(Double originLat) {
+		this.originLat = originLat;
+	}
+
+	public Double getOriginLng() {
+		return originLng;
+	}
+
+	public void setOriginLng(Double originLng) {
+		this.originLng = originLng;
+	}
+
+	public Double getDestinationLat() {
+		return destinationLat;
+	}
+
+	public void setDestinationLat(Double destinationLat) {
+		this.destinationLat = destinationLat;
+	}
+
+	public Double getDestinationLng() {
+		return destinationLng;
+	}
+
+	public void setDestinationLng(Double destinationLng) {
+		this.destinationLng = destinationLng;
+	}
+
+	public String getWaypoints() {
+		return waypoints;
+	}
+
+	public void setWaypoints(String waypoints) {
+		this.waypoints = waypoints;
+	}
+
+	public String getPassengerIds() {
+		return passengerIds;
+	}
+
+	public void setPassengerIds(String passengerIds) {
+		this.passengerIds = passengerIds;
+	}
+
+	public Long getScheduleId() {
+		return scheduleId;
+	}
+
+	public void setScheduleId(Long scheduleId) {
+		this.scheduleId = scheduleId;
+	}
+
+	public LocalDateTime getArchivedAt() {
+		return archivedAt;
+	}
+
+	public void setArchivedAt(LocalDateTime archivedAt) {
+		this.archivedAt = archivedAt;
+	}
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 
 @Data
 @Entity
+@Table(indexes = @Index(name = "idx_booking_status_hold", columnList = "status, hold_expires_at"))
 public class Booking {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +27,12 @@ public class Booking {
 
 	private LocalDateTime bookingTime;
 
+	private LocalDateTime holdExpiresAt;
+
+	// Stop indexes on the ride's route, null for the whole route
+	private Integer boardStop;
+	private Integer alightStop;
+
 	public String getStatus() {
 		return status;
 	}
@@ -66,6 +73,14 @@ public class Booking {
 		this.bookingTime = bookingTime;
 	}
 
+	public LocalDateTime getHoldExpiresAt() {
+		return holdExpiresAt;
+	}
+
+	public void setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+		this.holdExpiresAt = holdExpiresAt;
+	}
+
 	public User getPassenger() {
 		return passenger;
 	}
@@ -74,4 +89,19 @@ public class Booking {
 		this.passenger = passenger;
 	}
 
+	public Integer getBoardStop() {
+		return boardStop;
+	}
+
+	public void setBoardStop(Integer boardStop) {
+		this.boardStop = boardStop;
+	}
+
+	public Integer getAlightStop() {
+		return alightStop;
+	}
+
+	public void setAlightStop(Integer alightStop) {
+		this.alightStop = alightStop;
+	}
 }
@@ -0,0 +1,118 @@
+package com.share2go.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.DynamicUpdate;
+
+import jakarta.persistence.*;
+
+/**
+ * One row per ride on the driver dashboard, kept up to date as bookings change
+ * so the dashboard never has to join bookings and passengers. Updates only
+ * write the columns they changed, because seat counts are refreshed with bulk
+ * statements while the row may still be loaded.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "driver_ride_summaries", indexes = @Index(name = "idx_driver_ride_summaries_driver_departure",
+		columnList = "driver_id, departure_time"))
+public class DriverRideSummary {
+
+	@Id
+	private Long rideId;
+
+	@Column(nullable = false)
+	private Long driverId;
+
+	private String origin;
+	private String destination;
+	private LocalDateTime departureTime;
+	private int availableSeats;
+	private int pendingBookings;
+	private int confirmedBookings;
+	private int confirmedSeats;
+
+	// Newest first, one name per line
+	@Column(length = 1000)
+	private String recentPassengers;
+
+	public Long getRideId() {
+		return rideId;
+	}
+
+	public void setRideId(Long rideId) {
+		this.rideId = rideId;
+	}
+
+	public Long getDriverId() {
+		return driverId;
+	}
+
+	public void setDriverId(Long driverId) {
+		this.driverId = driverId;
+	}
+
+	public String getOrigin() {
+		return origin;
+	}
+
+	public void setOrigin(String origin) {
+		this.origin = origin;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public void setDestination(String destination) {
+		this.destination = destination;
+	}
+
+	public LocalDateTime getDepartureTime() {
+		return departureTime;
+	}
+
+	public void setDepartureTime(LocalDateTime departureTime) {
+		this.departureTime = departureTime;
+	}
+
+	public int getAvailableSeats() {
+		return availableSeats;
+	}
+
+	public void setAvailableSeats(int availableSeats) {
+		this.availableSeats = availableSeats;
+	}
+
+	public int getPendingBookings() {
+		return pendingBookings;
+	}
+
+	public void setPendingBookings(int pendingBookings) {
+		this.pendingBookings = pendingBookings;
+	}
+
+	public int getConfirmedBookings() {
+		return confirmedBookings;
+	}
+
+	public void setConfirmedBookings(int confirmedBookings) {
+		this.confirmedBookings = confirmedBookings;
+	}
+
+	public int getConfirmedSeats() {
+		return confirmedSeats;
+	}
+
+	public void setConfirmedSeats(int confirmedSeats) {
+		this.confirmedSeats = confirmedSeats;
+	}
+
+	public String getRecentPassengers() {
+		return recentPassengers;
+	}
+
+	public void setRecentPassengers(String recentPassengers) {
+		this.recentPassengers = recentPassengers;
+	}
+}
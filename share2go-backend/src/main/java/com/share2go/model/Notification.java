@@ -5,7 +5,10 @@ import java.time.LocalDateTime;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_read_created", columnList = "user_id, read_flag, created_at"),
+        // Retention walks read notifications oldest first without touching a user's rows
+        @Index(name = "idx_notifications_read_created", columnList = "read_flag, created_at, id") })
 public class Notification {
 
     @Id
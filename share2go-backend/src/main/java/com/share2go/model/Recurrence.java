@@ -0,0 +1,110 @@
+package com.share2go.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The part of an iCalendar RRULE that ride schedules support: FREQ=DAILY or
+ * FREQ=WEEKLY, BYDAY with plain weekday codes, and an optional UNTIL date.
+ * Days are kept as a bitmask with Monday as the lowest bit, which is how
+ * schedules are stored and indexed.
+ */
+public record Recurrence(int days, LocalDate until) {
+
+	public static final int EVERY_DAY = 0b1111111;
+
+	private static final String[] CODES = { "MO", "TU", "WE", "TH", "FR", "SA", "SU" };
+
+	public static Recurrence parse(String rule) {
+		if (rule == null || rule.isBlank()) {
+			throw new IllegalArgumentException("A schedule needs a recurrence rule");
+		}
+		String body = rule.trim().toUpperCase(Locale.ROOT);
+		if (body.startsWith("RRULE:")) {
+			body = body.substring("RRULE:".length());
+		}
+		String frequency = null;
+		int days = 0;
+		LocalDate until = null;
+		for (String part : body.split(";")) {
+			String[] pair = part.split("=", 2);
+			String value = pair.length == 2 ? pair[1].trim() : "";
+			switch (pair[0].trim()) {
+			case "FREQ" -> frequency = value;
+			case "BYDAY" -> days = days(value);
+			case "UNTIL" -> until = until(value);
+			case "INTERVAL" -> {
+				if (!value.equals("1")) {
+					throw new IllegalArgumentException("Only an INTERVAL of 1 is supported");
+				}
+			}
+			default -> throw new IllegalArgumentException("Unsupported recurrence part: " + part);
+			}
+		}
+		if ("DAILY".equals(frequency)) {
+			return new Recurrence(days == 0 ? EVERY_DAY : days, until);
+		}
+		if ("WEEKLY".equals(frequency)) {
+			if (days == 0) {
+				throw new IllegalArgumentException("A weekly recurrence needs BYDAY");
+			}
+			return new Recurrence(days, until);
+		}
+		throw new IllegalArgumentException("Recurrence FREQ must be DAILY or WEEKLY");
+	}
+
+	public static int bit(DayOfWeek day) {
+		return 1 << (day.getValue() - 1);
+	}
+
+	public boolean includes(DayOfWeek day) {
+		return (days & bit(day)) != 0;
+	}
+
+	/**
+	 * The rule in a normalized form, as it is stored.
+	 */
+	public String toRule() {
+		StringBuilder rule = new StringBuilder(days == EVERY_DAY ? "FREQ=DAILY" : "FREQ=WEEKLY;BYDAY=");
+		if (days != EVERY_DAY) {
+			List<String> codes = new ArrayList<>();
+			for (DayOfWeek day : DayOfWeek.values()) {
+				if (includes(day)) {
+					codes.add(CODES[day.ordinal()]);
+				}
+			}
+			rule.append(String.join(",", codes));
+		}
+		if (until != null) {
+			rule.append(";UNTIL=").append(until.format(DateTimeFormatter.BASIC_ISO_DATE));
+		}
+		return rule.toString();
+	}
+
+	private static int days(String value) {
+		int days = 0;
+		for (String code : value.split(",")) {
+			int index = List.of(CODES).indexOf(code.trim());
+			if (index < 0) {
+				throw new IllegalArgumentException("Unsupported BYDAY value: " + code.trim());
+			}
+			days |= 1 << index;
+		}
+		return days;
+	}
+
+	private static LocalDate until(String value) {
+		try {
+			// Date-time forms keep their date, as schedules run on local dates
+			return LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value,
+					DateTimeFormatter.BASIC_ISO_DATE);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid UNTIL date: " + value);
+		}
+	}
+}
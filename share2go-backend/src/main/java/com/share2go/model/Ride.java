@@ -1,16 +1,21 @@
 package com.share2go.model;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
 @Entity
-@Table(name = "rides")
+@Table(name = "rides", indexes = @Index(name = "idx_rides_departure_time", columnList = "departure_time"),
+		uniqueConstraints = @UniqueConstraint(name = "uk_rides_schedule_departure",
+				columnNames = { "schedule_id", "departure_time" }))
 public class Ride {
 
 	@Id
@@ -23,10 +28,42 @@ public class Ride {
 	private int availableSeats;
 	private double pricePerSeat;
 
+	@Version
+	private long version;
+
+	private Double originLat;
+	private Double originLng;
+	private Double destinationLat;
+	private Double destinationLng;
+
 	@ManyToOne
 	@JoinColumn(name = "user_id")
 	private User driver;
 
+	// Stops between origin and destination, in driving order
+	@ElementCollection
+	@CollectionTable(name = "ride_waypoints", joinColumns = @JoinColumn(name = "ride_id"))
+	@OrderColumn(name = "position")
+	@Column(name = "name")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private List<String> waypoints = new ArrayList<>();
+
+	// Kept next to the collection so seat changes can tell plain rides apart without loading it
+	private int waypointCount;
+
+	@OneToMany(mappedBy = "ride", cascade = CascadeType.REMOVE)
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private List<RideSegment> segments;
+
+	// Set when the ride is an occurrence of a schedule that someone booked
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "schedule_id")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private RideSchedule schedule;
+
 	public List<User> getPassengers() {
 		return passengers;
 	}
@@ -44,10 +81,14 @@ public class Ride {
 	}
 
 	@ManyToMany
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private List<User> passengers;
 
-	@OneToMany(mappedBy = "ride", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+	@OneToMany(mappedBy = "ride", cascade = CascadeType.ALL)
 	@JsonIgnoreProperties("ride")
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	private List<Booking> bookings;
 
 	public Long getId() {
@@ -98,6 +139,38 @@ public class Ride {
 		this.pricePerSeat = pricePerSeat;
 	}
 
+	public Double getOriginLat() {
+		return originLat;
+	}
+
+	public void setOriginLat(Double originLat) {
+		this.originLat = originLat;
+	}
+
+	public Double getOriginLng() {
+		return originLng;
+	}
+
+	public void setOriginLng(Double originLng) {
+		this.originLng = originLng;
+	}
+
+	public Double getDestinationLat() {
+		return destinationLat;
+	}
+
+	public void setDestinationLat(Double destinationLat) {
+		this.destinationLat = destinationLat;
+	}
+
+	public Double getDestinationLng() {
+		return destinationLng;
+	}
+
+	public void setDestinationLng(Double destinationLng) {
+		this.destinationLng = destinationLng;
+	}
+
 	public User getDriver() {
 		return driver;
 	}
@@ -105,4 +178,28 @@ public class Ride {
 	public void setDriver(User driver) {
 		this.driver = driver;
 	}
+
+	public List<String> getWaypoints() {
+		return waypoints;
+	}
+
+	public void setWaypoints(List<String> waypoints) {
+		this.waypoints = waypoints;
+	}
+
+	public int getWaypointCount() {
+		return waypointCount;
+	}
+
+	public void setWaypointCount(int waypointCount) {
+		this.waypointCount = waypointCount;
+	}
+
+	public RideSchedule getSchedule() {
+		return schedule;
+	}
+
+	public void setSchedule(RideSchedule schedule) {
+		this.schedule = schedule;
+	}
 }
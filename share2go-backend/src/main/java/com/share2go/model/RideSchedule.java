@@ -0,0 +1,136 @@
+package com.share2go.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import jakarta.persistence.*;
+
+/**
+ * A ride the driver offers on a recurring pattern, such as every weekday at
+ * 08:00. Its occurrences are listed in searches without a row of their own,
+ * and a Ride is only created for an occurrence once someone books it.
+ */
+@Entity
+@Table(name = "ride_schedules", indexes = @Index(name = "idx_ride_schedules_driver", columnList = "driver_id"))
+public class RideSchedule {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "driver_id")
+	private User driver;
+
+	private String origin;
+	private String destination;
+
+	// Normalized RRULE, with its days also kept as a Recurrence bitmask
+	private String recurrence;
+	private int daysOfWeek;
+
+	private LocalTime departureTime;
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private int availableSeats;
+	private double pricePerSeat;
+
+	/**
+	 * Whether the schedule has an occurrence leaving at exactly the given time.
+	 */
+	public boolean occursAt(LocalDateTime time) {
+		LocalDate date = time.toLocalDate();
+		return time.toLocalTime().equals(departureTime) && !date.isBefore(startDate)
+				&& (endDate == null || !date.isAfter(endDate))
+				&& (daysOfWeek & Recurrence.bit(date.getDayOfWeek())) != 0;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public User getDriver() {
+		return driver;
+	}
+
+	public void setDriver(User driver) {
+		this.driver = driver;
+	}
+
+	public String getOrigin() {
+		return origin;
+	}
+
+	public void setOrigin(String origin) {
+		this.origin = origin;
+	}
+
+	public String getDestination() {
+		return destination;
+	}
+
+	public void setDestination(String destination) {
+		this.destination = destination;
+	}
+
+	public String getRecurrence() {
+		return recurrence;
+	}
+
+	public void setRecurrence(String recurrence) {
+		this.recurrence = recurrence;
+	}
+
+	public int getDaysOfWeek() {
+		return daysOfWeek;
+	}
+
+	public void setDaysOfWeek(int daysOfWeek) {
+		this.daysOfWeek = daysOfWeek;
+	}
+
+	public LocalTime getDepartureTime() {
+		return departureTime;
+	}
+
+	public void setDepartureTime(LocalTime departureTime) {
+		this.departureTime = departureTime;
+	}
+
+	public LocalDate getStartDate() {
+		return startDate;
+	}
+
+	public void setStartDate(LocalDate startDate) {
+		this.startDate = startDate;
+	}
+
+	public LocalDate getEndDate() {
+		return endDate;
+	}
+
+	public void setEndDate(LocalDate endDate) {
+		this.endDate = endDate;
+	}
+
+	public int getAvailableSeats() {
+		return availableSeats;
+	}
+
+	public void setAvailableSeats(int availableSeats) {
+		this.availableSeats = availableSeats;
+	}
+
+	public double getPricePerSeat() {
+		return pricePerSeat;
+	}
+
+	public void setPricePerSeat(double pricePerSeat) {
+		this.pricePerSeat = pricePerSeat;
+	}
+}
@@ -0,0 +1,57 @@
+package com.share2go.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Free seats on one leg of a ride with waypoints, between stop {@code position}
+ * and the next one. Rides without waypoints keep their seats on the ride only.
+ */
+@Entity
+@Table(name = "ride_segments", uniqueConstraints = @UniqueConstraint(name = "uk_ride_segments_ride_position",
+		columnNames = { "ride_id", "position" }))
+public class RideSegment {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "ride_id")
+	private Ride ride;
+
+	private int position;
+
+	private int availableSeats;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Ride getRide() {
+		return ride;
+	}
+
+	public void setRide(Ride ride) {
+		this.ride = ride;
+	}
+
+	public int getPosition() {
+		return position;
+	}
+
+	public void setPosition(int position) {
+		this.position = position;
+	}
+
+	public int getAvailableSeats() {
+		return availableSeats;
+	}
+
+	public void setAvailableSeats(int availableSeats) {
+		this.availableSeats = availableSeats;
+	}
+}
@@ -22,7 +22,7 @@ public class User {
 	private Role role;
 
 	public enum Role {
-		Driver, Passenger
+		Driver, Passenger, Admin
 	}
 
 	public Long getId() {
@@ -0,0 +1,14 @@
+package com.share2go.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.share2go.model.ArchivedBooking;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+	@EntityGraph(attributePaths = "passenger")
+	List<ArchivedBooking> findByPassengerIdOrderByBookingTimeDesc(Long passengerId);
+}
@@ -0,0 +1,14 @@
+package com.share2go.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.share2go.model.ArchivedRide;
+
+public interface ArchivedRideRepository extends JpaRepository<ArchivedRide, Long> {
+
+	@EntityGraph(attributePaths = "driver")
+	List<ArchivedRide> findByDriverIdOrderByDepartureTimeDesc(Long driverId);
+}
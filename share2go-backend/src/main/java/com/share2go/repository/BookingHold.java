@@ -0,0 +1,6 @@
+package com.share2go.repository;
+
+import java.time.LocalDateTime;
+
+public record BookingHold(Long bookingId, LocalDateTime expiresAt) {
+}
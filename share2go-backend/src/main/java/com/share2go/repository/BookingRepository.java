@@ -1,14 +1,64 @@
 package com.share2go.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
 
 import com.share2go.model.Booking;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-	List<Booking> findByPassengerId(Long passengerId);
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT b FROM Booking b WHERE b.id = :id")
+	Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = 'PENDING' AND b.holdExpiresAt <= :now")
+	List<Booking> findExpiredHoldsForUpdate(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+	@Query("SELECT b.id FROM Booking b WHERE b.status = 'PENDING' AND b.holdExpiresAt <= :now "
+			+ "ORDER BY b.holdExpiresAt")
+	List<Long> findExpiredHoldIds(@Param("now") LocalDateTime now, Limit limit);
+
+	@Query("SELECT new com.share2go.repository.BookingHold(b.id, b.holdExpiresAt) FROM Booking b "
+			+ "WHERE b.status = 'PENDING' AND b.holdExpiresAt IS NOT NULL AND b.id > :afterId ORDER BY b.id")
+	List<BookingHold> findActiveHolds(@Param("afterId") Long afterId, Limit limit);
+
+	@Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.ride.id = :rideId "
+			+ "AND (b.boardStop IS NOT NULL OR b.alightStop IS NOT NULL) "
+			+ "AND b.status IN ('PENDING', 'CONFIRMED', 'ACCEPTED')")
+	boolean existsPartialRouteBookings(@Param("rideId") Long rideId);
+
+	@EntityGraph(attributePaths = { "ride", "ride.driver", "passenger" })
+	List<Booking> findByPassengerIdAndIdGreaterThanOrderByIdAsc(Long passengerId, Long afterId, Limit limit);
 
+	@EntityGraph(attributePaths = { "ride", "ride.driver", "passenger" })
 	List<Booking> findByRideId(Long rideId);
+
+	@EntityGraph(attributePaths = { "ride", "ride.driver", "passenger" })
+	List<Booking> findByRideIdAndIdGreaterThanOrderByIdAsc(Long rideId, Long afterId, Limit limit);
+
+	@EntityGraph(attributePaths = "passenger")
+	List<Booking> findByRideIdIn(Collection<Long> rideIds);
+
+	@EntityGraph(attributePaths = { "ride", "ride.driver", "passenger" })
+	List<Booking> findByIdIn(Collection<Long> ids);
+
+	@Query("SELECT b.id FROM Booking b WHERE UPPER(b.status) IN :statuses AND b.bookingTime < :cutoff "
+			+ "ORDER BY b.id")
+	List<Long> findClosedIds(@Param("statuses") Collection<String> statuses, @Param("cutoff") LocalDateTime cutoff,
+			Limit limit);
+
+	@EntityGraph(attributePaths = { "ride", "ride.driver", "passenger" })
+	List<Booking> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
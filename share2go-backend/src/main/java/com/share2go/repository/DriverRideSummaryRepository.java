@@ -0,0 +1,44 @@
+package com.share2go.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.share2go.model.DriverRideSummary;
+
+import jakarta.persistence.LockModeType;
+
+public interface DriverRideSummaryRepository extends JpaRepository<DriverRideSummary, Long> {
+
+	List<DriverRideSummary> findByDriverIdOrderByDepartureTimeAsc(Long driverId);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM DriverRideSummary s WHERE s.rideId = :rideId")
+	Optional<DriverRideSummary> findByIdForUpdate(@Param("rideId") Long rideId);
+
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE DriverRideSummary s SET s.availableSeats = "
+			+ "(SELECT r.availableSeats FROM Ride r WHERE r.id = s.rideId) WHERE s.rideId = :rideId")
+	int refreshSeats(@Param("rideId") Long rideId);
+
+	/**
+	 * Adds a summary for every ride that has none, counting its bookings once.
+	 * Recent passengers start empty and fill up with new requests.
+	 */
+	@Modifying
+	@Query("INSERT INTO DriverRideSummary (rideId, driverId, origin, destination, departureTime, availableSeats, "
+			+ "pendingBookings, confirmedBookings, confirmedSeats) "
+			+ "SELECT r.id, r.driver.id, r.origin, r.destination, r.departureTime, r.availableSeats, "
+			+ "CAST((SELECT COUNT(b) FROM Booking b WHERE b.ride = r AND UPPER(b.status) = 'PENDING') AS Integer), "
+			+ "CAST((SELECT COUNT(b) FROM Booking b WHERE b.ride = r "
+			+ "AND UPPER(b.status) IN ('CONFIRMED', 'ACCEPTED')) AS Integer), "
+			+ "CAST((SELECT COALESCE(SUM(b.numberOfSeats), 0) FROM Booking b WHERE b.ride = r "
+			+ "AND UPPER(b.status) IN ('CONFIRMED', 'ACCEPTED')) AS Integer) "
+			+ "FROM Ride r WHERE NOT EXISTS (SELECT 1 FROM DriverRideSummary s WHERE s.rideId = r.id)")
+	int insertMissing();
+}
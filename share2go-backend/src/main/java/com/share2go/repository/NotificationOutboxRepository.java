@@ -0,0 +1,28 @@
+package com.share2go.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.share2go.model.NotificationOutbox;
+
+import jakarta.persistence.LockModeType;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+	// Oldest first, skipping rows that are waiting out a backoff or have used up their attempts
+	@Query("SELECT o.id FROM NotificationOutbox o WHERE o.nextAttemptAt <= :now AND o.attempts < :maxAttempts "
+			+ "ORDER BY o.id")
+	List<Long> findDueIds(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts, Limit limit);
+
+	// Rows another instance relayed in the meantime are gone and simply not returned
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT o FROM NotificationOutbox o WHERE o.id IN :ids ORDER BY o.id")
+	List<NotificationOutbox> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+}
@@ -1,14 +1,41 @@
 package com.share2go.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.share2go.model.Notification;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByRecipientIdOrderByCreatedAtDesc(Long userId);
+    List<Notification> findByRecipientIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Limit limit);
 
     long countByRecipientIdAndReadFlagFalse(Long userId);
+
+    @Query("SELECT new com.share2go.repository.UnreadCount(n.recipient.id, COUNT(n)) FROM Notification n "
+            + "WHERE n.recipient.id IN :userIds AND n.readFlag = false GROUP BY n.recipient.id")
+    List<UnreadCount> countUnreadByRecipientIds(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readFlag = true WHERE n.id = :id AND n.readFlag = false")
+    int markReadIfUnread(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readFlag = true WHERE n.recipient.id = :userId AND n.readFlag = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    // Oldest first, in the order of idx_notifications_read_created, so a batch stops at its limit
+    @Query("SELECT n.id FROM Notification n WHERE n.readFlag = true AND n.createdAt < :cutoff "
+            + "ORDER BY n.createdAt, n.id")
+    List<Long> findReadIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @EntityGraph(attributePaths = "recipient")
+    List<Notification> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
 
@@ -0,0 +1,4 @@
+package com.share2go.repository;
+
+public record RidePassengerId(Long rideId, Long passengerId) {
+}
@@ -1,14 +1,26 @@
 package com.share2go.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
 import com.share2go.model.Ride;
+import com.share2go.search.RideGeoEntry;
+import com.share2go.search.RideRankEntry;
+import com.share2go.search.RideSearchEntry;
+import com.share2go.search.ScheduledDeparture;
 
 @Repository
 public interface RideRepository extends JpaRepository<Ride, Long> {
@@ -25,5 +37,84 @@ public interface RideRepository extends JpaRepository<Ride, Long> {
                         @Param("destination") String destination,
                         @Param("departureTime") LocalDateTime departureTime);
 
-        List<Ride> findByDriverId(Long driverId);
+        @EntityGraph(attributePaths = "driver")
+        List<Ride> findByDriverIdAndIdGreaterThanOrderByIdAsc(Long driverId, Long afterId, Limit limit);
+
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE Ride r SET r.availableSeats = r.availableSeats - :seats, r.version = r.version + 1 "
+                        + "WHERE r.id = :rideId AND r.availableSeats >= :seats")
+        int reserveSeats(@Param("rideId") Long rideId, @Param("seats") int seats);
+
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE Ride r SET r.availableSeats = r.availableSeats + :seats, r.version = r.version + 1 "
+                        + "WHERE r.id = :rideId")
+        int releaseSeats(@Param("rideId") Long rideId, @Param("seats") int seats);
+
+        /**
+         * Takes the ride's row lock before its segments are read or changed, so
+         * concurrent bookings on overlapping parts of the route queue up.
+         */
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE Ride r SET r.version = r.version + 1 WHERE r.id = :rideId")
+        int lockSeats(@Param("rideId") Long rideId);
+
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE Ride r SET r.availableSeats = "
+                        + "(SELECT MIN(s.availableSeats) FROM RideSegment s WHERE s.ride = r) WHERE r.id = :rideId")
+        int refreshSeatsFromSegments(@Param("rideId") Long rideId);
+
+        @Query("SELECT new com.share2go.repository.RideWaypoint(r.id, INDEX(w), w) FROM Ride r JOIN r.waypoints w "
+                        + "WHERE r.id IN :rideIds ORDER BY r.id, INDEX(w)")
+        List<RideWaypoint> findWaypoints(@Param("rideIds") Collection<Long> rideIds);
+
+        /**
+         * Locking read, so it sees a ride another booking created for the same
+         * occurrence even when this transaction's snapshot is older.
+         */
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT r FROM Ride r WHERE r.schedule.id = :scheduleId AND r.departureTime = :departureTime")
+        Optional<Ride> findScheduledForUpdate(@Param("scheduleId") Long scheduleId,
+                        @Param("departureTime") LocalDateTime departureTime);
+
+        @Query("SELECT new com.share2go.search.ScheduledDeparture(r.schedule.id, r.departureTime) FROM Ride r "
+                        + "WHERE r.schedule IS NOT NULL AND r.departureTime >= :departureTime")
+        List<ScheduledDeparture> findScheduledDepartures(@Param("departureTime") LocalDateTime departureTime);
+
+        @Modifying
+        @Query("UPDATE Ride r SET r.schedule = null WHERE r.schedule.id = :scheduleId")
+        int detachSchedule(@Param("scheduleId") Long scheduleId);
+
+        @Query("SELECT r.id FROM Ride r WHERE r.departureTime < :cutoff ORDER BY r.id")
+        List<Long> findDepartedIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+        @EntityGraph(attributePaths = "driver")
+        List<Ride> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+        @Override
+        @EntityGraph(attributePaths = "driver")
+        List<Ride> findAllById(Iterable<Long> ids);
+
+        @Query("SELECT new com.share2go.repository.RidePassengerId(r.id, p.id) FROM Ride r JOIN r.passengers p "
+                        + "WHERE r.id IN :rideIds")
+        List<RidePassengerId> findPassengerIds(@Param("rideIds") Collection<Long> rideIds);
+
+        @EntityGraph(attributePaths = "driver")
+        List<Ride> findByDepartureTimeGreaterThanEqualOrderById(LocalDateTime departureTime);
+
+        @Query("SELECT new com.share2go.search.RideRankEntry(r.id, r.departureTime, r.pricePerSeat, r.availableSeats) "
+                        + "FROM Ride r WHERE r.id IN :rideIds")
+        List<RideRankEntry> findRankEntries(@Param("rideIds") Collection<Long> rideIds);
+
+        @Query("SELECT new com.share2go.search.RideRankEntry(r.id, r.departureTime, r.pricePerSeat, r.availableSeats) "
+                        + "FROM Ride r WHERE r.departureTime >= :departureTime")
+        List<RideRankEntry> findRankEntriesDepartingFrom(@Param("departureTime") LocalDateTime departureTime);
+
+        @Query("SELECT new com.share2go.search.RideSearchEntry(r.id, r.origin, r.destination, r.departureTime) "
+                        + "FROM Ride r WHERE r.id > :afterId ORDER BY r.id")
+        List<RideSearchEntry> findSearchEntries(@Param("afterId") Long afterId, Limit limit);
+
+        @Query("SELECT new com.share2go.search.RideGeoEntry(r.id, r.originLat, r.originLng, r.destinationLat, "
+                        + "r.destinationLng, r.departureTime) FROM Ride r WHERE r.id > :afterId "
+                        + "AND r.originLat IS NOT NULL AND r.destinationLat IS NOT NULL ORDER BY r.id")
+        List<RideGeoEntry> findGeoEntries(@Param("afterId") Long afterId, Limit limit);
 }
@@ -0,0 +1,38 @@
+package com.share2go.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.share2go.model.RideSchedule;
+import com.share2go.search.RideScheduleEntry;
+
+import jakarta.persistence.LockModeType;
+
+public interface RideScheduleRepository extends JpaRepository<RideSchedule, Long> {
+
+	@EntityGraph(attributePaths = "driver")
+	List<RideSchedule> findByDriverIdOrderById(Long driverId);
+
+	@EntityGraph(attributePaths = "driver")
+	List<RideSchedule> findByIdIn(Collection<Long> ids);
+
+	/**
+	 * Serializes the creation of rides for the schedule's occurrences.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM RideSchedule s JOIN FETCH s.driver WHERE s.id = :id")
+	Optional<RideSchedule> findByIdForUpdate(@Param("id") Long id);
+
+	@Query("SELECT new com.share2go.search.RideScheduleEntry(s.id, s.origin, s.destination, s.daysOfWeek, "
+			+ "s.departureTime, s.startDate, s.endDate, s.availableSeats, s.pricePerSeat) "
+			+ "FROM RideSchedule s WHERE s.id > :afterId ORDER BY s.id")
+	List<RideScheduleEntry> findScheduleEntries(@Param("afterId") Long afterId, Limit limit);
+}
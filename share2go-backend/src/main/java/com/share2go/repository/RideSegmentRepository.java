@@ -0,0 +1,35 @@
+package com.share2go.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.share2go.model.RideSegment;
+
+public interface RideSegmentRepository extends JpaRepository<RideSegment, Long> {
+
+	List<RideSegment> findByRideIdIn(Collection<Long> rideIds);
+
+	@Query("SELECT COUNT(s) FROM RideSegment s WHERE s.ride.id = :rideId AND s.position >= :fromStop "
+			+ "AND s.position < :toStop AND s.availableSeats < :seats")
+	long countShortSegments(@Param("rideId") Long rideId, @Param("fromStop") int fromStop,
+			@Param("toStop") int toStop, @Param("seats") int seats);
+
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE RideSegment s SET s.availableSeats = s.availableSeats + :seats WHERE s.ride.id = :rideId "
+			+ "AND s.position >= :fromStop AND s.position < :toStop")
+	int addSeats(@Param("rideId") Long rideId, @Param("fromStop") int fromStop, @Param("toStop") int toStop,
+			@Param("seats") int seats);
+
+	@Modifying(flushAutomatically = true)
+	@Query("DELETE FROM RideSegment s WHERE s.ride.id = :rideId")
+	int deleteByRideId(@Param("rideId") Long rideId);
+
+	@Modifying(flushAutomatically = true)
+	@Query("DELETE FROM RideSegment s WHERE s.ride.id IN :rideIds")
+	int deleteByRideIdIn(@Param("rideIds") Collection<Long> rideIds);
+}
@@ -0,0 +1,4 @@
+package com.share2go.repository;
+
+public record RideWaypoint(Long rideId, int position, String name) {
+}
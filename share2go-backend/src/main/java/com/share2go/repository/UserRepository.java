@@ -1,14 +1,25 @@
 package com.share2go.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.share2go.model.User;
 
-
 public interface UserRepository extends JpaRepository<User, Long> {
 
 	Optional<User> findByEmail(String email);
 
+	List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+	@Modifying
+	@Query("UPDATE User u SET u.role = com.share2go.model.User.Role.Admin WHERE u.email IN :emails")
+	int promoteToAdmin(@Param("emails") Collection<String> emails);
+
 }
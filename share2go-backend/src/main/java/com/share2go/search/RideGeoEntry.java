@@ -0,0 +1,7 @@
+package com.share2go.search;
+
+import java.time.LocalDateTime;
+
+public record RideGeoEntry(Long id, Double originLat, Double originLng, Double destinationLat, Double destinationLng,
+		LocalDateTime departureTime) {
+}
@@ -0,0 +1,276 @@
+package com.share2go.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.share2go.model.Ride;
+import com.share2go.repository.RideRepository;
+
+/**
+ * In-memory grid of ride pickup and drop-off coordinates.
+ *
+ * Each ride is bucketed into a fixed-size lat/lng cell for its origin and its
+ * destination. A proximity query only visits the cells overlapping the search
+ * radius on the side with fewer candidates and checks the great-circle distance
+ * of both endpoints, so its cost depends on local density rather than on the
+ * total number of rides.
+ *
+ * Coordinates must lie within latitude [-90, 90] and longitude [-180, 180].
+ * A search circle that crosses the antimeridian also visits the cells on the
+ * other side of it.
+ */
+@Component
+public class RideGeoIndex implements SmartInitializingSingleton {
+
+	public static final double MAX_RADIUS_KM = 200;
+	private static final double EARTH_RADIUS_KM = 6371.0088;
+	private static final double KM_PER_DEGREE = 111.32;
+	private static final int LOAD_BATCH_SIZE = 1000;
+
+	private final RideRepository rideRepository;
+	private final double cellSize;
+
+	private final Map<Long, GeoRide> rides = new ConcurrentHashMap<>();
+	private final Map<Long, Set<Long>> originCells = new ConcurrentHashMap<>();
+	private final Map<Long, Set<Long>> destinationCells = new ConcurrentHashMap<>();
+
+	public RideGeoIndex(RideRepository rideRepository,
+			@Value("${share2go.geo.cell-size-degrees:0.05}") double cellSize) {
+		if (!(cellSize >= 0.001 && cellSize <= 90)) {
+			throw new IllegalArgumentException("Cell size must be between 0.001 and 90 degrees");
+		}
+		this.rideRepository = rideRepository;
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Rejects a latitude or longitude that is not finite or lies outside
+	 * [-90, 90] and [-180, 180]. Missing values pass, a ride without them is
+	 * simply not indexed.
+	 */
+	public static void checkCoordinates(Double lat, Double lng) {
+		if (lat != null && !(lat >= -90 && lat <= 90) || lng != null && !(lng >= -180 && lng <= 180)) {
+			throw new IllegalArgumentException(
+					"Latitude must be between -90 and 90 and longitude between -180 and 180");
+		}
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		Long afterId = 0L;
+		List<RideGeoEntry> batch;
+		do {
+			batch = rideRepository.findGeoEntries(afterId, Limit.of(LOAD_BATCH_SIZE));
+			for (RideGeoEntry entry : batch) {
+				index(entry);
+				afterId = entry.id();
+			}
+		} while (batch.size() == LOAD_BATCH_SIZE);
+	}
+
+	public void index(Ride ride) {
+		index(new RideGeoEntry(ride.getId(), ride.getOriginLat(), ride.getOriginLng(), ride.getDestinationLat(),
+				ride.getDestinationLng(), ride.getDepartureTime()));
+	}
+
+	public void index(RideGeoEntry entry) {
+		if (entry.originLat() == null || entry.originLng() == null || entry.destinationLat() == null
+				|| entry.destinationLng() == null || entry.departureTime() == null
+				|| !onEarth(entry.originLat(), entry.originLng())
+				|| !onEarth(entry.destinationLat(), entry.destinationLng())) {
+			remove(entry.id());
+			return;
+		}
+		GeoRide next = new GeoRide(entry.id(), entry.originLat(), entry.originLng(), entry.destinationLat(),
+				entry.destinationLng(), entry.departureTime());
+		rides.compute(entry.id(), (id, previous) -> {
+			if (previous != null) {
+				unlink(previous);
+			}
+			link(next);
+			return next;
+		});
+	}
+
+	public void remove(Long rideId) {
+		rides.computeIfPresent(rideId, (id, previous) -> {
+			unlink(previous);
+			return null;
+		});
+	}
+
+	public int size() {
+		return rides.size();
+	}
+
+	/**
+	 * Returns the ids of rides departing at or after the given time whose pickup
+	 * and drop-off both lie within radiusKm of the requested points, closest
+	 * first.
+	 */
+	public List<Long> nearby(double originLat, double originLng, double destinationLat, double destinationLng,
+			double radiusKm, LocalDateTime departureTime) {
+		if (!onEarth(originLat, originLng) || !onEarth(destinationLat, destinationLng) || !(radiusKm >= 0)) {
+			return List.of();
+		}
+		List<Set<Long>> byOrigin = cellsAround(originCells, originLat, originLng, radiusKm);
+		List<Set<Long>> byDestination = cellsAround(destinationCells, destinationLat, destinationLng, radiusKm);
+		List<Set<Long>> buckets = totalSize(byOrigin) <= totalSize(byDestination) ? byOrigin : byDestination;
+
+		List<Match> matches = new ArrayList<>();
+		for (Set<Long> bucket : buckets) {
+			for (Long id : bucket) {
+				GeoRide ride = rides.get(id);
+				if (ride == null || ride.departureTime().isBefore(departureTime)) {
+					continue;
+				}
+				double pickup = distanceKm(originLat, originLng, ride.originLat(), ride.originLng());
+				if (pickup > radiusKm) {
+					continue;
+				}
+				double dropOff = distanceKm(destinationLat, destinationLng, ride.destinationLat(),
+						ride.destinationLng());
+				if (dropOff <= radiusKm) {
+					matches.add(new Match(id, pickup + dropOff));
+				}
+			}
+		}
+		matches.sort(Comparator.comparingDouble(Match::distanceKm).thenComparing(Match::id));
+		return matches.stream().map(Match::id).toList();
+	}
+
+	private List<Set<Long>> cellsAround(Map<Long, Set<Long>> cells, double lat, double lng, double radiusKm) {
+		double latSpan = radiusKm / KM_PER_DEGREE;
+		double south = lat - latSpan;
+		double north = lat + latSpan;
+		// Measured at the edge nearest a pole, where a degree of longitude is shortest
+		double lngSpan = radiusKm
+				/ (KM_PER_DEGREE * Math.cos(Math.toRadians(Math.max(Math.abs(south), Math.abs(north)))));
+		int minLat = cellOf(Math.max(south, -90));
+		int maxLat = cellOf(Math.min(north, 90));
+		List<CellRange> lngRanges = new ArrayList<>(2);
+		if (south <= -90 || north >= 90 || !(lngSpan < 180)) {
+			// A circle over a pole covers every longitude
+			lngRanges.add(new CellRange(cellOf(-180), cellOf(180)));
+		} else {
+			lngRanges.add(new CellRange(cellOf(Math.max(lng - lngSpan, -180)), cellOf(Math.min(lng + lngSpan, 180))));
+			// The circle wraps past the antimeridian onto the far edge of the grid
+			if (lng - lngSpan < -180) {
+				lngRanges.add(new CellRange(cellOf(lng - lngSpan + 360), cellOf(180)));
+			}
+			if (lng + lngSpan > 180) {
+				lngRanges.add(new CellRange(cellOf(-180), cellOf(lng + lngSpan - 360)));
+			}
+		}
+
+		long area = 0;
+		for (CellRange range : lngRanges) {
+			area += (long) (maxLat - minLat + 1) * (range.to() - range.from() + 1);
+		}
+		List<Set<Long>> buckets = new ArrayList<>();
+		if (area > cells.size()) {
+			// Wide circles near a pole span more cells than are occupied, so scan those instead
+			cells.forEach((key, bucket) -> {
+				int latCell = (int) (key >> 32);
+				int lngCell = (int) (long) key;
+				if (latCell >= minLat && latCell <= maxLat
+						&& lngRanges.stream().anyMatch(range -> range.contains(lngCell))) {
+					buckets.add(bucket);
+				}
+			});
+			return buckets;
+		}
+		for (CellRange range : lngRanges) {
+			for (int latCell = minLat; latCell <= maxLat; latCell++) {
+				for (int lngCell = range.from(); lngCell <= range.to(); lngCell++) {
+					Set<Long> bucket = cells.get(key(latCell, lngCell));
+					if (bucket != null) {
+						buckets.add(bucket);
+					}
+				}
+			}
+		}
+		return buckets;
+	}
+
+	private void link(GeoRide ride) {
+		addToCell(originCells, cellKey(ride.originLat(), ride.originLng()), ride.id());
+		addToCell(destinationCells, cellKey(ride.destinationLat(), ride.destinationLng()), ride.id());
+	}
+
+	private void unlink(GeoRide ride) {
+		removeFromCell(originCells, cellKey(ride.originLat(), ride.originLng()), ride.id());
+		removeFromCell(destinationCells, cellKey(ride.destinationLat(), ride.destinationLng()), ride.id());
+	}
+
+	private static void addToCell(Map<Long, Set<Long>> cells, long cell, Long id) {
+		cells.compute(cell, (key, ids) -> {
+			Set<Long> bucket = ids != null ? ids : ConcurrentHashMap.newKeySet();
+			bucket.add(id);
+			return bucket;
+		});
+	}
+
+	private static void removeFromCell(Map<Long, Set<Long>> cells, long cell, Long id) {
+		cells.computeIfPresent(cell, (key, ids) -> {
+			ids.remove(id);
+			return ids.isEmpty() ? null : ids;
+		});
+	}
+
+	private long cellKey(double lat, double lng) {
+		return key(cellOf(lat), cellOf(lng));
+	}
+
+	private int cellOf(double degrees) {
+		return (int) Math.floor(degrees / cellSize);
+	}
+
+	private static boolean onEarth(double lat, double lng) {
+		return lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180;
+	}
+
+	private static long key(int latCell, int lngCell) {
+		return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+	}
+
+	private static int totalSize(List<Set<Long>> buckets) {
+		int size = 0;
+		for (Set<Long> bucket : buckets) {
+			size += bucket.size();
+		}
+		return size;
+	}
+
+	static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLng = Math.toRadians(lng2 - lng1);
+		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
+				* Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	private record GeoRide(Long id, double originLat, double originLng, double destinationLat,
+			double destinationLng, LocalDateTime departureTime) {
+	}
+
+	private record Match(Long id, double distanceKm) {
+	}
+
+	private record CellRange(int from, int to) {
+
+		boolean contains(int cell) {
+			return cell >= from && cell <= to;
+		}
+	}
+}
@@ -0,0 +1,6 @@
+package com.share2go.search;
+
+import java.time.LocalDateTime;
+
+public record RideRankEntry(Long id, LocalDateTime departureTime, double pricePerSeat, int availableSeats) {
+}
@@ -0,0 +1,133 @@
+package com.share2go.search;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the best K rides of a search by the requested sort.
+ *
+ * Candidates are kept in a heap of at most K entries with the worst on top, so
+ * a search costs O(n log K) and never sorts the full list. The relevance score
+ * adds up three parts between 0 and 1: how soon after the requested time the
+ * ride leaves, how cheap it is compared to the other candidates, and how many
+ * seats it has left, capped at SEATS_CAP. Ties go to the earlier departure and
+ * then the lower id, so repeated searches return the same order.
+ */
+@Component
+public class RideRanker {
+
+	public static final int DEFAULT_LIMIT = 20;
+	public static final int MAX_LIMIT = 200;
+
+	private static final int SEATS_CAP = 4;
+
+	private final double departureWeight;
+	private final double priceWeight;
+	private final double seatsWeight;
+	private final Duration departureHalfScore;
+
+	public RideRanker(@Value("${share2go.search.rank.departure-weight:0.5}") double departureWeight,
+			@Value("${share2go.search.rank.price-weight:0.3}") double priceWeight,
+			@Value("${share2go.search.rank.seats-weight:0.2}") double seatsWeight,
+			@Value("${share2go.search.rank.departure-half-score:PT6H}") Duration departureHalfScore) {
+		this.departureWeight = departureWeight;
+		this.priceWeight = priceWeight;
+		this.seatsWeight = seatsWeight;
+		this.departureHalfScore = departureHalfScore;
+	}
+
+	public static int clampLimit(Integer limit) {
+		if (limit == null || limit <= 0) {
+			return DEFAULT_LIMIT;
+		}
+		return Math.min(limit, MAX_LIMIT);
+	}
+
+	/**
+	 * Returns the ids of the best rides among the candidates, best first.
+	 */
+	public List<Long> top(List<RideRankEntry> candidates, RideSort sort, LocalDateTime from, int limit) {
+		return top(candidates, Function.identity(), sort, from, limit).stream().map(RideRankEntry::id).toList();
+	}
+
+	/**
+	 * Returns the best candidates, best first, ranked on the entry each one
+	 * maps to. Entries without an id, such as schedule occurrences, lose ties.
+	 */
+	public <T> List<T> top(List<T> candidates, Function<? super T, RideRankEntry> entries, RideSort sort,
+			LocalDateTime from, int limit) {
+		if (limit <= 0 || candidates.isEmpty()) {
+			return List.of();
+		}
+		Comparator<Scored<T>> better = order(sort);
+		Scorer scorer = new Scorer(candidates.stream().map(entries).toList(), from);
+		PriorityQueue<Scored<T>> worstFirst = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1,
+				better.reversed());
+		for (T candidate : candidates) {
+			RideRankEntry entry = entries.apply(candidate);
+			Scored<T> scored = new Scored<>(candidate, entry, sort == RideSort.RELEVANCE ? scorer.score(entry) : 0);
+			if (worstFirst.size() < limit) {
+				worstFirst.add(scored);
+			} else if (better.compare(scored, worstFirst.peek()) < 0) {
+				worstFirst.poll();
+				worstFirst.add(scored);
+			}
+		}
+		List<T> best = new ArrayList<>(worstFirst.size());
+		while (!worstFirst.isEmpty()) {
+			best.add(worstFirst.poll().candidate());
+		}
+		Collections.reverse(best);
+		return best;
+	}
+
+	private static <T> Comparator<Scored<T>> order(RideSort sort) {
+		Comparator<Scored<T>> primary = switch (sort) {
+		case RELEVANCE -> Comparator.<Scored<T>>comparingDouble(Scored::score).reversed();
+		case DEPARTURE -> Comparator.comparing(scored -> scored.entry().departureTime());
+		case PRICE -> Comparator.comparingDouble(scored -> scored.entry().pricePerSeat());
+		case SEATS -> Comparator.<Scored<T>>comparingInt(scored -> scored.entry().availableSeats()).reversed();
+		};
+		return primary.thenComparing(scored -> scored.entry().departureTime())
+				.thenComparing(scored -> scored.entry().id(), Comparator.nullsLast(Comparator.naturalOrder()));
+	}
+
+	private record Scored<T>(T candidate, RideRankEntry entry, double score) {
+	}
+
+	private class Scorer {
+
+		private final LocalDateTime from;
+		private final double minPrice;
+		private final double priceRange;
+
+		Scorer(List<RideRankEntry> candidates, LocalDateTime from) {
+			this.from = from;
+			double min = Double.MAX_VALUE;
+			double max = 0;
+			for (RideRankEntry entry : candidates) {
+				min = Math.min(min, entry.pricePerSeat());
+				max = Math.max(max, entry.pricePerSeat());
+			}
+			this.minPrice = min;
+			this.priceRange = max - min;
+		}
+
+		double score(RideRankEntry entry) {
+			double wait = Math.max(0, Duration.between(from, entry.departureTime()).toSeconds());
+			double departure = 1 / (1 + wait / departureHalfScore.toSeconds());
+			double price = priceRange > 0 ? 1 - (entry.pricePerSeat() - minPrice) / priceRange : 1;
+			double seats = (double) Math.min(Math.max(entry.availableSeats(), 0), SEATS_CAP) / SEATS_CAP;
+			return departureWeight * departure + priceWeight * price + seatsWeight * seats;
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package com.share2go.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.share2go.model.Ride;
+import com.share2go.repository.RideRepository;
+import com.share2go.repository.RideWaypoint;
+
+/**
+ * In-memory index from normalized stop names to the rides that stop there.
+ *
+ * A ride's stops are its origin, its waypoints in order and its destination.
+ * A query looks up the rides at the boarding stop and at the alighting stop,
+ * walks the shorter of the two lists and keeps rides that reach the alighting
+ * stop after the boarding one, so it never tests rides that miss either stop.
+ * The index is loaded once at startup and kept current by RideServiceImpl on
+ * create, update and delete.
+ */
+@Component
+public class RideRouteIndex implements SmartInitializingSingleton {
+
+	private static final int LOAD_BATCH_SIZE = 1000;
+
+	private final RideRepository rideRepository;
+
+	private final Map<Long, IndexedRoute> routes = new ConcurrentHashMap<>();
+	private final Map<String, Set<Long>> stops = new ConcurrentHashMap<>();
+
+	public RideRouteIndex(RideRepository rideRepository) {
+		this.rideRepository = rideRepository;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		Long afterId = 0L;
+		List<RideSearchEntry> batch;
+		do {
+			batch = rideRepository.findSearchEntries(afterId, Limit.of(LOAD_BATCH_SIZE));
+			if (batch.isEmpty()) {
+				break;
+			}
+			Map<Long, List<String>> waypoints = new HashMap<>();
+			for (RideWaypoint waypoint : rideRepository
+					.findWaypoints(batch.stream().map(RideSearchEntry::id).toList())) {
+				waypoints.computeIfAbsent(waypoint.rideId(), id -> new ArrayList<>()).add(waypoint.name());
+			}
+			for (RideSearchEntry entry : batch) {
+				index(entry.id(), entry.origin(), waypoints.getOrDefault(entry.id(), List.of()), entry.destination(),
+						entry.departureTime());
+				afterId = entry.id();
+			}
+		} while (batch.size() == LOAD_BATCH_SIZE);
+	}
+
+	public void index(Ride ride) {
+		index(ride.getId(), ride.getOrigin(), ride.getWaypoints(), ride.getDestination(), ride.getDepartureTime());
+	}
+
+	public void index(Long rideId, String origin, List<String> waypoints, String destination,
+			LocalDateTime departureTime) {
+		List<String> names = new ArrayList<>(waypoints.size() + 2);
+		names.add(RideSearchIndex.normalize(origin));
+		waypoints.forEach(waypoint -> names.add(RideSearchIndex.normalize(waypoint)));
+		names.add(RideSearchIndex.normalize(destination));
+		IndexedRoute next = new IndexedRoute(rideId, List.copyOf(names), departureTime);
+		routes.compute(rideId, (id, previous) -> {
+			if (previous != null) {
+				unlink(previous);
+			}
+			link(next);
+			return next;
+		});
+	}
+
+	public void remove(Long rideId) {
+		routes.computeIfPresent(rideId, (id, previous) -> {
+			unlink(previous);
+			return null;
+		});
+	}
+
+	/**
+	 * Returns the rides, by departure time, that depart at or after the given
+	 * time and stop at both places in that order. Stop names are matched whole,
+	 * ignoring case and extra spaces.
+	 */
+	public List<RouteMatch> match(String from, String to, LocalDateTime departureTime) {
+		String board = RideSearchIndex.normalize(from);
+		String alight = RideSearchIndex.normalize(to);
+		Set<Long> boarding = stops.get(board);
+		Set<Long> alighting = stops.get(alight);
+		if (board.isEmpty() || alight.isEmpty() || boarding == null || alighting == null) {
+			return List.of();
+		}
+
+		List<IndexedRoute> candidates = new ArrayList<>();
+		for (Long id : boarding.size() <= alighting.size() ? boarding : alighting) {
+			IndexedRoute route = routes.get(id);
+			if (route != null && route.departureTime() != null && !route.departureTime().isBefore(departureTime)) {
+				candidates.add(route);
+			}
+		}
+		candidates.sort(Comparator.comparing(IndexedRoute::departureTime).thenComparing(IndexedRoute::id));
+
+		List<RouteMatch> matches = new ArrayList<>();
+		for (IndexedRoute route : candidates) {
+			int boardStop = route.stops().indexOf(board);
+			int alightStop = route.stops().lastIndexOf(alight);
+			if (boardStop >= 0 && alightStop > boardStop) {
+				matches.add(new RouteMatch(route.id(), boardStop, alightStop));
+			}
+		}
+		return matches;
+	}
+
+	private void link(IndexedRoute route) {
+		for (String stop : route.stops()) {
+			stops.compute(stop, (key, ids) -> {
+				Set<Long> posting = ids != null ? ids : ConcurrentHashMap.newKeySet();
+				posting.add(route.id());
+				return posting;
+			});
+		}
+	}
+
+	private void unlink(IndexedRoute route) {
+		for (String stop : route.stops()) {
+			stops.computeIfPresent(stop, (key, ids) -> {
+				ids.remove(route.id());
+				return ids.isEmpty() ? null : ids;
+			});
+		}
+	}
+
+	private record IndexedRoute(Long id, List<String> stops, LocalDateTime departureTime) {
+	}
+}
@@ -0,0 +1,8 @@
+package com.share2go.search;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record RideScheduleEntry(Long id, String origin, String destination, int daysOfWeek, LocalTime departureTime,
+		LocalDate startDate, LocalDate endDate, int availableSeats, double pricePerSeat) {
+}
@@ -0,0 +1,180 @@
+package com.share2go.search;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.share2go.model.Recurrence;
+import com.share2go.model.RideSchedule;
+import com.share2go.repository.RideRepository;
+import com.share2go.repository.RideScheduleRepository;
+
+/**
+ * In-memory index of ride schedules by weekday and departure time.
+ *
+ * A query walks the days of its window and, for each one, only the schedules
+ * running on that weekday within the window's hours, so it never expands a
+ * schedule into occurrences outside the window. Occurrences that already have
+ * a ride are left out, since that ride is found by the ride indexes. The index
+ * is loaded once at startup and kept current by RideScheduleServiceImpl and
+ * RideServiceImpl.
+ */
+@Component
+public class RideScheduleIndex implements SmartInitializingSingleton {
+
+	private static final int LOAD_BATCH_SIZE = 1000;
+
+	private final RideScheduleRepository scheduleRepository;
+	private final RideRepository rideRepository;
+
+	private final Map<Long, IndexedSchedule> schedules = new ConcurrentHashMap<>();
+	private final Map<DayOfWeek, ConcurrentSkipListMap<LocalTime, Set<Long>>> byDay = new EnumMap<>(DayOfWeek.class);
+
+	public RideScheduleIndex(RideScheduleRepository scheduleRepository, RideRepository rideRepository) {
+		this.scheduleRepository = scheduleRepository;
+		this.rideRepository = rideRepository;
+		for (DayOfWeek day : DayOfWeek.values()) {
+			byDay.put(day, new ConcurrentSkipListMap<>());
+		}
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		Long afterId = 0L;
+		List<RideScheduleEntry> batch;
+		do {
+			batch = scheduleRepository.findScheduleEntries(afterId, Limit.of(LOAD_BATCH_SIZE));
+			for (RideScheduleEntry entry : batch) {
+				index(entry);
+				afterId = entry.id();
+			}
+		} while (batch.size() == LOAD_BATCH_SIZE);
+		for (ScheduledDeparture departure : rideRepository.findScheduledDepartures(LocalDate.now().atStartOfDay())) {
+			materialized(departure.scheduleId(), departure.departureTime());
+		}
+	}
+
+	public void index(RideSchedule schedule) {
+		index(new RideScheduleEntry(schedule.getId(), schedule.getOrigin(), schedule.getDestination(),
+				schedule.getDaysOfWeek(), schedule.getDepartureTime(), schedule.getStartDate(), schedule.getEndDate(),
+				schedule.getAvailableSeats(), schedule.getPricePerSeat()));
+	}
+
+	public void index(RideScheduleEntry entry) {
+		IndexedSchedule next = new IndexedSchedule(entry, RideSearchIndex.normalize(entry.origin()),
+				RideSearchIndex.normalize(entry.destination()), ConcurrentHashMap.newKeySet());
+		schedules.compute(entry.id(), (id, previous) -> {
+			if (previous != null) {
+				unlink(previous);
+				next.materialized().addAll(previous.materialized());
+			}
+			link(next);
+			return next;
+		});
+	}
+
+	public void remove(Long scheduleId) {
+		schedules.computeIfPresent(scheduleId, (id, previous) -> {
+			unlink(previous);
+			return null;
+		});
+	}
+
+	public void materialized(Long scheduleId, LocalDateTime departureTime) {
+		IndexedSchedule schedule = schedules.get(scheduleId);
+		if (schedule != null) {
+			schedule.materialized().add(departureTime);
+		}
+	}
+
+	public void dematerialized(Long scheduleId, LocalDateTime departureTime) {
+		IndexedSchedule schedule = schedules.get(scheduleId);
+		if (schedule != null) {
+			schedule.materialized().remove(departureTime);
+		}
+	}
+
+	/**
+	 * Returns the occurrences without a ride of schedules whose origin and
+	 * destination contain the given fragments (case-insensitive), departing
+	 * between the two times inclusive, ordered by departure time.
+	 */
+	public List<ScheduleOccurrence> occurrences(String origin, String destination, LocalDateTime from,
+			LocalDateTime until) {
+		String o = RideSearchIndex.normalize(origin);
+		String d = RideSearchIndex.normalize(destination);
+		Map<Long, Boolean> routeMatches = new HashMap<>();
+		List<ScheduleOccurrence> occurrences = new ArrayList<>();
+		for (LocalDate date = from.toLocalDate(); !date.isAfter(until.toLocalDate()); date = date.plusDays(1)) {
+			LocalTime earliest = date.equals(from.toLocalDate()) ? from.toLocalTime() : LocalTime.MIN;
+			LocalTime latest = date.equals(until.toLocalDate()) ? until.toLocalTime() : LocalTime.MAX;
+			if (earliest.isAfter(latest)) {
+				continue;
+			}
+			for (Set<Long> ids : byDay.get(date.getDayOfWeek()).subMap(earliest, true, latest, true).values()) {
+				for (Long id : ids) {
+					IndexedSchedule schedule = schedules.get(id);
+					if (schedule == null || !schedule.runsOn(date)
+							|| !routeMatches.computeIfAbsent(id, key -> schedule.matches(o, d))) {
+						continue;
+					}
+					LocalDateTime departure = date.atTime(schedule.entry().departureTime());
+					if (!schedule.materialized().contains(departure)) {
+						occurrences.add(new ScheduleOccurrence(id, departure, schedule.entry().availableSeats(),
+								schedule.entry().pricePerSeat()));
+					}
+				}
+			}
+		}
+		occurrences.sort(Comparator.comparing(ScheduleOccurrence::departureTime)
+				.thenComparing(ScheduleOccurrence::scheduleId));
+		return occurrences;
+	}
+
+	private void link(IndexedSchedule schedule) {
+		for (DayOfWeek day : DayOfWeek.values()) {
+			if ((schedule.entry().daysOfWeek() & Recurrence.bit(day)) != 0) {
+				byDay.get(day).compute(schedule.entry().departureTime(), (time, ids) -> {
+					Set<Long> bucket = ids != null ? ids : ConcurrentHashMap.newKeySet();
+					bucket.add(schedule.entry().id());
+					return bucket;
+				});
+			}
+		}
+	}
+
+	private void unlink(IndexedSchedule schedule) {
+		for (DayOfWeek day : DayOfWeek.values()) {
+			byDay.get(day).computeIfPresent(schedule.entry().departureTime(), (time, ids) -> {
+				ids.remove(schedule.entry().id());
+				return ids.isEmpty() ? null : ids;
+			});
+		}
+	}
+
+	private record IndexedSchedule(RideScheduleEntry entry, String origin, String destination,
+			Set<LocalDateTime> materialized) {
+
+		boolean runsOn(LocalDate date) {
+			return !date.isBefore(entry.startDate()) && (entry.endDate() == null || !date.isAfter(entry.endDate()));
+		}
+
+		boolean matches(String originFragment, String destinationFragment) {
+			return origin.contains(originFragment) && destination.contains(destinationFragment);
+		}
+	}
+}
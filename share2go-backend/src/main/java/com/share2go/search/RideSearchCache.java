@@ -0,0 +1,104 @@
+package com.share2go.search;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caches text search results by normalized origin, normalized destination and
+ * departure-time bucket.
+ *
+ * An entry holds the ids and departure times of every match leaving at or
+ * after the start of its bucket, and a search trims that to its own start
+ * time, so all searches within a bucket share one entry. Rides are loaded
+ * fresh for every search, which keeps seat counts current. RideServiceImpl
+ * invalidates the entries a ride matches, before and after a change, once the
+ * search index has it. Results are computed outside the cache, and a search
+ * that raced an invalidation drops its result instead of caching it.
+ */
+@Component
+public class RideSearchCache {
+
+	public static final String NAME = "rideSearch";
+
+	private final RideSearchIndex rideSearchIndex;
+	private final Cache<Key, List<Hit>> results;
+	private final AtomicLong generation = new AtomicLong();
+	private final long bucketSeconds;
+	private final Counter invalidations;
+
+	public RideSearchCache(RideSearchIndex rideSearchIndex, MeterRegistry meterRegistry,
+			@Value("${share2go.search.cache.size:5000}") long maximumSize,
+			@Value("${share2go.search.cache.ttl:PT10M}") Duration ttl,
+			@Value("${share2go.search.cache.bucket:PT1H}") Duration bucket) {
+		this.rideSearchIndex = rideSearchIndex;
+		this.results = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+		this.bucketSeconds = bucket.toSeconds();
+		this.invalidations = meterRegistry.counter("share2go.rides.search.cache.invalidations");
+		CaffeineCacheMetrics.monitor(meterRegistry, results, NAME, "cache.manager", NAME, "name", NAME);
+	}
+
+	/**
+	 * Returns the same ids as RideSearchIndex.search, in ascending order.
+	 */
+	public List<Long> search(String origin, String destination, LocalDateTime departureTime) {
+		Key key = new Key(RideSearchIndex.normalize(origin), RideSearchIndex.normalize(destination),
+				bucketStart(departureTime));
+		List<Hit> hits = results.getIfPresent(key);
+		if (hits == null) {
+			long loadedAt = generation.get();
+			hits = rideSearchIndex.searchEntries(key.origin(), key.destination(), key.from()).stream()
+					.map(entry -> new Hit(entry.id(), entry.departureTime())).toList();
+			results.put(key, hits);
+			// An invalidation that started after the put removes the entry itself
+			if (generation.get() != loadedAt) {
+				results.asMap().remove(key, hits);
+			}
+		}
+		return hits.stream().filter(hit -> !hit.departureTime().isBefore(departureTime)).map(Hit::id).toList();
+	}
+
+	/**
+	 * Drops every entry the ride appears in, or would appear in, with the given
+	 * route and departure time.
+	 */
+	public void invalidate(RideSearchEntry ride) {
+		if (ride.departureTime() == null) {
+			return;
+		}
+		String origin = RideSearchIndex.normalize(ride.origin());
+		String destination = RideSearchIndex.normalize(ride.destination());
+		generation.incrementAndGet();
+		results.asMap().keySet().removeIf(key -> {
+			boolean matches = !ride.departureTime().isBefore(key.from()) && origin.contains(key.origin())
+					&& destination.contains(key.destination());
+			if (matches) {
+				invalidations.increment();
+			}
+			return matches;
+		});
+	}
+
+	private LocalDateTime bucketStart(LocalDateTime time) {
+		long seconds = time.toEpochSecond(ZoneOffset.UTC);
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(seconds, bucketSeconds) * bucketSeconds, 0, ZoneOffset.UTC);
+	}
+
+	private record Key(String origin, String destination, LocalDateTime from) {
+	}
+
+	private record Hit(Long id, LocalDateTime departureTime) {
+	}
+}
@@ -0,0 +1,6 @@
+package com.share2go.search;
+
+import java.time.LocalDateTime;
+
+public record RideSearchEntry(Long id, String origin, String destination, LocalDateTime departureTime) {
+}
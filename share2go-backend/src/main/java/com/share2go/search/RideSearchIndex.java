@@ -0,0 +1,226 @@
+package com.share2go.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.share2go.model.Ride;
+import com.share2go.repository.RideRepository;
+
+/**
+ * In-memory trigram index over normalized ride origins and destinations.
+ *
+ * Substring queries are answered by walking the smallest posting list among
+ * the query's trigrams and verifying each candidate, so a search never scans
+ * the rides table. The index is loaded once at startup and kept current by
+ * RideServiceImpl on create, update and delete.
+ */
+@Component
+public class RideSearchIndex implements SmartInitializingSingleton {
+
+	static final int GRAM_LENGTH = 3;
+	private static final int LOAD_BATCH_SIZE = 1000;
+
+	private final RideRepository rideRepository;
+
+	private final Map<Long, IndexedRide> rides = new ConcurrentHashMap<>();
+	private final Map<String, Set<Long>> originGrams = new ConcurrentHashMap<>();
+	private final Map<String, Set<Long>> destinationGrams = new ConcurrentHashMap<>();
+	private final ConcurrentSkipListMap<LocalDateTime, Set<Long>> byDeparture = new ConcurrentSkipListMap<>();
+
+	public RideSearchIndex(RideRepository rideRepository) {
+		this.rideRepository = rideRepository;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		Long afterId = 0L;
+		List<RideSearchEntry> batch;
+		do {
+			batch = rideRepository.findSearchEntries(afterId, Limit.of(LOAD_BATCH_SIZE));
+			for (RideSearchEntry entry : batch) {
+				index(entry);
+				afterId = entry.id();
+			}
+		} while (batch.size() == LOAD_BATCH_SIZE);
+	}
+
+	public static boolean hasTextCriteria(String origin, String destination) {
+		return !normalize(origin).isEmpty() || !normalize(destination).isEmpty();
+	}
+
+	public void index(Ride ride) {
+		index(new RideSearchEntry(ride.getId(), ride.getOrigin(), ride.getDestination(), ride.getDepartureTime()));
+	}
+
+	public void index(RideSearchEntry entry) {
+		IndexedRide next = new IndexedRide(entry.id(), normalize(entry.origin()), normalize(entry.destination()),
+				entry.departureTime());
+		rides.compute(entry.id(), (id, previous) -> {
+			if (previous != null) {
+				unlink(previous);
+			}
+			link(next);
+			return next;
+		});
+	}
+
+	public void remove(Long rideId) {
+		rides.computeIfPresent(rideId, (id, previous) -> {
+			unlink(previous);
+			return null;
+		});
+	}
+
+	public int size() {
+		return rides.size();
+	}
+
+	/**
+	 * Returns the ids, in ascending order, of rides whose origin and destination
+	 * contain the given fragments (case-insensitive) and which depart at or after
+	 * the given time.
+	 */
+	public List<Long> search(String origin, String destination, LocalDateTime departureTime) {
+		return searchEntries(origin, destination, departureTime).stream().map(RideSearchEntry::id).toList();
+	}
+
+	/**
+	 * Same as search, but with each ride's normalized origin and destination and
+	 * its departure time.
+	 */
+	public List<RideSearchEntry> searchEntries(String origin, String destination, LocalDateTime departureTime) {
+		String o = normalize(origin);
+		String d = normalize(destination);
+
+		Collection<Long> candidates = smallestPosting(o, d);
+		if (candidates == null) {
+			candidates = departingFrom(departureTime);
+		}
+
+		List<RideSearchEntry> entries = new ArrayList<>();
+		for (Long id : candidates) {
+			IndexedRide ride = rides.get(id);
+			if (ride != null && ride.matches(o, d, departureTime)) {
+				entries.add(new RideSearchEntry(id, ride.origin(), ride.destination(), ride.departureTime()));
+			}
+		}
+		entries.sort(Comparator.comparing(RideSearchEntry::id));
+		return entries;
+	}
+
+	/**
+	 * Returns the shortest posting list that every match must appear in, an empty
+	 * list when some trigram has no posting at all, or null when neither fragment
+	 * is long enough to be looked up by trigram.
+	 */
+	private Collection<Long> smallestPosting(String origin, String destination) {
+		Collection<Long> smallest = null;
+		for (int field = 0; field < 2; field++) {
+			String fragment = field == 0 ? origin : destination;
+			Map<String, Set<Long>> postings = field == 0 ? originGrams : destinationGrams;
+			for (String gram : grams(fragment)) {
+				Set<Long> posting = postings.get(gram);
+				if (posting == null) {
+					return List.of();
+				}
+				if (smallest == null || posting.size() < smallest.size()) {
+					smallest = posting;
+				}
+			}
+		}
+		return smallest;
+	}
+
+	private Collection<Long> departingFrom(LocalDateTime departureTime) {
+		List<Long> ids = new ArrayList<>();
+		for (Set<Long> bucket : byDeparture.tailMap(departureTime, true).values()) {
+			ids.addAll(bucket);
+		}
+		return ids;
+	}
+
+	private void link(IndexedRide ride) {
+		for (String gram : grams(ride.origin())) {
+			addPosting(originGrams, gram, ride.id());
+		}
+		for (String gram : grams(ride.destination())) {
+			addPosting(destinationGrams, gram, ride.id());
+		}
+		if (ride.departureTime() != null) {
+			byDeparture.compute(ride.departureTime(), (time, ids) -> {
+				Set<Long> bucket = ids != null ? ids : ConcurrentHashMap.newKeySet();
+				bucket.add(ride.id());
+				return bucket;
+			});
+		}
+	}
+
+	private void unlink(IndexedRide ride) {
+		for (String gram : grams(ride.origin())) {
+			removePosting(originGrams, gram, ride.id());
+		}
+		for (String gram : grams(ride.destination())) {
+			removePosting(destinationGrams, gram, ride.id());
+		}
+		if (ride.departureTime() != null) {
+			byDeparture.computeIfPresent(ride.departureTime(), (time, ids) -> {
+				ids.remove(ride.id());
+				return ids.isEmpty() ? null : ids;
+			});
+		}
+	}
+
+	private static void addPosting(Map<String, Set<Long>> postings, String gram, Long id) {
+		postings.compute(gram, (key, ids) -> {
+			Set<Long> posting = ids != null ? ids : ConcurrentHashMap.newKeySet();
+			posting.add(id);
+			return posting;
+		});
+	}
+
+	private static void removePosting(Map<String, Set<Long>> postings, String gram, Long id) {
+		postings.computeIfPresent(gram, (key, ids) -> {
+			ids.remove(id);
+			return ids.isEmpty() ? null : ids;
+		});
+	}
+
+	static String normalize(String value) {
+		if (value == null) {
+			return "";
+		}
+		return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+	}
+
+	static Set<String> grams(String value) {
+		if (value.length() < GRAM_LENGTH) {
+			return Set.of();
+		}
+		Set<String> grams = new LinkedHashSet<>();
+		for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+			grams.add(value.substring(i, i + GRAM_LENGTH));
+		}
+		return grams;
+	}
+
+	private record IndexedRide(Long id, String origin, String destination, LocalDateTime departureTime) {
+
+		boolean matches(String originFragment, String destinationFragment, LocalDateTime from) {
+			return departureTime != null && !departureTime.isBefore(from) && origin.contains(originFragment)
+					&& destination.contains(destinationFragment);
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.share2go.search;
+
+/**
+ * Orders for ranked ride searches. RELEVANCE weighs departure time, price and
+ * seats left together; the others sort on a single field, best first.
+ */
+public enum RideSort {
+	RELEVANCE, DEPARTURE, PRICE, SEATS
+}
@@ -0,0 +1,8 @@
+package com.share2go.search;
+
+/**
+ * A ride whose route passes the passenger's boarding stop and then the
+ * alighting stop, with their indexes on the route.
+ */
+public record RouteMatch(Long rideId, int boardStop, int alightStop) {
+}
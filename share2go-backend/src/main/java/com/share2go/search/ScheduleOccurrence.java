@@ -0,0 +1,11 @@
+package com.share2go.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * A departure of a schedule that has no ride yet, with the seats and price it
+ * would be created with.
+ */
+public record ScheduleOccurrence(Long scheduleId, LocalDateTime departureTime, int availableSeats,
+		double pricePerSeat) {
+}
@@ -0,0 +1,9 @@
+package com.share2go.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * An occurrence of a schedule that already has its own ride.
+ */
+public record ScheduledDeparture(Long scheduleId, LocalDateTime departureTime) {
+}
@@ -3,18 +3,23 @@ package com.share2go.service;
 import java.util.List;
 
 import com.share2go.dto.BookingDTO;
+import com.share2go.dto.CursorPage;
 
 public interface BookingService {
 
 	BookingDTO createBooking(BookingDTO bookingDTO);
 
+	List<BookingDTO> createBookings(List<BookingDTO> bookingDTOs);
+
 	BookingDTO getBookingById(Long id);
 
-	List<BookingDTO> getAllBookings();
+	CursorPage<BookingDTO> getAllBookings(Long cursor, int size);
+
+	CursorPage<BookingDTO> getBookingsByPassenger(Long passengerId, Long cursor, int size);
 
-	List<BookingDTO> getBookingsByPassenger(Long passengerId);
+	List<BookingDTO> getArchivedBookingsByPassenger(Long passengerId);
 
-	List<BookingDTO> getBookingsByRide(Long rideId);
+	CursorPage<BookingDTO> getBookingsByRide(Long rideId, Long cursor, int size);
 
 	BookingDTO updateBooking(Long id, BookingDTO bookingDTO);
 
@@ -0,0 +1,10 @@
+package com.share2go.service;
+
+import java.util.List;
+
+import com.share2go.dto.DriverRideSummaryDTO;
+
+public interface DriverDashboardService {
+
+	List<DriverRideSummaryDTO> getDashboard(Long driverId);
+}
@@ -0,0 +1,15 @@
+package com.share2go.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+	void exportRides(OutputStream out) throws IOException;
+
+	void exportBookings(OutputStream out) throws IOException;
+
+	void exportUsers(OutputStream out) throws IOException;
+
+	void exportNotifications(OutputStream out) throws IOException;
+}
@@ -1,18 +1,21 @@
 package com.share2go.service;
 
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.share2go.dto.CursorPage;
 import com.share2go.dto.NotificationDTO;
 
 public interface NotificationService {
     NotificationDTO createNotification(NotificationDTO dto);
 
-    List<NotificationDTO> getUserNotifications(Long userId);
+    CursorPage<NotificationDTO> getUserNotifications(Long userId, Long cursor, int size);
 
     long getUnreadCount(Long userId);
 
     void markAsRead(Long notificationId);
 
     void markAllAsRead(Long userId);
+
+    SseEmitter subscribe(Long userId);
 }
 
@@ -0,0 +1,14 @@
+package com.share2go.service;
+
+import java.util.List;
+
+import com.share2go.dto.RideScheduleDTO;
+
+public interface RideScheduleService {
+
+	RideScheduleDTO createSchedule(RideScheduleDTO scheduleDTO, Long driverId);
+
+	List<RideScheduleDTO> getSchedulesByDriver(Long driverId);
+
+	void deleteSchedule(Long id);
+}
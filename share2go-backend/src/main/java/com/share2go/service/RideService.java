@@ -3,7 +3,10 @@ package com.share2go.service;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.share2go.dto.CursorPage;
 import com.share2go.dto.RideDTO;
+import com.share2go.dto.RideMatchDTO;
+import com.share2go.search.RideSort;
 
 public interface RideService {
 
@@ -11,13 +14,25 @@ public interface RideService {
 
 	RideDTO getRideById(Long id);
 
-	List<RideDTO> getAllRides();
+	CursorPage<RideDTO> getAllRides(Long cursor, int size);
 
 	List<RideDTO> searchRides(String origin, String destination, LocalDateTime departureTime);
 
+	List<RideDTO> searchRides(String origin, String destination, LocalDateTime departureTime, RideSort sort,
+			int limit);
+
+	List<RideDTO> findNearbyRides(double originLat, double originLng, double destinationLat, double destinationLng,
+			double radiusKm, LocalDateTime departureTime);
+
+	List<RideMatchDTO> matchRoute(String from, String to, LocalDateTime departureTime, int seats);
+
 	RideDTO updateRide(Long id, RideDTO rideDTO);
 
 	void deleteRide(Long id);
 
-	List<RideDTO> getRidesByDriver(Long driverId);
+	Long materializeOccurrence(Long scheduleId, LocalDateTime departureTime);
+
+	CursorPage<RideDTO> getRidesByDriver(Long driverId, Long cursor, int size);
+
+	List<RideDTO> getArchivedRidesByDriver(Long driverId);
 }
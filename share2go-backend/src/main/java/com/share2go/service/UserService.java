@@ -2,6 +2,7 @@ package com.share2go.service;
 
 import java.util.List;
 import java.util.Optional;
+import com.share2go.dto.CursorPage;
 import com.share2go.dto.UserDTO;
 import com.share2go.model.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,7 +14,7 @@ public interface UserService {
 
 	UserDTO getUserById(Long id);
 
-	List<UserDTO> getAllUser();
+	CursorPage<UserDTO> getAllUser(Long cursor, int size);
 
 	UserDTO updateUser(Long id, UserDTO userDTO);
 
@@ -0,0 +1,29 @@
+package com.share2go.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work on in-memory state, such as the search indexes, counters and
+ * event streams, until the surrounding transaction commits, so it never
+ * reflects a change that was rolled back. Outside a transaction the work runs
+ * straight away.
+ */
+final class AfterCommit {
+
+	private AfterCommit() {
+	}
+
+	static void run(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
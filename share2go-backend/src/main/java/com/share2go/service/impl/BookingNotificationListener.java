@@ -0,0 +1,74 @@
+package com.share2go.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.share2go.event.BookingBatchEvent;
+import com.share2go.event.BookingEvent;
+import com.share2go.service.impl.NotificationDispatcher.PendingNotification;
+
+/**
+ * Turns booking events into notifications in the transaction that changed the
+ * booking. The dispatcher only records them in the outbox there, so a rolled
+ * back booking never notifies anyone and the notification table is written
+ * off the request path.
+ */
+@Component
+public class BookingNotificationListener {
+
+	private final NotificationDispatcher dispatcher;
+
+	public BookingNotificationListener(NotificationDispatcher dispatcher) {
+		this.dispatcher = dispatcher;
+	}
+
+	@EventListener
+	public void on(BookingEvent event) {
+		String route = event.origin() + " → " + event.destination();
+		switch (event.type()) {
+		case REQUESTED -> send(event, event.driverId(), "BOOKING_REQUEST", "New booking request: "
+				+ event.passengerName() + " requested " + event.seats() + " seat(s).");
+		case ACCEPTED -> send(event, event.passengerId(), "BOOKING_ACCEPTED",
+				"Your booking was accepted for " + route + ".");
+		case REJECTED -> send(event, event.passengerId(), "BOOKING_REJECTED",
+				"Your booking was rejected for " + route + ".");
+		case EXPIRED -> send(event, event.passengerId(), "BOOKING_EXPIRED",
+				"Your booking request for " + route + " expired before the driver responded.");
+		case CANCELLED -> {
+			// The passenger or driver cancelled it themselves, nobody needs telling
+		}
+		}
+	}
+
+	/**
+	 * One notification per driver for a whole batch, pointing at the booking or
+	 * ride only when the batch has a single one for that driver.
+	 */
+	@EventListener
+	public void on(BookingBatchEvent batch) {
+		Map<Long, List<BookingEvent>> byDriver = batch.bookings().stream()
+				.collect(Collectors.groupingBy(BookingEvent::driverId));
+		byDriver.forEach((driverId, events) -> {
+			if (events.size() == 1) {
+				on(events.get(0));
+				return;
+			}
+			BookingEvent first = events.get(0);
+			long rides = events.stream().map(BookingEvent::rideId).distinct().count();
+			int seats = events.stream().mapToInt(BookingEvent::seats).sum();
+			dispatcher.dispatch(new PendingNotification(driverId, "BOOKING_REQUEST",
+					"New booking requests: " + events.size() + " bookings for " + seats + " seat(s) on " + rides
+							+ " ride(s).",
+					rides == 1 ? first.rideId() : null, null, first.occurredAt()));
+		});
+	}
+
+	private void send(BookingEvent event, Long recipientId, String type, String message) {
+		dispatcher.dispatch(new PendingNotification(recipientId, type, message, event.rideId(), event.bookingId(),
+				event.occurredAt()));
+	}
+}
@@ -1,73 +1,193 @@
 package com.share2go.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.share2go.dto.BookingDTO;
+import com.share2go.dto.CursorPage;
+import com.share2go.event.BookingBatchEvent;
+import com.share2go.event.BookingEvent;
+import com.share2go.mapper.ArchiveMapper;
 import com.share2go.mapper.BookingMapper;
-import com.share2go.dto.NotificationDTO;
-import com.share2go.service.NotificationService;
 import com.share2go.model.Booking;
 import com.share2go.model.Ride;
 import com.share2go.model.User;
+import com.share2go.repository.ArchivedBookingRepository;
 import com.share2go.repository.BookingRepository;
 import com.share2go.repository.RideRepository;
 import com.share2go.repository.UserRepository;
 import com.share2go.service.BookingService;
+import com.share2go.service.RideService;
+import com.share2go.service.impl.SeatInventory.Leg;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
 public class BookingServiceImpl implements BookingService {
 
+	private static final int MAX_BATCH_SIZE = 100;
+
 	private final BookingRepository bookingRepository;
+	private final ArchivedBookingRepository archivedBookingRepository;
 	private final RideRepository rideRepository;
 	private final UserRepository userRepository;
-	private final NotificationService notificationService;
-
-	public BookingServiceImpl(BookingRepository bookingRepository, RideRepository rideRepository,
-			UserRepository userRepository, NotificationService notificationService) {
+	private final RideService rideService;
+	private final ApplicationEventPublisher events;
+	private final SeatInventory seatInventory;
+	private final SeatHoldExpiry seatHolds;
+	private final MeterRegistry meterRegistry;
+
+	public BookingServiceImpl(BookingRepository bookingRepository,
+			ArchivedBookingRepository archivedBookingRepository, RideRepository rideRepository,
+			UserRepository userRepository, RideService rideService, ApplicationEventPublisher events,
+			SeatInventory seatInventory, SeatHoldExpiry seatHolds, MeterRegistry meterRegistry) {
 		super();
 		this.bookingRepository = bookingRepository;
+		this.archivedBookingRepository = archivedBookingRepository;
 		this.rideRepository = rideRepository;
 		this.userRepository = userRepository;
-		this.notificationService = notificationService;
+		this.rideService = rideService;
+		this.events = events;
+		this.seatInventory = seatInventory;
+		this.seatHolds = seatHolds;
+		this.meterRegistry = meterRegistry;
 	}
 
 	@Override
+	@Transactional
 	public BookingDTO createBooking(BookingDTO bookingDTO) {
+		validateRequest(bookingDTO);
 
-		Ride ride = rideRepository.findById(bookingDTO.getRideId())
+		Ride ride = rideRepository.findById(resolveRide(bookingDTO))
 				.orElseThrow(() -> new EntityNotFoundException("Ride not found"));
 		User passenger = userRepository.findById(bookingDTO.getPassengerId())
 				.orElseThrow(() -> new EntityNotFoundException("Passenger not found"));
 
-		if (bookingDTO.getNumberOfSeats() <= 0) {
-			throw new IllegalArgumentException("Requested seats must be greater than zero");
+		// Hold the seats until the driver responds or the hold runs out
+		if (!seatInventory.tryReserve(new Leg(ride.getId(), bookingDTO.getBoardStop(), bookingDTO.getAlightStop()),
+				bookingDTO.getNumberOfSeats())) {
+			throw seatConflict("create", "Not enough available seats");
 		}
 
 		bookingDTO.setBookingTime(LocalDateTime.now());
 		bookingDTO.setStatus("PENDING");
 
 		Booking booking = BookingMapper.toEntity(bookingDTO, ride, passenger);
+		booking.setHoldExpiresAt(seatHolds.deadlineFromNow());
 		Booking savedBooking = bookingRepository.save(booking);
+		countTransition("NEW", savedBooking.getStatus());
+		seatHolds.holdCreated(savedBooking.getId(), savedBooking.getHoldExpiresAt());
 
 		// Notify the driver about a new booking request
-		NotificationDTO n = new NotificationDTO();
-		n.setRecipientId(ride.getDriver().getId());
-		n.setType("BOOKING_REQUEST");
-		n.setMessage("New booking request: " + passenger.getName() + " requested " + bookingDTO.getNumberOfSeats()
-				+ " seat(s).");
-		n.setRideId(ride.getId());
-		n.setBookingId(savedBooking.getId());
-		notificationService.createNotification(n);
+		events.publishEvent(BookingEvent.of(BookingEvent.Type.REQUESTED, "NEW", savedBooking));
 
 		return BookingMapper.toDTO(savedBooking);
 	}
 
+	/**
+	 * Creates all the bookings or none of them. Rides and passengers are loaded
+	 * with one IN query each, seats are reserved once per ride and leg, in ride
+	 * id order so concurrent batches cannot deadlock, and each driver gets a
+	 * single notification for the whole batch.
+	 */
+	@Override
+	@Transactional
+	public List<BookingDTO> createBookings(List<BookingDTO> bookingDTOs) {
+		if (bookingDTOs.isEmpty() || bookingDTOs.size() > MAX_BATCH_SIZE) {
+			throw new IllegalArgumentException("A batch must hold between 1 and " + MAX_BATCH_SIZE + " bookings");
+		}
+		bookingDTOs.forEach(this::validateRequest);
+		// Schedules are locked in id order too, for the same reason as rides
+		bookingDTOs.stream().filter(dto -> dto.getRideId() == null && dto.getScheduleId() != null)
+				.sorted(Comparator.comparing(BookingDTO::getScheduleId).thenComparing(BookingDTO::getDepartureTime,
+						Comparator.nullsFirst(Comparator.naturalOrder())))
+				.forEach(this::resolveRide);
+		Map<Leg, Integer> seatsByLeg = new TreeMap<>(Leg.ORDER);
+		for (BookingDTO dto : bookingDTOs) {
+			seatsByLeg.merge(new Leg(dto.getRideId(), dto.getBoardStop(), dto.getAlightStop()),
+					dto.getNumberOfSeats(), Integer::sum);
+		}
+
+		List<Long> rideIds = seatsByLeg.keySet().stream().map(Leg::rideId).distinct().toList();
+		Map<Long, Ride> rides = rideRepository.findAllById(rideIds).stream()
+				.collect(Collectors.toMap(Ride::getId, Function.identity()));
+		if (rides.size() != rideIds.size()) {
+			throw new EntityNotFoundException("Ride not found");
+		}
+		Map<Long, User> passengers = userRepository
+				.findAllById(bookingDTOs.stream().map(BookingDTO::getPassengerId).distinct().toList()).stream()
+				.collect(Collectors.toMap(User::getId, Function.identity()));
+		if (bookingDTOs.stream().anyMatch(dto -> !passengers.containsKey(dto.getPassengerId()))) {
+			throw new EntityNotFoundException("Passenger not found");
+		}
+
+		seatsByLeg.forEach((leg, seats) -> {
+			if (!seatInventory.tryReserve(leg, seats)) {
+				throw seatConflict("batch", "Not enough available seats on ride " + leg.rideId());
+			}
+		});
+
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime holdExpiresAt = seatHolds.deadlineFromNow();
+		List<Booking> bookings = new ArrayList<>(bookingDTOs.size());
+		for (BookingDTO dto : bookingDTOs) {
+			dto.setBookingTime(now);
+			dto.setStatus("PENDING");
+			Booking booking = BookingMapper.toEntity(dto, rides.get(dto.getRideId()),
+					passengers.get(dto.getPassengerId()));
+			booking.setHoldExpiresAt(holdExpiresAt);
+			bookings.add(booking);
+		}
+		List<Booking> saved = bookingRepository.saveAll(bookings);
+
+		List<BookingEvent> requested = new ArrayList<>(saved.size());
+		for (Booking booking : saved) {
+			countTransition("NEW", booking.getStatus());
+			seatHolds.holdCreated(booking.getId(), booking.getHoldExpiresAt());
+			requested.add(BookingEvent.of(BookingEvent.Type.REQUESTED, "NEW", booking));
+		}
+		events.publishEvent(new BookingBatchEvent(requested));
+
+		return saved.stream().map(BookingMapper::toDTO).collect(Collectors.toList());
+	}
+
+	/**
+	 * Rejects a request before anything is loaded or created for it, so an
+	 * invalid booking never materializes a schedule occurrence.
+	 */
+	private void validateRequest(BookingDTO dto) {
+		if (dto.getRideId() == null && dto.getScheduleId() == null) {
+			throw new IllegalArgumentException("A booking needs a rideId or a scheduleId");
+		}
+		if (dto.getNumberOfSeats() <= 0) {
+			throw new IllegalArgumentException("Requested seats must be greater than zero");
+		}
+	}
+
+	/**
+	 * Returns the id of the ride to book. A booking that names an occurrence of
+	 * a schedule instead of a ride gets that occurrence's ride, created on first
+	 * use.
+	 */
+	private Long resolveRide(BookingDTO dto) {
+		if (dto.getRideId() == null && dto.getScheduleId() != null) {
+			dto.setRideId(rideService.materializeOccurrence(dto.getScheduleId(), dto.getDepartureTime()));
+		}
+		return dto.getRideId();
+	}
+
 	@Override
 	public BookingDTO getBookingById(Long id) {
 		Booking booking = bookingRepository.findById(id)
@@ -76,105 +196,147 @@ public class BookingServiceImpl implements BookingService {
 	}
 
 	@Override
-	public List<BookingDTO> getAllBookings() {
-		return bookingRepository.findAll().stream().map(BookingMapper::toDTO).collect(Collectors.toList());
+	public CursorPage<BookingDTO> getAllBookings(Long cursor, int size) {
+		List<Booking> bookings = bookingRepository.findByIdGreaterThanOrderByIdAsc(cursor != null ? cursor : 0L,
+				Limit.of(size + 1));
+		return CursorPage.of(bookings, size, Booking::getId, BookingMapper::toDTO);
 	}
 
 	@Override
-	public List<BookingDTO> getBookingsByPassenger(Long passengerId) {
-		return bookingRepository.findByPassengerId(passengerId).stream().map(BookingMapper::toDTO)
-				.collect(Collectors.toList());
+	public CursorPage<BookingDTO> getBookingsByPassenger(Long passengerId, Long cursor, int size) {
+		List<Booking> bookings = bookingRepository.findByPassengerIdAndIdGreaterThanOrderByIdAsc(passengerId,
+				cursor != null ? cursor : 0L, Limit.of(size + 1));
+		return CursorPage.of(bookings, size, Booking::getId, BookingMapper::toDTO);
 	}
 
+	/**
+	 * Bookings RideArchiver has moved out of the bookings table, latest first.
+	 */
 	@Override
-	public List<BookingDTO> getBookingsByRide(Long rideId) {
-		return bookingRepository.findByRideId(rideId).stream().map(BookingMapper::toDTO).collect(Collectors.toList());
+	public List<BookingDTO> getArchivedBookingsByPassenger(Long passengerId) {
+		return archivedBookingRepository.findByPassengerIdOrderByBookingTimeDesc(passengerId).stream()
+				.map(ArchiveMapper::toDTO).collect(Collectors.toList());
 	}
 
 	@Override
+	public CursorPage<BookingDTO> getBookingsByRide(Long rideId, Long cursor, int size) {
+		List<Booking> bookings = bookingRepository.findByRideIdAndIdGreaterThanOrderByIdAsc(rideId,
+				cursor != null ? cursor : 0L, Limit.of(size + 1));
+		return CursorPage.of(bookings, size, Booking::getId, BookingMapper::toDTO);
+	}
+
+	@Override
+	@Transactional
 	public BookingDTO updateBooking(Long id, BookingDTO bookingDTO) {
-		Booking booking = bookingRepository.findById(id)
+		Booking booking = bookingRepository.findByIdForUpdate(id)
 				.orElseThrow(() -> new EntityNotFoundException("Booking not found"));
 
-		int seatDifference = bookingDTO.getNumberOfSeats() - booking.getNumberOfSeats();
-		if (seatDifference > 0 && booking.getRide().getAvailableSeats() < seatDifference) {
-			throw new IllegalArgumentException("Not enough available seats to increase booking");
+		if (bookingDTO.getNumberOfSeats() <= 0) {
+			throw new IllegalArgumentException("Requested seats must be greater than zero");
 		}
 
-		booking.getRide().setAvailableSeats(booking.getRide().getAvailableSeats() - seatDifference);
-		booking.getRide().getAvailableSeats();
-		booking.setNumberOfSeats(bookingDTO.getNumberOfSeats());
-		booking.setStatus(bookingDTO.getStatus());
+		if (holdsSeats(booking)) {
+			Leg leg = Leg.of(booking);
+			int seatDifference = bookingDTO.getNumberOfSeats() - booking.getNumberOfSeats();
+			if (seatDifference > 0 && !seatInventory.tryReserve(leg, seatDifference)) {
+				throw seatConflict("update", "Not enough available seats to increase booking");
+			}
+			seatInventory.release(leg, -seatDifference);
+		}
 
-		Booking updatedBooking = bookingRepository.save(booking);
-		return BookingMapper.toDTO(updatedBooking);
+		booking.setNumberOfSeats(bookingDTO.getNumberOfSeats());
+		return BookingMapper.toDTO(booking);
 	}
 
 	@Override
+	@Transactional
 	public void cancelBooking(Long id) {
-		Booking booking = bookingRepository.findById(id)
+		Booking booking = bookingRepository.findByIdForUpdate(id)
 				.orElseThrow(() -> new EntityNotFoundException("Booking not found"));
 
-		if ("CONFIRMED".equalsIgnoreCase(booking.getStatus()) || "ACCEPTED".equalsIgnoreCase(booking.getStatus())) {
-			Ride ride = booking.getRide();
-			ride.setAvailableSeats(ride.getAvailableSeats() + booking.getNumberOfSeats());
-			rideRepository.save(ride);
+		if (holdsSeats(booking)) {
+			seatInventory.release(Leg.of(booking), booking.getNumberOfSeats());
+		}
+		if (booking.getHoldExpiresAt() != null) {
+			booking.setHoldExpiresAt(null);
+			seatHolds.holdReleased(booking.getId());
 		}
 
-		booking.setStatus("CANCELLED");
-		bookingRepository.save(booking);
+		String previousStatus = booking.getStatus();
+		transition(booking, "CANCELLED");
+		events.publishEvent(BookingEvent.of(BookingEvent.Type.CANCELLED, previousStatus, booking));
 	}
 
 	@Override
+	@Transactional
 	public BookingDTO acceptBooking(Long id) {
-		Booking booking = bookingRepository.findById(id)
+		Booking booking = bookingRepository.findByIdForUpdate(id)
 				.orElseThrow(() -> new EntityNotFoundException("Booking not found"));
 
-		if ("CONFIRMED".equalsIgnoreCase(booking.getStatus()) || "ACCEPTED".equalsIgnoreCase(booking.getStatus())) {
+		if (isConfirmed(booking)) {
 			return BookingMapper.toDTO(booking);
 		}
+		if (!"PENDING".equalsIgnoreCase(booking.getStatus())) {
+			throw new IllegalStateException("Only pending bookings can be accepted");
+		}
 
 		Ride ride = booking.getRide();
-		int requestedSeats = booking.getNumberOfSeats();
-		if (ride.getAvailableSeats() < requestedSeats) {
-			throw new IllegalArgumentException("Not enough available seats to accept booking");
+		if (booking.getHoldExpiresAt() != null) {
+			// The seats are already held, the hold simply becomes permanent
+			booking.setHoldExpiresAt(null);
+			seatHolds.holdConfirmed(booking.getId());
+		} else if (!seatInventory.tryReserve(Leg.of(booking), booking.getNumberOfSeats())) {
+			throw seatConflict("accept", "Not enough available seats to accept booking");
 		}
-		ride.setAvailableSeats(ride.getAvailableSeats() - requestedSeats);
-		rideRepository.save(ride);
 
-		booking.setStatus("CONFIRMED");
-		Booking saved = bookingRepository.save(booking);
+		transition(booking, "CONFIRMED");
 		// Notify passenger of acceptance
-		NotificationDTO n = new NotificationDTO();
-		n.setRecipientId(booking.getPassenger().getId());
-		n.setType("BOOKING_ACCEPTED");
-		n.setMessage("Your booking was accepted for " + ride.getOrigin() + " → " + ride.getDestination() + ".");
-		n.setRideId(ride.getId());
-		n.setBookingId(saved.getId());
-		notificationService.createNotification(n);
-		return BookingMapper.toDTO(saved);
+		events.publishEvent(BookingEvent.of(BookingEvent.Type.ACCEPTED, "PENDING", booking));
+		return BookingMapper.toDTO(booking);
 	}
 
 	@Override
+	@Transactional
 	public BookingDTO rejectBooking(Long id) {
-		Booking booking = bookingRepository.findById(id)
+		Booking booking = bookingRepository.findByIdForUpdate(id)
 				.orElseThrow(() -> new EntityNotFoundException("Booking not found"));
 
-		if ("CONFIRMED".equalsIgnoreCase(booking.getStatus()) || "ACCEPTED".equalsIgnoreCase(booking.getStatus())) {
+		if (isConfirmed(booking)) {
 			throw new IllegalStateException("Cannot reject a confirmed booking. Cancel instead.");
 		}
+		if (holdsSeats(booking)) {
+			seatInventory.release(Leg.of(booking), booking.getNumberOfSeats());
+			booking.setHoldExpiresAt(null);
+			seatHolds.holdReleased(booking.getId());
+		}
 
-		booking.setStatus("REJECTED");
-		Booking saved = bookingRepository.save(booking);
+		String previousStatus = booking.getStatus();
+		transition(booking, "REJECTED");
 		// Notify passenger of rejection
-		NotificationDTO n = new NotificationDTO();
-		n.setRecipientId(booking.getPassenger().getId());
-		n.setType("BOOKING_REJECTED");
-		n.setMessage("Your booking was rejected for " + booking.getRide().getOrigin() + " → "
-				+ booking.getRide().getDestination() + ".");
-		n.setRideId(booking.getRide().getId());
-		n.setBookingId(saved.getId());
-		notificationService.createNotification(n);
-		return BookingMapper.toDTO(saved);
+		events.publishEvent(BookingEvent.of(BookingEvent.Type.REJECTED, previousStatus, booking));
+		return BookingMapper.toDTO(booking);
+	}
+
+	private void transition(Booking booking, String status) {
+		countTransition(booking.getStatus(), status);
+		booking.setStatus(status);
+	}
+
+	private void countTransition(String from, String to) {
+		meterRegistry.counter("share2go.bookings.transitions", "from", from.toUpperCase(), "to", to).increment();
+	}
+
+	private IllegalArgumentException seatConflict(String operation, String message) {
+		meterRegistry.counter("share2go.bookings.seat.conflicts", "operation", operation).increment();
+		return new IllegalArgumentException(message);
+	}
+
+	private static boolean isConfirmed(Booking booking) {
+		return "CONFIRMED".equalsIgnoreCase(booking.getStatus()) || "ACCEPTED".equalsIgnoreCase(booking.getStatus());
+	}
+
+	private static boolean holdsSeats(Booking booking) {
+		return isConfirmed(booking)
+				|| ("PENDING".equalsIgnoreCase(booking.getStatus()) && booking.getHoldExpiresAt() != null);
 	}
 }
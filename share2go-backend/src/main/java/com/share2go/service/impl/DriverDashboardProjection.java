@@ -0,0 +1,135 @@
+package com.share2go.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.event.BookingBatchEvent;
+import com.share2go.event.BookingEvent;
+import com.share2go.model.DriverRideSummary;
+import com.share2go.model.Ride;
+import com.share2go.repository.DriverRideSummaryRepository;
+
+/**
+ * Keeps the driver dashboard rows in step with rides and bookings.
+ *
+ * Booking events are applied in the transaction that published them, under a
+ * row lock on the summary, so the counts commit or roll back with the booking.
+ * Seat counts are copied from the ride whenever the seat inventory moves them.
+ * Rides that have no summary yet, such as those created before the dashboard
+ * existed, are added at startup.
+ */
+@Component
+public class DriverDashboardProjection implements SmartInitializingSingleton {
+
+	private static final int RECENT_PASSENGERS = 5;
+	private static final int RECENT_PASSENGERS_LENGTH = 1000;
+
+	private final DriverRideSummaryRepository summaryRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	public DriverDashboardProjection(DriverRideSummaryRepository summaryRepository,
+			PlatformTransactionManager transactionManager) {
+		this.summaryRepository = summaryRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		transactionTemplate.executeWithoutResult(status -> summaryRepository.insertMissing());
+	}
+
+	@Transactional
+	public void rideSaved(Ride ride) {
+		DriverRideSummary summary = summaryRepository.findById(ride.getId()).orElseGet(() -> {
+			DriverRideSummary created = new DriverRideSummary();
+			created.setRideId(ride.getId());
+			return created;
+		});
+		summary.setDriverId(ride.getDriver().getId());
+		summary.setOrigin(ride.getOrigin());
+		summary.setDestination(ride.getDestination());
+		summary.setDepartureTime(ride.getDepartureTime());
+		summary.setAvailableSeats(ride.getAvailableSeats());
+		summaryRepository.save(summary);
+	}
+
+	@Transactional
+	public void rideDeleted(Long rideId) {
+		summaryRepository.findById(rideId).ifPresent(summaryRepository::delete);
+	}
+
+	public void seatsChanged(Long rideId) {
+		summaryRepository.refreshSeats(rideId);
+	}
+
+	@EventListener
+	public void on(BookingEvent event) {
+		DriverRideSummary summary = summaryRepository.findByIdForUpdate(event.rideId()).orElse(null);
+		if (summary == null) {
+			return;
+		}
+		int pending = isPending(event.previousStatus()) ? -1 : 0;
+		int confirmed = isConfirmed(event.previousStatus()) ? -1 : 0;
+		int seats = isConfirmed(event.previousStatus()) ? -event.seats() : 0;
+		switch (event.type()) {
+		case REQUESTED -> {
+			pending++;
+			if (event.passengerName() != null) {
+				summary.setRecentPassengers(withRecentPassenger(summary.getRecentPassengers(), event.passengerName()));
+			}
+		}
+		case ACCEPTED -> {
+			confirmed++;
+			seats += event.seats();
+		}
+		case REJECTED, EXPIRED, CANCELLED -> {
+		}
+		}
+		summary.setPendingBookings(Math.max(0, summary.getPendingBookings() + pending));
+		summary.setConfirmedBookings(Math.max(0, summary.getConfirmedBookings() + confirmed));
+		summary.setConfirmedSeats(Math.max(0, summary.getConfirmedSeats() + seats));
+	}
+
+	/**
+	 * Applies a batch ride by ride in id order, the order its seats were
+	 * reserved in, so row locks are always taken in the same order.
+	 */
+	@EventListener
+	public void on(BookingBatchEvent batch) {
+		List<BookingEvent> events = new ArrayList<>(batch.bookings());
+		events.sort(Comparator.comparing(BookingEvent::rideId));
+		events.forEach(this::on);
+	}
+
+	private static String withRecentPassenger(String recentPassengers, String name) {
+		List<String> names = new ArrayList<>();
+		names.add(name);
+		if (recentPassengers != null && !recentPassengers.isEmpty()) {
+			Arrays.stream(recentPassengers.split("\n")).filter(other -> !other.equals(name))
+					.limit(RECENT_PASSENGERS - 1).forEach(names::add);
+		}
+		String joined = String.join("\n", names);
+		while (joined.length() > RECENT_PASSENGERS_LENGTH && names.size() > 1) {
+			names.remove(names.size() - 1);
+			joined = String.join("\n", names);
+		}
+		return joined.length() > RECENT_PASSENGERS_LENGTH ? joined.substring(0, RECENT_PASSENGERS_LENGTH) : joined;
+	}
+
+	private static boolean isPending(String status) {
+		return "PENDING".equalsIgnoreCase(status);
+	}
+
+	private static boolean isConfirmed(String status) {
+		return "CONFIRMED".equalsIgnoreCase(status) || "ACCEPTED".equalsIgnoreCase(status);
+	}
+}
@@ -0,0 +1,31 @@
+package com.share2go.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.share2go.dto.DriverRideSummaryDTO;
+import com.share2go.mapper.DriverRideSummaryMapper;
+import com.share2go.repository.DriverRideSummaryRepository;
+import com.share2go.service.DriverDashboardService;
+
+/**
+ * Serves the driver dashboard from the summary rows kept by
+ * DriverDashboardProjection, one indexed lookup per request.
+ */
+@Service
+public class DriverDashboardServiceImpl implements DriverDashboardService {
+
+	private final DriverRideSummaryRepository summaryRepository;
+
+	public DriverDashboardServiceImpl(DriverRideSummaryRepository summaryRepository) {
+		this.summaryRepository = summaryRepository;
+	}
+
+	@Override
+	public List<DriverRideSummaryDTO> getDashboard(Long driverId) {
+		return summaryRepository.findByDriverIdOrderByDepartureTimeAsc(driverId).stream()
+				.map(DriverRideSummaryMapper::toDTO).collect(Collectors.toList());
+	}
+}
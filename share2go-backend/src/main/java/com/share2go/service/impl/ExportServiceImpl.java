@@ -0,0 +1,138 @@
+package com.share2go.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.share2go.dto.UserDTO;
+import com.share2go.mapper.BookingMapper;
+import com.share2go.mapper.NotificationMapper;
+import com.share2go.mapper.RideMapper;
+import com.share2go.mapper.UserMapper;
+import com.share2go.model.Booking;
+import com.share2go.model.Notification;
+import com.share2go.model.Ride;
+import com.share2go.model.User;
+import com.share2go.repository.BookingRepository;
+import com.share2go.repository.NotificationRepository;
+import com.share2go.repository.RidePassengerId;
+import com.share2go.repository.RideRepository;
+import com.share2go.repository.RideWaypoint;
+import com.share2go.repository.UserRepository;
+import com.share2go.service.ExportService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes whole tables as newline-delimited JSON. Rows are read in keyset
+ * batches and detached once written, so memory use stays flat regardless of
+ * table size and no driver-side cursor is needed. Rides fetch their passenger
+ * ids and waypoints once per batch.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+	private static final int BATCH_SIZE = 500;
+
+	private final RideRepository rideRepository;
+	private final BookingRepository bookingRepository;
+	private final UserRepository userRepository;
+	private final NotificationRepository notificationRepository;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+
+	public ExportServiceImpl(RideRepository rideRepository, BookingRepository bookingRepository,
+			UserRepository userRepository, NotificationRepository notificationRepository, EntityManager entityManager,
+			ObjectMapper objectMapper) {
+		this.rideRepository = rideRepository;
+		this.bookingRepository = bookingRepository;
+		this.userRepository = userRepository;
+		this.notificationRepository = notificationRepository;
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public void exportRides(OutputStream out) throws IOException {
+		write(rideRepository::findByIdGreaterThanOrderByIdAsc, Ride::getId, this::rideDTOs, out);
+	}
+
+	@Override
+	public void exportBookings(OutputStream out) throws IOException {
+		write(bookingRepository::findByIdGreaterThanOrderByIdAsc, Booking::getId, each(BookingMapper::toDTO), out);
+	}
+
+	@Override
+	public void exportUsers(OutputStream out) throws IOException {
+		Function<User, UserDTO> withoutPassword = user -> {
+			UserDTO dto = UserMapper.toDTO(user);
+			dto.setPassword(null);
+			return dto;
+		};
+		write(userRepository::findByIdGreaterThanOrderByIdAsc, User::getId, each(withoutPassword), out);
+	}
+
+	@Override
+	public void exportNotifications(OutputStream out) throws IOException {
+		write(notificationRepository::findByIdGreaterThanOrderByIdAsc, Notification::getId,
+				each(NotificationMapper::toDTO), out);
+	}
+
+	private List<?> rideDTOs(List<Ride> rides) {
+		List<Long> rideIds = rides.stream().map(Ride::getId).toList();
+		Map<Long, List<Long>> passengerIds = new HashMap<>();
+		for (RidePassengerId link : rideRepository.findPassengerIds(rideIds)) {
+			passengerIds.computeIfAbsent(link.rideId(), id -> new ArrayList<>()).add(link.passengerId());
+		}
+		Map<Long, List<String>> waypoints = new HashMap<>();
+		List<Long> routedIds = rides.stream().filter(ride -> ride.getWaypointCount() > 0).map(Ride::getId).toList();
+		if (!routedIds.isEmpty()) {
+			for (RideWaypoint waypoint : rideRepository.findWaypoints(routedIds)) {
+				waypoints.computeIfAbsent(waypoint.rideId(), id -> new ArrayList<>()).add(waypoint.name());
+			}
+		}
+		return rides.stream().map(ride -> RideMapper.toDTO(ride, passengerIds.getOrDefault(ride.getId(), List.of()),
+				waypoints.getOrDefault(ride.getId(), List.of()))).toList();
+	}
+
+	private static <E> Function<List<E>, List<?>> each(Function<E, ?> mapper) {
+		return rows -> rows.stream().map(mapper).toList();
+	}
+
+	/**
+	 * Reads the table BATCH_SIZE rows at a time after the last id written, then
+	 * maps, writes and detaches each batch. A mapper gets the whole batch, so it
+	 * can load related rows for all of it at once.
+	 */
+	private <E> void write(BiFunction<Long, Limit, List<E>> batches, Function<E, Long> idOf,
+			Function<List<E>, List<?>> mapper, OutputStream out) throws IOException {
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		Long lastId = 0L;
+		List<E> batch;
+		do {
+			batch = batches.apply(lastId, Limit.of(BATCH_SIZE));
+			for (Object row : mapper.apply(batch)) {
+				objectMapper.writeValue(generator, row);
+				generator.writeRaw('\n');
+			}
+			generator.flush();
+			if (!batch.isEmpty()) {
+				lastId = idOf.apply(batch.get(batch.size() - 1));
+			}
+			entityManager.clear();
+		} while (batch.size() == BATCH_SIZE);
+	}
+}
@@ -0,0 +1,248 @@
+package com.share2go.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.mapper.NotificationMapper;
+import com.share2go.model.Notification;
+import com.share2go.model.NotificationOutbox;
+import com.share2go.repository.NotificationOutboxRepository;
+import com.share2go.repository.NotificationRepository;
+import com.share2go.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Writes notifications off the request path without losing them.
+ *
+ * dispatch saves an outbox row in the caller's transaction, so a notification
+ * exists exactly when the booking change that caused it commits. A relay
+ * thread, woken after each commit and otherwise every relay interval, moves
+ * due rows into the notifications table in batches, each in its own
+ * transaction. Rows left behind by a crash or by another instance are picked
+ * up by the next pass.
+ *
+ * A failed batch is retried row by row. A row that still fails waits out an
+ * exponential backoff; once it has used up its attempts it stays in the
+ * outbox and is counted as failed, so one bad row never blocks the rest.
+ */
+@Component
+public class NotificationDispatcher implements SmartLifecycle {
+
+	private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+	private final NotificationOutboxRepository outboxRepository;
+	private final NotificationRepository notificationRepository;
+	private final UserRepository userRepository;
+	private final NotificationStreams streams;
+	private final UnreadCounters unreadCounters;
+	private final TransactionTemplate transactionTemplate;
+
+	private final Semaphore wakeups = new Semaphore(0);
+	private final int batchSize;
+	private final int maxAttempts;
+	private final Duration retryBackoff;
+	private final Duration relayInterval;
+
+	private final Counter written;
+	private final Counter failed;
+	private final Timer lag;
+
+	private volatile ExecutorService relay;
+	private volatile boolean running;
+
+	public NotificationDispatcher(NotificationOutboxRepository outboxRepository,
+			NotificationRepository notificationRepository, UserRepository userRepository,
+			NotificationStreams streams, UnreadCounters unreadCounters, PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			@Value("${share2go.notifications.batch-size:100}") int batchSize,
+			@Value("${share2go.notifications.max-attempts:3}") int maxAttempts,
+			@Value("${share2go.notifications.retry-backoff:PT0.2S}") Duration retryBackoff,
+			@Value("${share2go.notifications.relay-interval:PT1S}") Duration relayInterval) {
+		this.outboxRepository = outboxRepository;
+		this.notificationRepository = notificationRepository;
+		this.userRepository = userRepository;
+		this.streams = streams;
+		this.unreadCounters = unreadCounters;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.retryBackoff = retryBackoff;
+		this.relayInterval = relayInterval;
+		this.written = meterRegistry.counter("share2go.notifications.written");
+		this.failed = meterRegistry.counter("share2go.notifications.failed");
+		this.lag = meterRegistry.timer("share2go.notifications.lag");
+	}
+
+	/**
+	 * Saves the notification to the outbox in the current transaction and wakes
+	 * the relay once it commits.
+	 */
+	public void dispatch(PendingNotification notification) {
+		NotificationOutbox row = new NotificationOutbox();
+		row.setRecipientId(notification.recipientId());
+		row.setType(notification.type());
+		row.setMessage(notification.message());
+		row.setRideId(notification.rideId());
+		row.setBookingId(notification.bookingId());
+		row.setCreatedAt(notification.createdAt());
+		row.setNextAttemptAt(notification.createdAt());
+		outboxRepository.save(row);
+		AfterCommit.run(wakeups::release);
+	}
+
+	/**
+	 * Moves every due outbox row into the notifications table, batch by batch.
+	 */
+	public void relayDue() {
+		List<Long> due;
+		do {
+			due = outboxRepository.findDueIds(LocalDateTime.now(), maxAttempts, Limit.of(batchSize));
+			if (!due.isEmpty()) {
+				relay(due);
+			}
+		} while (due.size() == batchSize);
+	}
+
+	@Override
+	public void start() {
+		relay = Executors.newSingleThreadExecutor(task -> {
+			Thread thread = new Thread(task, "notification-dispatcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		running = true;
+		relay.execute(this::run);
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		relay.shutdownNow();
+		try {
+			relay.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void run() {
+		while (running) {
+			try {
+				relayDue();
+			} catch (RuntimeException e) {
+				log.warn("Relaying notifications failed, retrying in {}", relayInterval, e);
+			}
+			try {
+				wakeups.tryAcquire(relayInterval.toMillis(), TimeUnit.MILLISECONDS);
+				wakeups.drainPermits();
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	private void relay(List<Long> ids) {
+		try {
+			write(ids);
+		} catch (RuntimeException e) {
+			if (ids.size() == 1) {
+				retryLater(ids.get(0), e);
+				return;
+			}
+			// One bad row, such as one for a deleted user, should not hold back the rest of the batch
+			for (Long id : ids) {
+				try {
+					write(List.of(id));
+				} catch (RuntimeException single) {
+					retryLater(id, single);
+				}
+			}
+		}
+	}
+
+	private void write(List<Long> ids) {
+		List<Notification> saved = transactionTemplate.execute(status -> {
+			List<NotificationOutbox> rows = outboxRepository.findAllByIdForUpdate(ids);
+			List<Notification> notifications = new ArrayList<>(rows.size());
+			for (NotificationOutbox row : rows) {
+				Notification n = new Notification();
+				// A reference is enough for the foreign key, the recipient is never loaded
+				n.setRecipient(userRepository.getReferenceById(row.getRecipientId()));
+				n.setType(row.getType());
+				n.setMessage(row.getMessage());
+				n.setRideId(row.getRideId());
+				n.setBookingId(row.getBookingId());
+				n.setCreatedAt(row.getCreatedAt());
+				notifications.add(n);
+			}
+			List<Notification> inserted = notificationRepository.saveAll(notifications);
+			outboxRepository.deleteAllInBatch(rows);
+			return inserted;
+		});
+		LocalDateTime now = LocalDateTime.now();
+		for (Notification notification : saved) {
+			unreadCounters.add(notification.getRecipient().getId(), 1);
+			streams.notificationCreated(NotificationMapper.toDTO(notification));
+			lag.record(Duration.between(notification.getCreatedAt(), now));
+		}
+		written.increment(saved.size());
+	}
+
+	private void retryLater(Long id, RuntimeException cause) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				for (NotificationOutbox row : outboxRepository.findAllByIdForUpdate(List.of(id))) {
+					if (row.getAttempts() < maxAttempts) {
+						recordFailedAttempt(row, cause);
+					}
+				}
+			});
+		} catch (RuntimeException e) {
+			// The row is still due, so the next pass tries it again
+			log.warn("Could not record the failed attempt for notification {}", id, e);
+		}
+	}
+
+	private void recordFailedAttempt(NotificationOutbox row, RuntimeException cause) {
+		int attempts = row.getAttempts() + 1;
+		row.setAttempts(attempts);
+		if (attempts >= maxAttempts) {
+			failed.increment();
+			log.error("Giving up on notification {} for user {} after {} attempts", row.getId(), row.getRecipientId(),
+					attempts, cause);
+			return;
+		}
+		Duration backoff = retryBackoff.multipliedBy(1L << (attempts - 1));
+		row.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+		log.warn("Writing notification {} failed, retrying in {} ms", row.getId(), backoff.toMillis(), cause);
+	}
+
+	public record PendingNotification(Long recipientId, String type, String message, Long rideId, Long bookingId,
+			LocalDateTime createdAt) {
+	}
+}
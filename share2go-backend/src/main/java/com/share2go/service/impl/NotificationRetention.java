@@ -0,0 +1,54 @@
+package com.share2go.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.share2go.repository.NotificationRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Deletes read notifications once they are older than the configured age.
+ *
+ * Rows go in batches, each one id lookup and one DELETE in its own
+ * transaction, so a large backlog never holds long locks or a huge undo log.
+ * Unread notifications are kept however old they are.
+ */
+@Component
+public class NotificationRetention {
+
+	private final NotificationRepository notificationRepository;
+	private final Duration maxAge;
+	private final int batchSize;
+	private final Counter purged;
+
+	public NotificationRetention(NotificationRepository notificationRepository, MeterRegistry meterRegistry,
+			@Value("${share2go.notifications.retention.read-max-age:P30D}") Duration maxAge,
+			@Value("${share2go.notifications.retention.batch-size:1000}") int batchSize) {
+		this.notificationRepository = notificationRepository;
+		this.maxAge = maxAge;
+		this.batchSize = batchSize;
+		this.purged = meterRegistry.counter("share2go.notifications.purged");
+	}
+
+	@Scheduled(fixedDelayString = "${share2go.notifications.retention.interval:PT1H}",
+			initialDelayString = "${share2go.notifications.retention.interval:PT1H}")
+	public void purgeReadNotifications() {
+		LocalDateTime cutoff = LocalDateTime.now().minus(maxAge);
+		List<Long> ids;
+		do {
+			ids = notificationRepository.findReadIdsCreatedBefore(cutoff, Limit.of(batchSize));
+			if (!ids.isEmpty()) {
+				notificationRepository.deleteAllByIdInBatch(ids);
+				purged.increment(ids.size());
+			}
+		} while (ids.size() == batchSize);
+	}
+}
@@ -1,10 +1,13 @@
 package com.share2go.service.impl;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.share2go.dto.CursorPage;
 import com.share2go.dto.NotificationDTO;
 import com.share2go.mapper.NotificationMapper;
 import com.share2go.model.Notification;
@@ -13,6 +16,8 @@ import com.share2go.repository.NotificationRepository;
 import com.share2go.repository.UserRepository;
 import com.share2go.service.NotificationService;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
@@ -20,10 +25,18 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationStreams streams;
+    private final UnreadCounters unreadCounters;
+    private final Counter created;
 
-    public NotificationServiceImpl(NotificationRepository notificationRepository, UserRepository userRepository) {
+    public NotificationServiceImpl(NotificationRepository notificationRepository, UserRepository userRepository,
+            NotificationStreams streams, UnreadCounters unreadCounters, MeterRegistry meterRegistry) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
+        this.streams = streams;
+        this.unreadCounters = unreadCounters;
+        // Notifications for booking events are counted by the dispatcher as share2go.notifications.written
+        this.created = meterRegistry.counter("share2go.notifications.created");
     }
 
     @Override
@@ -32,37 +45,60 @@ public class NotificationServiceImpl implements NotificationService {
                 .orElseThrow(() -> new EntityNotFoundException("Recipient not found"));
         Notification n = NotificationMapper.toEntity(dto, recipient);
         Notification saved = notificationRepository.save(n);
-        return NotificationMapper.toDTO(saved);
+        created.increment();
+        unreadCounters.add(recipient.getId(), 1);
+        NotificationDTO result = NotificationMapper.toDTO(saved);
+        streams.notificationCreated(result);
+        return result;
     }
 
     @Override
-    public List<NotificationDTO> getUserNotifications(Long userId) {
-        return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId)
-                .stream().map(NotificationMapper::toDTO).collect(Collectors.toList());
+    public CursorPage<NotificationDTO> getUserNotifications(Long userId, Long cursor, int size) {
+        List<Notification> notifications = notificationRepository.findByRecipientIdAndIdLessThanOrderByIdDesc(
+                userId, cursor != null ? cursor : Long.MAX_VALUE, Limit.of(size + 1));
+        return CursorPage.of(notifications, size, Notification::getId, NotificationMapper::toDTO);
     }
 
     @Override
     public long getUnreadCount(Long userId) {
-        return notificationRepository.countByRecipientIdAndReadFlagFalse(userId);
+        return unreadCounters.get(userId);
     }
 
     @Override
+    @Transactional
     public void markAsRead(Long notificationId) {
         Notification n = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new EntityNotFoundException("Notification not found"));
-        n.setReadFlag(true);
-        notificationRepository.save(n);
+        // Only the request that actually flips the flag may decrement the counter
+        if (notificationRepository.markReadIfUnread(notificationId) == 1) {
+            Long userId = n.getRecipient().getId();
+            AfterCommit.run(() -> {
+                unreadCounters.add(userId, -1);
+                publishUnreadCount(userId);
+            });
+        }
     }
 
     @Override
+    @Transactional
     public void markAllAsRead(Long userId) {
-        List<Notification> list = notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId);
-        for (Notification n : list) {
-            if (!n.isReadFlag()) {
-                n.setReadFlag(true);
-            }
+        int flipped = notificationRepository.markAllRead(userId);
+        AfterCommit.run(() -> {
+            unreadCounters.add(userId, -flipped);
+            publishUnreadCount(userId);
+        });
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        return streams.subscribe(userId, getUnreadCount(userId));
+    }
+
+    private void publishUnreadCount(Long userId) {
+        // Counting is only worth it when someone is listening
+        if (streams.hasSubscribers(userId)) {
+            streams.unreadCountChanged(userId, getUnreadCount(userId));
         }
-        notificationRepository.saveAll(list);
     }
 }
 
@@ -0,0 +1,135 @@
+package com.share2go.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.share2go.dto.NotificationDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-user registry of open notification streams.
+ *
+ * Each stream is an async servlet response, so an idle subscriber costs a
+ * socket and an SseEmitter but no request thread. Streams are removed as soon
+ * as they complete, time out or fail a write; browsers reconnect on their own.
+ */
+@Component
+public class NotificationStreams implements SmartLifecycle {
+
+	public static final String NOTIFICATION_EVENT = "notification";
+	public static final String UNREAD_COUNT_EVENT = "unread-count";
+
+	private final Map<Long, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+	private final AtomicInteger open = new AtomicInteger();
+	private final Duration timeout;
+	private volatile boolean running;
+
+	public NotificationStreams(MeterRegistry meterRegistry,
+			@Value("${share2go.notifications.stream-timeout:PT30M}") Duration timeout) {
+		this.timeout = timeout;
+		meterRegistry.gauge("share2go.notifications.streams.open", open);
+	}
+
+	public SseEmitter subscribe(Long userId, long unreadCount) {
+		SseEmitter emitter = new SseEmitter(timeout.toMillis());
+		subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+		open.incrementAndGet();
+		emitter.onCompletion(() -> unsubscribe(userId, emitter));
+		emitter.onTimeout(emitter::complete);
+		emitter.onError(error -> unsubscribe(userId, emitter));
+		send(userId, emitter, SseEmitter.event().name(UNREAD_COUNT_EVENT).data(unreadCount));
+		return emitter;
+	}
+
+	public boolean hasSubscribers(Long userId) {
+		return subscribers.containsKey(userId);
+	}
+
+	public void notificationCreated(NotificationDTO notification) {
+		Set<SseEmitter> emitters = subscribers.get(notification.getRecipientId());
+		if (emitters != null) {
+			for (SseEmitter emitter : emitters) {
+				send(notification.getRecipientId(), emitter,
+						SseEmitter.event().id(String.valueOf(notification.getId())).name(NOTIFICATION_EVENT)
+								.data(notification));
+			}
+		}
+	}
+
+	public void unreadCountChanged(Long userId, long unreadCount) {
+		Set<SseEmitter> emitters = subscribers.get(userId);
+		if (emitters != null) {
+			for (SseEmitter emitter : emitters) {
+				send(userId, emitter, SseEmitter.event().name(UNREAD_COUNT_EVENT).data(unreadCount));
+			}
+		}
+	}
+
+	/**
+	 * Keeps idle streams from being closed by proxies and finds dead ones,
+	 * since a client that went away is only noticed on the next write.
+	 */
+	@Scheduled(fixedDelayString = "${share2go.notifications.stream-heartbeat:PT25S}")
+	public void heartbeat() {
+		subscribers.forEach((userId, emitters) -> {
+			for (SseEmitter emitter : emitters) {
+				send(userId, emitter, SseEmitter.event().comment("ping"));
+			}
+		});
+	}
+
+	@Override
+	public void start() {
+		running = true;
+	}
+
+	/**
+	 * Ends every open stream before the web server's graceful shutdown starts,
+	 * which would otherwise wait for them as if they were slow requests.
+	 */
+	@Override
+	public void stop() {
+		running = false;
+		subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+		subscribers.clear();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	@Override
+	public int getPhase() {
+		return Integer.MAX_VALUE;
+	}
+
+	private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+		try {
+			emitter.send(event);
+		} catch (IOException | IllegalStateException e) {
+			unsubscribe(userId, emitter);
+			emitter.completeWithError(e);
+		}
+	}
+
+	private void unsubscribe(Long userId, SseEmitter emitter) {
+		subscribers.computeIfPresent(userId, (id, emitters) -> {
+			if (emitters.remove(emitter)) {
+				open.decrementAndGet();
+			}
+			return emitters.isEmpty() ? null : emitters;
+		});
+	}
+}
@@ -0,0 +1,173 @@
+package com.share2go.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.mapper.ArchiveMapper;
+import com.share2go.model.ArchivedBooking;
+import com.share2go.model.ArchivedRide;
+import com.share2go.model.Booking;
+import com.share2go.model.Ride;
+import com.share2go.repository.ArchivedBookingRepository;
+import com.share2go.repository.ArchivedRideRepository;
+import com.share2go.repository.BookingRepository;
+import com.share2go.repository.DriverRideSummaryRepository;
+import com.share2go.repository.RidePassengerId;
+import com.share2go.repository.RideRepository;
+import com.share2go.repository.RideSegmentRepository;
+import com.share2go.repository.RideWaypoint;
+import com.share2go.search.RideGeoIndex;
+import com.share2go.search.RideRouteIndex;
+import com.share2go.search.RideSearchIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves rides that departed longer ago than the configured age, with all of
+ * their bookings, into the archive tables, and then bookings that were closed
+ * long enough ago on rides that are still live.
+ *
+ * Each batch copies and deletes its rows in its own transaction, so an
+ * interrupted run leaves every row in exactly one of the two tables and the
+ * next run picks up where it stopped. The hot tables and their indexes only
+ * ever hold recent rows, however long the service runs.
+ */
+@Component
+public class RideArchiver {
+
+	private static final Set<String> CLOSED_STATUSES = Set.of("CANCELLED", "REJECTED", "EXPIRED");
+
+	private final RideRepository rideRepository;
+	private final BookingRepository bookingRepository;
+	private final RideSegmentRepository segmentRepository;
+	private final DriverRideSummaryRepository summaryRepository;
+	private final ArchivedRideRepository archivedRideRepository;
+	private final ArchivedBookingRepository archivedBookingRepository;
+	private final RideCaches rideCaches;
+	private final RideSearchIndex rideSearchIndex;
+	private final RideGeoIndex rideGeoIndex;
+	private final RideRouteIndex rideRouteIndex;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration rideAge;
+	private final Duration closedBookingAge;
+	private final int batchSize;
+	private final Counter archivedRides;
+	private final Counter archivedBookings;
+
+	public RideArchiver(RideRepository rideRepository, BookingRepository bookingRepository,
+			RideSegmentRepository segmentRepository, DriverRideSummaryRepository summaryRepository,
+			ArchivedRideRepository archivedRideRepository, ArchivedBookingRepository archivedBookingRepository,
+			RideCaches rideCaches, RideSearchIndex rideSearchIndex, RideGeoIndex rideGeoIndex,
+			RideRouteIndex rideRouteIndex, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+			@Value("${share2go.archive.ride-age:P1D}") Duration rideAge,
+			@Value("${share2go.archive.closed-booking-age:P30D}") Duration closedBookingAge,
+			@Value("${share2go.archive.batch-size:500}") int batchSize) {
+		this.rideRepository = rideRepository;
+		this.bookingRepository = bookingRepository;
+		this.segmentRepository = segmentRepository;
+		this.summaryRepository = summaryRepository;
+		this.archivedRideRepository = archivedRideRepository;
+		this.archivedBookingRepository = archivedBookingRepository;
+		this.rideCaches = rideCaches;
+		this.rideSearchIndex = rideSearchIndex;
+		this.rideGeoIndex = rideGeoIndex;
+		this.rideRouteIndex = rideRouteIndex;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.rideAge = rideAge;
+		this.closedBookingAge = closedBookingAge;
+		this.batchSize = batchSize;
+		this.archivedRides = meterRegistry.counter("share2go.archive.rides");
+		this.archivedBookings = meterRegistry.counter("share2go.archive.bookings");
+	}
+
+	@Scheduled(fixedDelayString = "${share2go.archive.interval:PT1H}",
+			initialDelayString = "${share2go.archive.interval:PT1H}")
+	public void archive() {
+		LocalDateTime rideCutoff = LocalDateTime.now().minus(rideAge);
+		int archived;
+		do {
+			archived = transactionTemplate.execute(status -> archiveRides(rideCutoff));
+		} while (archived == batchSize);
+
+		LocalDateTime bookingCutoff = LocalDateTime.now().minus(closedBookingAge);
+		do {
+			archived = transactionTemplate.execute(status -> archiveClosedBookings(bookingCutoff));
+		} while (archived == batchSize);
+	}
+
+	private int archiveRides(LocalDateTime cutoff) {
+		List<Long> rideIds = rideRepository.findDepartedIds(cutoff, Limit.of(batchSize));
+		if (rideIds.isEmpty()) {
+			return 0;
+		}
+		List<Ride> rides = rideRepository.findAllById(rideIds);
+		Map<Long, List<String>> waypoints = new HashMap<>();
+		for (RideWaypoint waypoint : rideRepository.findWaypoints(rideIds)) {
+			waypoints.computeIfAbsent(waypoint.rideId(), id -> new ArrayList<>()).add(waypoint.name());
+		}
+		Map<Long, List<Long>> passengerIds = new HashMap<>();
+		for (RidePassengerId passenger : rideRepository.findPassengerIds(rideIds)) {
+			passengerIds.computeIfAbsent(passenger.rideId(), id -> new ArrayList<>()).add(passenger.passengerId());
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		List<ArchivedRide> archivedRows = new ArrayList<>(rides.size());
+		for (Ride ride : rides) {
+			archivedRows.add(ArchiveMapper.toArchive(ride, waypoints.getOrDefault(ride.getId(), List.of()),
+					passengerIds.getOrDefault(ride.getId(), List.of()), now));
+			rideCaches.evict(ride.getId(), ride.getDriver().getId());
+		}
+		archivedRideRepository.saveAll(archivedRows);
+		List<Booking> bookings = bookingRepository.findByRideIdIn(rideIds);
+		moveBookings(bookings, now);
+
+		segmentRepository.deleteByRideIdIn(rideIds);
+		summaryRepository.deleteAllByIdInBatch(rideIds);
+		// Also clears the ride's waypoint and passenger rows
+		rideRepository.deleteAllByIdInBatch(rideIds);
+		archivedRides.increment(rides.size());
+
+		AfterCommit.run(() -> {
+			for (Long rideId : rideIds) {
+				rideSearchIndex.remove(rideId);
+				rideGeoIndex.remove(rideId);
+				rideRouteIndex.remove(rideId);
+			}
+		});
+		return rideIds.size();
+	}
+
+	private int archiveClosedBookings(LocalDateTime cutoff) {
+		List<Long> bookingIds = bookingRepository.findClosedIds(CLOSED_STATUSES, cutoff, Limit.of(batchSize));
+		if (!bookingIds.isEmpty()) {
+			moveBookings(bookingRepository.findByIdIn(bookingIds), LocalDateTime.now());
+		}
+		return bookingIds.size();
+	}
+
+	private void moveBookings(List<Booking> bookings, LocalDateTime now) {
+		if (bookings.isEmpty()) {
+			return;
+		}
+		List<ArchivedBooking> archivedRows = new ArrayList<>(bookings.size());
+		for (Booking booking : bookings) {
+			archivedRows.add(ArchiveMapper.toArchive(booking, now));
+		}
+		archivedBookingRepository.saveAll(archivedRows);
+		bookingRepository.deleteAllByIdInBatch(bookings.stream().map(Booking::getId).toList());
+		archivedBookings.increment(bookings.size());
+	}
+}
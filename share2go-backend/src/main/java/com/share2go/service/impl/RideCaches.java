@@ -0,0 +1,37 @@
+package com.share2go.service.impl;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached ride details and driver ride lists when a ride changes.
+ *
+ * The caches are transaction aware, so inside a transaction an eviction
+ * happens only once it commits and readers never reload the value that is
+ * about to change. Loads are synchronized per key, so an eviction that races a
+ * load waits for it and removes what it loaded.
+ */
+@Component
+public class RideCaches {
+
+	public static final String RIDES = "rides";
+	public static final String DRIVER_RIDES = "driverRides";
+
+	private final Cache rides;
+	private final Cache driverRides;
+
+	public RideCaches(CacheManager cacheManager) {
+		this.rides = cacheManager.getCache(RIDES);
+		this.driverRides = cacheManager.getCache(DRIVER_RIDES);
+	}
+
+	public void evict(Long rideId, Long driverId) {
+		rides.evict(rideId);
+		evictDriver(driverId);
+	}
+
+	public void evictDriver(Long driverId) {
+		driverRides.evict(driverId);
+	}
+}
@@ -0,0 +1,83 @@
+package com.share2go.service.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.share2go.dto.RideScheduleDTO;
+import com.share2go.mapper.RideScheduleMapper;
+import com.share2go.model.RideSchedule;
+import com.share2go.model.User;
+import com.share2go.repository.RideRepository;
+import com.share2go.repository.RideScheduleRepository;
+import com.share2go.repository.UserRepository;
+import com.share2go.search.RideScheduleIndex;
+import com.share2go.service.RideScheduleService;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Stores recurring rides as a single schedule row. Searches list their
+ * occurrences from RideScheduleIndex, and RideServiceImpl creates the ride for
+ * an occurrence when it is first booked.
+ */
+@Service
+public class RideScheduleServiceImpl implements RideScheduleService {
+
+	private final RideScheduleRepository scheduleRepository;
+	private final RideRepository rideRepository;
+	private final UserRepository userRepository;
+	private final RideScheduleIndex scheduleIndex;
+
+	public RideScheduleServiceImpl(RideScheduleRepository scheduleRepository, RideRepository rideRepository,
+			UserRepository userRepository, RideScheduleIndex scheduleIndex) {
+		this.scheduleRepository = scheduleRepository;
+		this.rideRepository = rideRepository;
+		this.userRepository = userRepository;
+		this.scheduleIndex = scheduleIndex;
+	}
+
+	@Override
+	@Transactional
+	public RideScheduleDTO createSchedule(RideScheduleDTO scheduleDTO, Long driverId) {
+		User driver = userRepository.findById(driverId)
+				.orElseThrow(() -> new EntityNotFoundException("Driver not found"));
+		if (scheduleDTO.getDepartureTime() == null) {
+			throw new IllegalArgumentException("A schedule needs a departure time");
+		}
+		if (scheduleDTO.getAvailableSeats() <= 0) {
+			throw new IllegalArgumentException("Available seats must be greater than zero");
+		}
+
+		RideSchedule schedule = RideScheduleMapper.toEntity(scheduleDTO, driver);
+		if (schedule.getEndDate() != null && schedule.getEndDate().isBefore(schedule.getStartDate())) {
+			throw new IllegalArgumentException("A schedule cannot end before it starts");
+		}
+
+		RideSchedule savedSchedule = scheduleRepository.save(schedule);
+		AfterCommit.run(() -> scheduleIndex.index(savedSchedule));
+		return RideScheduleMapper.toDTO(savedSchedule);
+	}
+
+	@Override
+	public List<RideScheduleDTO> getSchedulesByDriver(Long driverId) {
+		return scheduleRepository.findByDriverIdOrderById(driverId).stream().map(RideScheduleMapper::toDTO)
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Stops the schedule. Occurrences that were already booked keep their rides,
+	 * which become ordinary rides.
+	 */
+	@Override
+	@Transactional
+	public void deleteSchedule(Long id) {
+		RideSchedule schedule = scheduleRepository.findByIdForUpdate(id)
+				.orElseThrow(() -> new EntityNotFoundException("Schedule not found"));
+		rideRepository.detachSchedule(id);
+		scheduleRepository.delete(schedule);
+		AfterCommit.run(() -> scheduleIndex.remove(id));
+	}
+}
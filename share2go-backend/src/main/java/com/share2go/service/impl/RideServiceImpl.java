@@ -1,87 +1,492 @@
 package com.share2go.service.impl;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.share2go.dto.CursorPage;
 import com.share2go.dto.RideDTO;
+import com.share2go.dto.RideMatchDTO;
+import com.share2go.mapper.ArchiveMapper;
 import com.share2go.mapper.RideMapper;
+import com.share2go.mapper.RideScheduleMapper;
 import com.share2go.model.Ride;
+import com.share2go.model.RideSchedule;
+import com.share2go.model.RideSegment;
 import com.share2go.model.User;
+import com.share2go.repository.ArchivedRideRepository;
+import com.share2go.repository.BookingRepository;
+import com.share2go.repository.RidePassengerId;
 import com.share2go.repository.RideRepository;
+import com.share2go.repository.RideScheduleRepository;
+import com.share2go.repository.RideSegmentRepository;
+import com.share2go.repository.RideWaypoint;
 import com.share2go.repository.UserRepository;
+import com.share2go.search.RideGeoIndex;
+import com.share2go.search.RideRankEntry;
+import com.share2go.search.RideRanker;
+import com.share2go.search.RideRouteIndex;
+import com.share2go.search.RideScheduleIndex;
+import com.share2go.search.RideSearchCache;
+import com.share2go.search.RideSearchEntry;
+import com.share2go.search.RideSearchIndex;
+import com.share2go.search.RideSort;
+import com.share2go.search.RouteMatch;
+import com.share2go.search.ScheduleOccurrence;
 import com.share2go.service.RideService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 
 @Service
 
 public class RideServiceImpl implements RideService {
 
+	private static final int ID_BATCH_SIZE = 1000;
+
 	private final RideRepository rideRepository;
 	private final UserRepository userRepository;
+	private final RideSearchIndex rideSearchIndex;
+	private final RideSearchCache rideSearchCache;
+	private final RideGeoIndex rideGeoIndex;
+	private final RideRouteIndex rideRouteIndex;
+	private final RideScheduleIndex scheduleIndex;
+	private final RideRanker rideRanker;
+	private final RideSegmentRepository segmentRepository;
+	private final RideScheduleRepository scheduleRepository;
+	private final BookingRepository bookingRepository;
+	private final ArchivedRideRepository archivedRideRepository;
+	private final SeatInventory seatInventory;
+	private final RideCaches rideCaches;
+	private final DriverDashboardProjection dashboard;
+	private final Timer textSearch;
+	private final Timer departureSearch;
+	private final Timer nearbySearch;
+	private final Timer routeSearch;
+	private final Duration scheduleHorizon;
 
-	public RideServiceImpl(RideRepository rideRepository, UserRepository userRepository) {
+	public RideServiceImpl(RideRepository rideRepository, UserRepository userRepository,
+			RideSearchIndex rideSearchIndex, RideSearchCache rideSearchCache, RideGeoIndex rideGeoIndex,
+			RideRouteIndex rideRouteIndex, RideScheduleIndex scheduleIndex, RideRanker rideRanker,
+			RideSegmentRepository segmentRepository, RideScheduleRepository scheduleRepository,
+			BookingRepository bookingRepository, ArchivedRideRepository archivedRideRepository,
+			SeatInventory seatInventory, RideCaches rideCaches, DriverDashboardProjection dashboard, MeterRegistry meterRegistry,
+			@Value("${share2go.schedules.search-horizon:P7D}") Duration scheduleHorizon) {
 		super();
 		this.rideRepository = rideRepository;
 		this.userRepository = userRepository;
+		this.rideSearchIndex = rideSearchIndex;
+		this.rideSearchCache = rideSearchCache;
+		this.rideGeoIndex = rideGeoIndex;
+		this.rideRouteIndex = rideRouteIndex;
+		this.scheduleIndex = scheduleIndex;
+		this.rideRanker = rideRanker;
+		this.segmentRepository = segmentRepository;
+		this.scheduleRepository = scheduleRepository;
+		this.bookingRepository = bookingRepository;
+		this.archivedRideRepository = archivedRideRepository;
+		this.seatInventory = seatInventory;
+		this.rideCaches = rideCaches;
+		this.dashboard = dashboard;
+		this.textSearch = meterRegistry.timer("share2go.rides.search", "type", "text");
+		this.departureSearch = meterRegistry.timer("share2go.rides.search", "type", "departure");
+		this.nearbySearch = meterRegistry.timer("share2go.rides.search", "type", "nearby");
+		this.routeSearch = meterRegistry.timer("share2go.rides.search", "type", "route");
+		this.scheduleHorizon = scheduleHorizon;
 	}
 
 	@Override
+	@Transactional
 	public RideDTO createRide(RideDTO rideDTO, Long driverId) {
+		checkCoordinates(rideDTO);
 		User driver = userRepository.findById(driverId)
 				.orElseThrow(() -> new EntityNotFoundException("Driver not found"));
 
 		Ride ride = RideMapper.toEntity(rideDTO, driver);
 		Ride savedRide = rideRepository.save(ride);
+		if (savedRide.getWaypointCount() > 0) {
+			seatInventory.resetSegments(savedRide);
+		}
+		AfterCommit.run(() -> {
+			rideSearchIndex.index(savedRide);
+			rideSearchCache.invalidate(searchEntry(savedRide));
+			rideGeoIndex.index(savedRide);
+			rideRouteIndex.index(savedRide);
+		});
+		rideCaches.evictDriver(driverId);
+		dashboard.rideSaved(savedRide);
 
 		return RideMapper.toDTO(savedRide);
 	}
 
 	@Override
+	@Cacheable(cacheNames = RideCaches.RIDES, key = "#id", sync = true)
 	public RideDTO getRideById(Long id) {
 		Ride ride = rideRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Ride not found"));
-		return RideMapper.toDTO(ride);
+		return toDTOs(List.of(ride)).get(0);
 	}
 
 	@Override
-	public List<RideDTO> getAllRides() {
-		return rideRepository.findAll().stream().map(RideMapper::toDTO).collect(Collectors.toList());
+	public CursorPage<RideDTO> getAllRides(Long cursor, int size) {
+		List<Ride> rides = rideRepository.findByIdGreaterThanOrderByIdAsc(cursor != null ? cursor : 0L,
+				Limit.of(size + 1));
+		return CursorPage.of(rides, size, Ride::getId, Function.identity()).mapItems(this::toDTOs);
 	}
 
+	/**
+	 * Lists matching rides by id, followed by the occurrences of matching
+	 * schedules within the schedule horizon that nobody has booked yet.
+	 */
 	@Override
 	public List<RideDTO> searchRides(String origin, String destination, LocalDateTime departureTime) {
-		if (departureTime == null) {
-			departureTime = LocalDateTime.now();
+		LocalDateTime from = departureTime != null ? departureTime : LocalDateTime.now();
+		List<ScheduleOccurrence> occurrences = scheduleIndex.occurrences(origin, destination, from,
+				from.plus(scheduleHorizon));
+		if (!RideSearchIndex.hasTextCriteria(origin, destination)) {
+			return departureSearch.record(() -> withOccurrences(
+					toDTOs(rideRepository.findByDepartureTimeGreaterThanEqualOrderById(from)), occurrences));
+		}
+
+		return textSearch.record(() -> withOccurrences(
+				findRidesInOrder(rideSearchCache.search(origin, destination, from)), occurrences));
+	}
+
+	/**
+	 * Ranks the matching rides on a few columns each and loads only the best
+	 * ones in full, so the response stays small however many rides match.
+	 */
+	@Override
+	public List<RideDTO> searchRides(String origin, String destination, LocalDateTime departureTime, RideSort sort,
+			int limit) {
+		LocalDateTime from = departureTime != null ? departureTime : LocalDateTime.now();
+		List<ScheduleOccurrence> occurrences = scheduleIndex.occurrences(origin, destination, from,
+				from.plus(scheduleHorizon));
+		if (!RideSearchIndex.hasTextCriteria(origin, destination)) {
+			return departureSearch.record(
+					() -> ranked(rideRepository.findRankEntriesDepartingFrom(from), occurrences, sort, from, limit));
 		}
-		return rideRepository.searchRides(origin, destination, departureTime)
-				.stream().map(RideMapper::toDTO).collect(Collectors.toList());
+
+		return textSearch.record(() -> {
+			List<Long> ids = rideSearchCache.search(origin, destination, from);
+			List<RideRankEntry> rides = new ArrayList<>(ids.size());
+			for (int start = 0; start < ids.size(); start += ID_BATCH_SIZE) {
+				rides.addAll(rideRepository
+						.findRankEntries(ids.subList(start, Math.min(start + ID_BATCH_SIZE, ids.size()))));
+			}
+			return ranked(rides, occurrences, sort, from, limit);
+		});
 	}
 
 	@Override
+	public List<RideDTO> findNearbyRides(double originLat, double originLng, double destinationLat,
+			double destinationLng, double radiusKm, LocalDateTime departureTime) {
+		if (radiusKm <= 0 || radiusKm > RideGeoIndex.MAX_RADIUS_KM) {
+			throw new IllegalArgumentException("Radius must be between 0 and " + RideGeoIndex.MAX_RADIUS_KM + " km");
+		}
+		RideGeoIndex.checkCoordinates(originLat, originLng);
+		RideGeoIndex.checkCoordinates(destinationLat, destinationLng);
+		LocalDateTime from = departureTime != null ? departureTime : LocalDateTime.now();
+		return nearbySearch.record(() -> findRidesInOrder(
+				rideGeoIndex.nearby(originLat, originLng, destinationLat, destinationLng, radiusKm, from)));
+	}
+
+	@Override
+	@Transactional
 	public RideDTO updateRide(Long id, RideDTO rideDTO) {
+		checkCoordinates(rideDTO);
 		Ride ride = rideRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Ride not found"));
 
+		List<String> waypoints = RideMapper.waypoints(rideDTO.getWaypoints());
+		boolean routeChanged = !waypoints.equals(ride.getWaypointCount() > 0 ? ride.getWaypoints() : List.of());
+		if (routeChanged && bookingRepository.existsPartialRouteBookings(id)) {
+			throw new IllegalStateException("Waypoints cannot change while bookings on part of the route hold seats");
+		}
+		int seatChange = rideDTO.getAvailableSeats() - ride.getAvailableSeats();
+		RideSearchEntry previous = searchEntry(ride);
+		if (ride.getSchedule() != null && !Objects.equals(rideDTO.getDepartureTime(), ride.getDepartureTime())) {
+			// Moved off its occurrence, the ride stands alone and the occurrence is listed again
+			Long scheduleId = ride.getSchedule().getId();
+			LocalDateTime occurrence = ride.getDepartureTime();
+			AfterCommit.run(() -> scheduleIndex.dematerialized(scheduleId, occurrence));
+			ride.setSchedule(null);
+		}
+
 		ride.setOrigin(rideDTO.getOrigin());
 		ride.setDestination(rideDTO.getDestination());
 		ride.setDepartureTime(rideDTO.getDepartureTime());
 		ride.setAvailableSeats(rideDTO.getAvailableSeats());
 		ride.setPricePerSeat(rideDTO.getPricePerSeat());
+		ride.setOriginLat(rideDTO.getOriginLat());
+		ride.setOriginLng(rideDTO.getOriginLng());
+		ride.setDestinationLat(rideDTO.getDestinationLat());
+		ride.setDestinationLng(rideDTO.getDestinationLng());
+		if (routeChanged) {
+			ride.getWaypoints().clear();
+			ride.getWaypoints().addAll(waypoints);
+			ride.setWaypointCount(waypoints.size());
+		}
 
 		Ride updatedRide = rideRepository.save(ride);
-		return RideMapper.toDTO(updatedRide);
+		if (routeChanged) {
+			seatInventory.resetSegments(updatedRide);
+		} else if (updatedRide.getWaypointCount() > 0) {
+			seatInventory.shiftSegments(id, seatChange);
+		}
+		AfterCommit.run(() -> {
+			rideSearchIndex.index(updatedRide);
+			rideSearchCache.invalidate(previous);
+			rideSearchCache.invalidate(searchEntry(updatedRide));
+			rideGeoIndex.index(updatedRide);
+			rideRouteIndex.index(updatedRide);
+		});
+		rideCaches.evict(id, updatedRide.getDriver().getId());
+		dashboard.rideSaved(updatedRide);
+		return toDTOs(List.of(updatedRide)).get(0);
 	}
 
 	@Override
+	@Transactional
 	public void deleteRide(Long id) {
 		Ride ride = rideRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Ride not found"));
+		RideSearchEntry entry = searchEntry(ride);
+		Long scheduleId = ride.getSchedule() != null ? ride.getSchedule().getId() : null;
 		rideRepository.delete(ride);
+		AfterCommit.run(() -> {
+			rideSearchIndex.remove(id);
+			rideSearchCache.invalidate(entry);
+			rideGeoIndex.remove(id);
+			rideRouteIndex.remove(id);
+			if (scheduleId != null) {
+				scheduleIndex.dematerialized(scheduleId, entry.departureTime());
+			}
+		});
+		rideCaches.evict(id, ride.getDriver().getId());
+		dashboard.rideDeleted(id);
+	}
+
+	/**
+	 * Returns the ride for an occurrence of the schedule, creating it the first
+	 * time the occurrence is booked. The schedule's row lock makes concurrent
+	 * first bookings share one ride. The indexes pick the ride up only once it
+	 * commits, so a booking that fails leaves the occurrence listed as before.
+	 */
+	@Override
+	@Transactional
+	public Long materializeOccurrence(Long scheduleId, LocalDateTime departureTime) {
+		RideSchedule schedule = scheduleRepository.findByIdForUpdate(scheduleId)
+				.orElseThrow(() -> new EntityNotFoundException("Schedule not found"));
+		if (departureTime == null || departureTime.isBefore(LocalDateTime.now()) || !schedule.occursAt(departureTime)) {
+			throw new IllegalArgumentException("The schedule has no upcoming ride at " + departureTime);
+		}
+		Optional<Ride> existing = rideRepository.findScheduledForUpdate(scheduleId, departureTime);
+		if (existing.isPresent()) {
+			return existing.get().getId();
+		}
+
+		Ride ride = rideRepository.save(RideScheduleMapper.toRide(schedule, departureTime));
+		rideCaches.evictDriver(schedule.getDriver().getId());
+		dashboard.rideSaved(ride);
+		AfterCommit.run(() -> {
+			rideSearchIndex.index(ride);
+			rideSearchCache.invalidate(searchEntry(ride));
+			rideGeoIndex.index(ride);
+			rideRouteIndex.index(ride);
+			scheduleIndex.materialized(scheduleId, departureTime);
+		});
+		return ride.getId();
 	}
 
+	/**
+	 * Finds rides that pass the boarding stop and later the alighting stop and
+	 * still have the seats free on every segment in between.
+	 */
 	@Override
-	public List<RideDTO> getRidesByDriver(Long driverId) {
-		return rideRepository.findByDriverId(driverId).stream().map(RideMapper::toDTO).collect(Collectors.toList());
+	public List<RideMatchDTO> matchRoute(String from, String to, LocalDateTime departureTime, int seats) {
+		if (seats <= 0) {
+			throw new IllegalArgumentException("Requested seats must be greater than zero");
+		}
+		LocalDateTime start = departureTime != null ? departureTime : LocalDateTime.now();
+		return routeSearch.record(() -> {
+			List<RouteMatch> matches = rideRouteIndex.match(from, to, start);
+			Map<Long, RouteMatch> byRide = matches.stream()
+					.collect(Collectors.toMap(RouteMatch::rideId, Function.identity()));
+			List<RideDTO> rides = findRidesInOrder(matches.stream().map(RouteMatch::rideId).toList());
+			Map<Long, Map<Integer, Integer>> segmentSeats = segmentSeats(rides);
+
+			List<RideMatchDTO> result = new ArrayList<>();
+			for (RideDTO ride : rides) {
+				RouteMatch match = byRide.get(ride.getId());
+				Map<Integer, Integer> segments = segmentSeats.get(ride.getId());
+				int available = segments == null ? ride.getAvailableSeats() : Integer.MAX_VALUE;
+				for (int position = match.boardStop(); segments != null && position < match.alightStop(); position++) {
+					available = Math.min(available, segments.getOrDefault(position, 0));
+				}
+				if (available >= seats) {
+					result.add(new RideMatchDTO(ride, match.boardStop(), match.alightStop(), available));
+				}
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * Only the first page at the default size is cached, so RideCaches can
+	 * evict a driver's list by driver id alone.
+	 */
+	@Override
+	@Cacheable(cacheNames = RideCaches.DRIVER_RIDES, key = "#driverId", sync = true,
+			condition = "#cursor == null && #size == T(com.share2go.dto.CursorPage).DEFAULT_SIZE")
+	public CursorPage<RideDTO> getRidesByDriver(Long driverId, Long cursor, int size) {
+		List<Ride> rides = rideRepository.findByDriverIdAndIdGreaterThanOrderByIdAsc(driverId,
+				cursor != null ? cursor : 0L, Limit.of(size + 1));
+		return CursorPage.of(rides, size, Ride::getId, Function.identity()).mapItems(this::toDTOs);
+	}
+
+	/**
+	 * Rides RideArchiver has moved out of the rides table, latest first.
+	 */
+	@Override
+	public List<RideDTO> getArchivedRidesByDriver(Long driverId) {
+		return archivedRideRepository.findByDriverIdOrderByDepartureTimeDesc(driverId).stream()
+				.map(ArchiveMapper::toDTO).collect(Collectors.toList());
+	}
+
+	private List<RideDTO> withOccurrences(List<RideDTO> rides, List<ScheduleOccurrence> occurrences) {
+		if (occurrences.isEmpty()) {
+			return rides;
+		}
+		List<RideDTO> all = new ArrayList<>(rides.size() + occurrences.size());
+		all.addAll(rides);
+		all.addAll(occurrenceDTOs(occurrences).values());
+		return all;
+	}
+
+	/**
+	 * Ranks rides and schedule occurrences together, then loads only the rides
+	 * and schedules that made the cut.
+	 */
+	private List<RideDTO> ranked(List<RideRankEntry> rides, List<ScheduleOccurrence> occurrences, RideSort sort,
+			LocalDateTime from, int limit) {
+		List<Candidate> candidates = new ArrayList<>(rides.size() + occurrences.size());
+		rides.forEach(ride -> candidates.add(new Candidate(ride, null)));
+		occurrences.forEach(occurrence -> candidates.add(new Candidate(new RideRankEntry(null,
+				occurrence.departureTime(), occurrence.pricePerSeat(), occurrence.availableSeats()), occurrence)));
+		List<Candidate> best = rideRanker.top(candidates, Candidate::entry, sort, from, limit);
+
+		List<Long> rideIds = best.stream().filter(candidate -> candidate.occurrence() == null)
+				.map(candidate -> candidate.entry().id()).toList();
+		Map<Long, RideDTO> bestRides = findRidesInOrder(rideIds).stream()
+				.collect(Collectors.toMap(RideDTO::getId, Function.identity()));
+		Map<ScheduleOccurrence, RideDTO> bestOccurrences = occurrenceDTOs(
+				best.stream().map(Candidate::occurrence).filter(Objects::nonNull).toList());
+		return best.stream()
+				.map(candidate -> candidate.occurrence() == null ? bestRides.get(candidate.entry().id())
+						: bestOccurrences.get(candidate.occurrence()))
+				.filter(Objects::nonNull).collect(Collectors.toList());
+	}
+
+	/**
+	 * Maps occurrences to rides that do not exist yet, in the given order, with
+	 * one query per ID_BATCH_SIZE schedules.
+	 */
+	private Map<ScheduleOccurrence, RideDTO> occurrenceDTOs(List<ScheduleOccurrence> occurrences) {
+		List<Long> scheduleIds = occurrences.stream().map(ScheduleOccurrence::scheduleId).distinct().toList();
+		Map<Long, RideSchedule> schedules = new HashMap<>();
+		for (int from = 0; from < scheduleIds.size(); from += ID_BATCH_SIZE) {
+			for (RideSchedule schedule : scheduleRepository
+					.findByIdIn(scheduleIds.subList(from, Math.min(from + ID_BATCH_SIZE, scheduleIds.size())))) {
+				schedules.put(schedule.getId(), schedule);
+			}
+		}
+		Map<ScheduleOccurrence, RideDTO> dtos = new LinkedHashMap<>();
+		for (ScheduleOccurrence occurrence : occurrences) {
+			RideSchedule schedule = schedules.get(occurrence.scheduleId());
+			if (schedule != null) {
+				dtos.put(occurrence, RideScheduleMapper.toOccurrenceDTO(schedule, occurrence.departureTime()));
+			}
+		}
+		return dtos;
+	}
+
+	private static void checkCoordinates(RideDTO ride) {
+		RideGeoIndex.checkCoordinates(ride.getOriginLat(), ride.getOriginLng());
+		RideGeoIndex.checkCoordinates(ride.getDestinationLat(), ride.getDestinationLng());
+	}
+
+	private static RideSearchEntry searchEntry(Ride ride) {
+		return new RideSearchEntry(ride.getId(), ride.getOrigin(), ride.getDestination(), ride.getDepartureTime());
+	}
+
+	private List<RideDTO> findRidesInOrder(List<Long> ids) {
+		List<Ride> rides = new ArrayList<>(ids.size());
+		for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+			rides.addAll(rideRepository.findAllById(ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()))));
+		}
+		Map<Long, Ride> byId = rides.stream().collect(Collectors.toMap(Ride::getId, Function.identity()));
+		return toDTOs(ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList()));
+	}
+
+	/**
+	 * Maps rides whose driver is already loaded, fetching passenger ids for the
+	 * whole list with one query per ID_BATCH_SIZE rides instead of one per ride.
+	 */
+	private List<RideDTO> toDTOs(List<Ride> rides) {
+		Map<Long, List<Long>> passengerIds = new HashMap<>();
+		List<Long> rideIds = rides.stream().map(Ride::getId).collect(Collectors.toList());
+		for (int from = 0; from < rideIds.size(); from += ID_BATCH_SIZE) {
+			for (RidePassengerId link : rideRepository
+					.findPassengerIds(rideIds.subList(from, Math.min(from + ID_BATCH_SIZE, rideIds.size())))) {
+				passengerIds.computeIfAbsent(link.rideId(), id -> new ArrayList<>()).add(link.passengerId());
+			}
+		}
+		// Only rides with waypoints cost a query, in batches like the passenger ids
+		Map<Long, List<String>> waypoints = new HashMap<>();
+		List<Long> routedIds = rides.stream().filter(ride -> ride.getWaypointCount() > 0).map(Ride::getId).toList();
+		for (int from = 0; from < routedIds.size(); from += ID_BATCH_SIZE) {
+			for (RideWaypoint waypoint : rideRepository
+					.findWaypoints(routedIds.subList(from, Math.min(from + ID_BATCH_SIZE, routedIds.size())))) {
+				waypoints.computeIfAbsent(waypoint.rideId(), id -> new ArrayList<>()).add(waypoint.name());
+			}
+		}
+		return rides.stream()
+				.map(ride -> RideMapper.toDTO(ride, passengerIds.getOrDefault(ride.getId(), List.of()),
+						waypoints.getOrDefault(ride.getId(), List.of())))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Free seats per segment position for the rides that have waypoints, with
+	 * one query per ID_BATCH_SIZE rides.
+	 */
+	private Map<Long, Map<Integer, Integer>> segmentSeats(List<RideDTO> rides) {
+		Map<Long, Map<Integer, Integer>> seats = new HashMap<>();
+		List<Long> routedIds = rides.stream().filter(ride -> !ride.getWaypoints().isEmpty()).map(RideDTO::getId)
+				.toList();
+		for (int from = 0; from < routedIds.size(); from += ID_BATCH_SIZE) {
+			for (RideSegment segment : segmentRepository
+					.findByRideIdIn(routedIds.subList(from, Math.min(from + ID_BATCH_SIZE, routedIds.size())))) {
+				seats.computeIfAbsent(segment.getRide().getId(), id -> new HashMap<>()).put(segment.getPosition(),
+						segment.getAvailableSeats());
+			}
+		}
+		return seats;
+	}
+
+	private record Candidate(RideRankEntry entry, ScheduleOccurrence occurrence) {
 	}
 }
@@ -0,0 +1,192 @@
+package com.share2go.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.event.BookingEvent;
+import com.share2go.model.Booking;
+import com.share2go.repository.BookingHold;
+import com.share2go.repository.BookingRepository;
+import com.share2go.service.impl.SeatInventory.Leg;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Releases the seats held by PENDING bookings once their hold runs out.
+ *
+ * Hold deadlines sit in a DelayQueue, so each tick only touches holds that
+ * are actually due. A slower sweep over the (status, hold_expires_at) index
+ * catches holds registered by another instance or lost in a restart.
+ */
+@Component
+public class SeatHoldExpiry implements SmartInitializingSingleton {
+
+	private static final int LOAD_BATCH_SIZE = 1000;
+
+	private final BookingRepository bookingRepository;
+	private final SeatInventory seatInventory;
+	private final ApplicationEventPublisher events;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration ttl;
+	private final int batchSize;
+
+	private final DelayQueue<Hold> deadlines = new DelayQueue<>();
+	private final Map<Long, Hold> activeHolds = new ConcurrentHashMap<>();
+
+	private final Counter created;
+	private final Counter expired;
+	private final Counter released;
+	private final Counter expiredTransitions;
+
+	public SeatHoldExpiry(BookingRepository bookingRepository, SeatInventory seatInventory,
+			ApplicationEventPublisher events, PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry, @Value("${share2go.booking.hold-ttl:PT15M}") Duration ttl,
+			@Value("${share2go.booking.hold-expiry-batch-size:100}") int batchSize) {
+		this.bookingRepository = bookingRepository;
+		this.seatInventory = seatInventory;
+		this.events = events;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.ttl = ttl;
+		this.batchSize = batchSize;
+		this.created = meterRegistry.counter("share2go.seat.holds.created");
+		this.expired = meterRegistry.counter("share2go.seat.holds.expired");
+		this.released = meterRegistry.counter("share2go.seat.holds.released");
+		this.expiredTransitions = meterRegistry.counter("share2go.bookings.transitions", "from", "PENDING", "to",
+				"EXPIRED");
+		Gauge.builder("share2go.seat.holds.active", activeHolds, Map::size).register(meterRegistry);
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		Long afterId = 0L;
+		List<BookingHold> batch;
+		do {
+			batch = bookingRepository.findActiveHolds(afterId, Limit.of(LOAD_BATCH_SIZE));
+			for (BookingHold hold : batch) {
+				track(hold.bookingId(), hold.expiresAt());
+				afterId = hold.bookingId();
+			}
+		} while (batch.size() == LOAD_BATCH_SIZE);
+	}
+
+	public LocalDateTime deadlineFromNow() {
+		return LocalDateTime.now().plus(ttl);
+	}
+
+	/**
+	 * Starts tracking a hold once the transaction that created it commits.
+	 */
+	public void holdCreated(Long bookingId, LocalDateTime expiresAt) {
+		AfterCommit.run(() -> {
+			track(bookingId, expiresAt);
+			created.increment();
+		});
+	}
+
+	/**
+	 * Stops tracking a hold that was turned into a confirmed booking.
+	 */
+	public void holdConfirmed(Long bookingId) {
+		AfterCommit.run(() -> activeHolds.remove(bookingId));
+	}
+
+	/**
+	 * Stops tracking a hold whose seats were given back before it expired.
+	 */
+	public void holdReleased(Long bookingId) {
+		AfterCommit.run(() -> {
+			if (activeHolds.remove(bookingId) != null) {
+				released.increment();
+			}
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${share2go.booking.hold-expiry-interval:PT1S}")
+	public void expireDueHolds() {
+		List<Long> due;
+		do {
+			due = new ArrayList<>();
+			Hold hold;
+			while (due.size() < batchSize && (hold = deadlines.poll()) != null) {
+				// Holds confirmed or released in the meantime are dropped lazily here
+				if (activeHolds.remove(hold.bookingId(), hold)) {
+					due.add(hold.bookingId());
+				}
+			}
+			if (!due.isEmpty()) {
+				expire(due);
+			}
+		} while (due.size() == batchSize);
+	}
+
+	@Scheduled(fixedDelayString = "${share2go.booking.hold-sweep-interval:PT1M}")
+	public void sweepExpiredHolds() {
+		List<Long> ids;
+		do {
+			ids = bookingRepository.findExpiredHoldIds(LocalDateTime.now(), Limit.of(batchSize));
+			if (!ids.isEmpty()) {
+				ids.forEach(activeHolds::remove);
+				expire(ids);
+			}
+		} while (ids.size() == batchSize);
+	}
+
+	private void expire(Collection<Long> bookingIds) {
+		List<Booking> bookings = transactionTemplate.execute(status -> {
+			List<Booking> expiredBookings = bookingRepository.findExpiredHoldsForUpdate(bookingIds,
+					LocalDateTime.now());
+			Map<Leg, Integer> seatsByLeg = expiredBookings.stream().collect(Collectors.groupingBy(Leg::of,
+					() -> new TreeMap<>(Leg.ORDER), Collectors.summingInt(Booking::getNumberOfSeats)));
+			seatsByLeg.forEach(seatInventory::release);
+			for (Booking booking : expiredBookings) {
+				booking.setStatus("EXPIRED");
+				booking.setHoldExpiresAt(null);
+				events.publishEvent(BookingEvent.of(BookingEvent.Type.EXPIRED, "PENDING", booking));
+			}
+			return expiredBookings;
+		});
+		expired.increment(bookings.size());
+		expiredTransitions.increment(bookings.size());
+	}
+
+	private void track(Long bookingId, LocalDateTime expiresAt) {
+		long delayNanos = Duration.between(LocalDateTime.now(), expiresAt).toNanos();
+		Hold hold = new Hold(bookingId, System.nanoTime() + delayNanos);
+		activeHolds.put(bookingId, hold);
+		deadlines.add(hold);
+	}
+
+	private record Hold(Long bookingId, long deadlineNanos) implements Delayed {
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return Long.compare(deadlineNanos, ((Hold) other).deadlineNanos);
+		}
+	}
+}
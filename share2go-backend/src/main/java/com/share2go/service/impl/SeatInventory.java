@@ -0,0 +1,175 @@
+package com.share2go.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.share2go.model.Booking;
+import com.share2go.model.Ride;
+import com.share2go.model.RideSegment;
+import com.share2go.repository.RideRepository;
+import com.share2go.repository.RideSegmentRepository;
+
+/**
+ * Moves seats in and out of a ride with single conditional UPDATE statements,
+ * so concurrent reservations can never take the seat count below zero. Callers
+ * run inside their own transaction and roll back if a reservation fails.
+ * Cached views of the ride are evicted once the change commits, and the
+ * driver dashboard row picks up the new count in the same transaction.
+ *
+ * Rides with waypoints also keep one seat count per segment. Their seats are
+ * moved under the ride's row lock, and the ride's own count follows the
+ * fullest segment, which is what a whole-route booking can still get.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class SeatInventory {
+
+	private final RideRepository rideRepository;
+	private final RideSegmentRepository segmentRepository;
+	private final RideCaches rideCaches;
+	private final DriverDashboardProjection dashboard;
+
+	public SeatInventory(RideRepository rideRepository, RideSegmentRepository segmentRepository,
+			RideCaches rideCaches, DriverDashboardProjection dashboard) {
+		this.rideRepository = rideRepository;
+		this.segmentRepository = segmentRepository;
+		this.rideCaches = rideCaches;
+		this.dashboard = dashboard;
+	}
+
+	/**
+	 * Takes the given number of seats from the ride, or returns false and leaves
+	 * it untouched if fewer seats are left.
+	 */
+	public boolean tryReserve(Long rideId, int seats) {
+		return tryReserve(Leg.wholeRoute(rideId), seats);
+	}
+
+	/**
+	 * Takes the given number of seats on every segment of the leg, or returns
+	 * false and leaves the ride untouched if one of them has fewer seats left.
+	 */
+	public boolean tryReserve(Leg leg, int seats) {
+		if (seats <= 0) {
+			return true;
+		}
+		Ride ride = rideRepository.getReferenceById(leg.rideId());
+		if (ride.getWaypointCount() == 0) {
+			leg.checkStops(ride);
+			if (rideRepository.reserveSeats(leg.rideId(), seats) != 1) {
+				return false;
+			}
+		} else {
+			int to = leg.toStop(ride);
+			rideRepository.lockSeats(leg.rideId());
+			if (segmentRepository.countShortSegments(leg.rideId(), leg.fromStop(), to, seats) > 0) {
+				return false;
+			}
+			segmentRepository.addSeats(leg.rideId(), leg.fromStop(), to, -seats);
+			rideRepository.refreshSeatsFromSegments(leg.rideId());
+		}
+		seatsChanged(leg.rideId());
+		return true;
+	}
+
+	public void release(Long rideId, int seats) {
+		release(Leg.wholeRoute(rideId), seats);
+	}
+
+	public void release(Leg leg, int seats) {
+		if (seats <= 0) {
+			return;
+		}
+		Ride ride = rideRepository.getReferenceById(leg.rideId());
+		if (ride.getWaypointCount() == 0) {
+			if (rideRepository.releaseSeats(leg.rideId(), seats) == 1) {
+				seatsChanged(leg.rideId());
+			}
+			return;
+		}
+		rideRepository.lockSeats(leg.rideId());
+		segmentRepository.addSeats(leg.rideId(), leg.fromStop(), leg.toStop(ride), seats);
+		rideRepository.refreshSeatsFromSegments(leg.rideId());
+		seatsChanged(leg.rideId());
+	}
+
+	/**
+	 * Gives a ride one seat count per segment between its stops, all starting
+	 * at the ride's seat count, or none when it has no waypoints.
+	 */
+	public void resetSegments(Ride ride) {
+		segmentRepository.deleteByRideId(ride.getId());
+		List<RideSegment> segments = new ArrayList<>();
+		for (int position = 0; ride.getWaypointCount() > 0 && position <= ride.getWaypointCount(); position++) {
+			RideSegment segment = new RideSegment();
+			segment.setRide(ride);
+			segment.setPosition(position);
+			segment.setAvailableSeats(ride.getAvailableSeats());
+			segments.add(segment);
+		}
+		segmentRepository.saveAll(segments);
+	}
+
+	/**
+	 * Moves every segment of the ride by the same number of seats, as when the
+	 * driver changes how many seats the car has.
+	 */
+	public void shiftSegments(Long rideId, int seats) {
+		if (seats != 0) {
+			segmentRepository.addSeats(rideId, 0, Integer.MAX_VALUE, seats);
+		}
+	}
+
+	private void seatsChanged(Long rideId) {
+		// Callers have the ride in their persistence context, so this costs no query
+		Ride ride = rideRepository.getReferenceById(rideId);
+		rideCaches.evict(rideId, ride.getDriver().getId());
+		dashboard.seatsChanged(rideId);
+	}
+
+	/**
+	 * The part of a ride's route a booking travels on, as stop indexes where 0
+	 * is the origin and the last stop the destination. Null ends stand for the
+	 * origin and the destination.
+	 */
+	public record Leg(Long rideId, Integer boardStop, Integer alightStop) {
+
+		/**
+		 * Ride id first, so rides are always locked in the same order.
+		 */
+		public static final Comparator<Leg> ORDER = Comparator.comparing(Leg::rideId)
+				.thenComparing(Leg::boardStop, Comparator.nullsFirst(Comparator.naturalOrder()))
+				.thenComparing(Leg::alightStop, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+		public static Leg wholeRoute(Long rideId) {
+			return new Leg(rideId, null, null);
+		}
+
+		public static Leg of(Booking booking) {
+			return new Leg(booking.getRide().getId(), booking.getBoardStop(), booking.getAlightStop());
+		}
+
+		int fromStop() {
+			return boardStop != null ? boardStop : 0;
+		}
+
+		int toStop(Ride ride) {
+			checkStops(ride);
+			return alightStop != null ? alightStop : ride.getWaypointCount() + 1;
+		}
+
+		void checkStops(Ride ride) {
+			int last = ride.getWaypointCount() + 1;
+			int from = fromStop();
+			int to = alightStop != null ? alightStop : last;
+			if (from < 0 || to > last || from >= to) {
+				throw new IllegalArgumentException("Stops " + from + " to " + to + " are not on the ride's route");
+			}
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.share2go.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.share2go.repository.NotificationRepository;
+import com.share2go.repository.UnreadCount;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of per-user unread notification counts.
+ *
+ * A count is loaded with one COUNT query the first time it is asked for and is
+ * then only adjusted as notifications are written or read. Updates for users
+ * that are not cached are skipped, so the cache never holds a guess. Counts can
+ * still drift when an update races a load, which the periodic reconciliation
+ * corrects.
+ */
+@Component
+public class UnreadCounters {
+
+	private static final int RECONCILE_BATCH_SIZE = 500;
+
+	private final NotificationRepository notificationRepository;
+	private final Cache<Long, AtomicLong> counts;
+	private final Counter corrections;
+
+	public UnreadCounters(NotificationRepository notificationRepository, MeterRegistry meterRegistry,
+			@Value("${share2go.notifications.unread-cache-size:100000}") long maximumSize,
+			@Value("${share2go.notifications.unread-cache-idle:PT1H}") Duration idle) {
+		this.notificationRepository = notificationRepository;
+		this.counts = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterAccess(idle).recordStats().build();
+		this.corrections = meterRegistry.counter("share2go.notifications.unread.corrections");
+		// Same tag keys as the Spring-managed caches, or Prometheus drops one of the two sets
+		CaffeineCacheMetrics.monitor(meterRegistry, counts, "unreadCounters", "cache.manager", "unreadCounters",
+				"name", "unreadCounters");
+	}
+
+	public long get(Long userId) {
+		return counts.get(userId, id -> new AtomicLong(notificationRepository.countByRecipientIdAndReadFlagFalse(id)))
+				.get();
+	}
+
+	public void add(Long userId, long delta) {
+		// computeIfPresent waits for a load of the same key that is in flight
+		counts.asMap().computeIfPresent(userId, (id, count) -> {
+			count.updateAndGet(value -> Math.max(0, value + delta));
+			return count;
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${share2go.notifications.unread-reconcile-interval:PT5M}")
+	public void reconcile() {
+		List<Long> userIds = new ArrayList<>(counts.asMap().keySet());
+		for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH_SIZE) {
+			List<Long> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH_SIZE, userIds.size()));
+			Map<Long, Long> actual = notificationRepository.countUnreadByRecipientIds(batch).stream()
+					.collect(Collectors.toMap(UnreadCount::userId, UnreadCount::count));
+			for (Long userId : batch) {
+				long expected = actual.getOrDefault(userId, 0L);
+				AtomicLong cached = counts.getIfPresent(userId);
+				if (cached != null && cached.getAndSet(expected) != expected) {
+					corrections.increment();
+				}
+			}
+		}
+	}
+}
@@ -2,40 +2,62 @@ package com.share2go.service.impl;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.share2go.auth.UserDetailsCache;
+import com.share2go.dto.CursorPage;
 import com.share2go.dto.UserDTO;
 import com.share2go.mapper.UserMapper;
 import com.share2go.model.User;
 import com.share2go.repository.UserRepository;
 import com.share2go.service.UserService;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class UserServiceImpl implements UserService {
 
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
-
-	public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+	private final UserDetailsCache userDetailsCache;
+	private final Set<String> adminEmails;
+	private final Timer passwordEncoding;
+	private final Counter registered;
+
+	public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+			UserDetailsCache userDetailsCache, MeterRegistry meterRegistry,
+			@Value("${share2go.admin.emails:}") Set<String> adminEmails) {
 		this.userRepository = userRepository;
 		this.passwordEncoder = passwordEncoder;
+		this.userDetailsCache = userDetailsCache;
+		this.adminEmails = adminEmails;
+		// BCrypt is deliberately slow and dominates registration time
+		this.passwordEncoding = meterRegistry.timer("share2go.users.password.encode");
+		this.registered = meterRegistry.counter("share2go.users.registered");
 	}
 
 	@Override
 	public UserDTO createUser(UserDTO userDTO) {
 		User user = UserMapper.toEntity(userDTO);
 		// Set default role to Driver if not specified
-		if (user.getRole() == null) {
-			user.setRole(User.Role.Driver);
-		}
+		user.setRole(role(userDTO.getRole(), User.Role.Driver));
 		// Encode password before saving
-		user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+		user.setPassword(passwordEncoding.record(() -> passwordEncoder.encode(userDTO.getPassword())));
 		User savedUser = userRepository.save(user);
+		registered.increment();
 		return UserMapper.toDTO(savedUser);
 	}
 
@@ -47,31 +69,60 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
-	public List<UserDTO> getAllUser() {
-		return userRepository.findAll().stream().map(UserMapper::toDTO).toList();
+	public CursorPage<UserDTO> getAllUser(Long cursor, int size) {
+		List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(cursor != null ? cursor : 0L,
+				Limit.of(size + 1));
+		return CursorPage.of(users, size, User::getId, UserMapper::toDTO);
 	}
 
 	@Override
 	public UserDTO updateUser(Long id, UserDTO userDTO) {
 		User existingUser = userRepository.findById(id)
 				.orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+		userDetailsCache.evict(existingUser.getEmail());
 
 		existingUser.setName(userDTO.getName());
 		existingUser.setEmail(userDTO.getEmail());
 		existingUser.setPhone(userDTO.getPhone());
 		existingUser.setPassword(userDTO.getPassword());
-		existingUser.setRole(userDTO.getRole());
+		existingUser.setRole(role(userDTO.getRole(), existingUser.getRole()));
 
 		User updatedUser = userRepository.save(existingUser);
+		userDetailsCache.evict(updatedUser.getEmail());
 		return UserMapper.toDTO(updatedUser);
 	}
 
+	/**
+	 * Grants Admin to the accounts listed in share2go.admin.emails at startup.
+	 * Registering with or switching to a listed address grants nothing by
+	 * itself, so list only accounts that already exist.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Transactional
+	public void promoteAdmins() {
+		if (!adminEmails.isEmpty()) {
+			userRepository.promoteToAdmin(adminEmails);
+			adminEmails.forEach(userDetailsCache::evict);
+		}
+	}
+
+	/**
+	 * Clients may only pick Driver or Passenger. Admin is granted by
+	 * promoteAdmins alone and stays with users that already have it.
+	 */
+	private User.Role role(User.Role requested, User.Role current) {
+		if (requested == User.Role.Admin && current != User.Role.Admin) {
+			throw new IllegalArgumentException("The Admin role cannot be requested");
+		}
+		return requested != null ? requested : current;
+	}
+
 	@Override
 	public void deleteUser(Long id) {
-		if (!userRepository.existsById(id)) {
-			throw new RuntimeException("User not found with id: " + id);
-		}
-		userRepository.deleteById(id);
+		User user = userRepository.findById(id)
+				.orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+		userRepository.delete(user);
+		userDetailsCache.evict(user.getEmail());
 	}
 
 	@Override
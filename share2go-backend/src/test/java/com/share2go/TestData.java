@@ -0,0 +1,88 @@
+package com.share2go;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.share2go.dto.RideDTO;
+import com.share2go.model.Ride;
+import com.share2go.model.User;
+import com.share2go.repository.RideRepository;
+import com.share2go.repository.UserRepository;
+import com.share2go.service.RideService;
+import com.share2go.service.impl.RideCaches;
+
+/**
+ * Users and rides for tests. Rides are created through RideService, so the
+ * search indexes, caches and dashboard see them exactly as they see rides
+ * created in production. Component scanning picks this up in every test
+ * context.
+ */
+@Component
+public class TestData {
+
+	private final UserRepository userRepository;
+	private final RideRepository rideRepository;
+	private final RideService rideService;
+	private final RideCaches rideCaches;
+
+	public TestData(UserRepository userRepository, RideRepository rideRepository, RideService rideService,
+			RideCaches rideCaches) {
+		this.userRepository = userRepository;
+		this.rideRepository = rideRepository;
+		this.rideService = rideService;
+		this.rideCaches = rideCaches;
+	}
+
+	public User user(User.Role role) {
+		return user(role, "Test " + role);
+	}
+
+	public User user(User.Role role, String name) {
+		User user = new User();
+		user.setName(name);
+		user.setEmail(UUID.randomUUID() + "@share2go.test");
+		user.setPassword("unused");
+		user.setRole(role);
+		return userRepository.save(user);
+	}
+
+	/**
+	 * An unsaved ride from "town Origin" to "town Destination" leaving in a day,
+	 * for tests to adjust before passing it to createRide.
+	 */
+	public static RideDTO ride(String town, int seats) {
+		RideDTO ride = new RideDTO();
+		ride.setOrigin(town + " Origin");
+		ride.setDestination(town + " Destination");
+		ride.setDepartureTime(LocalDateTime.now().plusDays(1));
+		ride.setAvailableSeats(seats);
+		ride.setPricePerSeat(100);
+		return ride;
+	}
+
+	public RideDTO createRide(User driver, String town, int seats) {
+		return createRide(driver, ride(town, seats));
+	}
+
+	public RideDTO createRide(User driver, RideDTO ride) {
+		return rideService.createRide(ride, driver.getId());
+	}
+
+	/**
+	 * No service adds passengers to a ride any more, so this writes them
+	 * directly and drops the cached copies of the ride.
+	 */
+	@Transactional
+	public void addPassengers(RideDTO ride, List<User> passengers) {
+		Ride saved = rideRepository.findById(ride.getId()).orElseThrow();
+		List<User> all = new ArrayList<>(saved.getPassengers());
+		all.addAll(passengers);
+		saved.setPassengers(all);
+		rideCaches.evict(saved.getId(), saved.getDriver().getId());
+	}
+}
@@ -0,0 +1,131 @@
+package com.share2go.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.share2go.auth.JwtAuthenticationFilter.PrincipalSource;
+import com.share2go.model.User;
+import com.share2go.service.UserService;
+
+import jakarta.servlet.http.HttpServlet;
+
+class JwtAuthenticationFilterTests {
+
+	private final JwtUtil jwtUtil = new JwtUtil("0123456789abcdef0123456789abcdef0123456789abcdef", 60_000, 600_000,
+			10_000, 100);
+	private final UserService userService = mock(UserService.class);
+	private final UserDetailsCache cache = new UserDetailsCache(100, Duration.ofMinutes(5));
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void claimsModeNeedsNoUserLookup() throws Exception {
+		var filter = new JwtAuthenticationFilter(jwtUtil, userService, cache, PrincipalSource.CLAIMS);
+
+		Authentication authentication = authenticate(filter,
+				jwtUtil.generateAccessToken("driver@test", 7L, User.Role.Driver));
+
+		assertThat(authentication.getName()).isEqualTo("driver@test");
+		assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+				.containsExactly("ROLE_Driver");
+		verify(userService, never()).loadUserByUsername(anyString());
+	}
+
+	@Test
+	void databaseModeCachesUntilEvicted() throws Exception {
+		when(userService.loadUserByUsername("driver@test")).thenReturn(
+				new org.springframework.security.core.userdetails.User("driver@test", "",
+						List.of(new SimpleGrantedAuthority("ROLE_Driver"))));
+		var filter = new JwtAuthenticationFilter(jwtUtil, userService, cache, PrincipalSource.DATABASE);
+		String token = jwtUtil.generateAccessToken("driver@test", 7L, User.Role.Driver);
+
+		authenticate(filter, token);
+		authenticate(filter, token);
+		verify(userService, times(1)).loadUserByUsername("driver@test");
+
+		cache.evict("driver@test");
+		authenticate(filter, token);
+		verify(userService, times(2)).loadUserByUsername("driver@test");
+	}
+
+	@Test
+	void invalidTokenIsNotAuthenticated() throws Exception {
+		var filter = new JwtAuthenticationFilter(jwtUtil, userService, cache, PrincipalSource.CLAIMS);
+
+		assertThat(authenticate(filter, "not-a-token")).isNull();
+	}
+
+	@Test
+	void contextIsClearedAfterTheRequest() throws Exception {
+		var filter = new JwtAuthenticationFilter(jwtUtil, userService, cache, PrincipalSource.CLAIMS);
+
+		assertThat(authenticate(filter, jwtUtil.generateAccessToken("driver@test", 7L, User.Role.Driver)))
+				.isNotNull();
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+	}
+
+	@Test
+	void streamTokensOnlyOpenTheirOwnStream() throws Exception {
+		when(userService.loadUserByUsername("driver@test")).thenReturn(
+				new org.springframework.security.core.userdetails.User("driver@test", "",
+						List.of(new SimpleGrantedAuthority("ROLE_Driver"))));
+		var filter = new JwtAuthenticationFilter(jwtUtil, userService, cache, PrincipalSource.CLAIMS);
+		String streamToken = jwtUtil.generateStreamToken("driver@test", 7L);
+		String accessToken = jwtUtil.generateAccessToken("driver@test", 7L, User.Role.Driver);
+
+		assertThat(authenticate(filter, streamRequest(7L, streamToken))).extracting(Authentication::getName)
+				.isEqualTo("driver@test");
+		assertThat(authenticate(filter, streamRequest(8L, streamToken))).isNull();
+		// The login token never goes in a URL, and the stream token never opens anything else
+		assertThat(authenticate(filter, streamRequest(7L, accessToken))).isNull();
+		assertThat(authenticate(filter, streamToken)).isNull();
+	}
+
+	private static MockHttpServletRequest streamRequest(Long userId, String token) {
+		String path = "/api/notifications/user/" + userId + "/stream";
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setServletPath(path);
+		request.setParameter("access_token", token);
+		return request;
+	}
+
+	private static Authentication authenticate(JwtAuthenticationFilter filter, String token) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/rides");
+		request.setServletPath("/api/rides");
+		request.addHeader("Authorization", "Bearer " + token);
+		return authenticate(filter, request);
+	}
+
+	/**
+	 * Returns the authentication the rest of the chain saw.
+	 */
+	private static Authentication authenticate(JwtAuthenticationFilter filter, MockHttpServletRequest request)
+			throws Exception {
+		SecurityContextHolder.clearContext();
+		Authentication[] seen = new Authentication[1];
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+		}, (req, res, chain) -> seen[0] = SecurityContextHolder.getContext().getAuthentication()));
+		return seen[0];
+	}
+}
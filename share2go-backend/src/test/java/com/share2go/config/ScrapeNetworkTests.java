@@ -0,0 +1,34 @@
+package com.share2go.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+class ScrapeNetworkTests {
+
+	@Test
+	void onlyConfiguredAddressesMayScrape() {
+		ScrapeNetwork network = new ScrapeNetwork(List.of("127.0.0.1/32", " 10.20.0.0/16", "::1/128", ""));
+
+		assertThat(allowed(network, "127.0.0.1")).isTrue();
+		assertThat(allowed(network, "10.20.3.4")).isTrue();
+		assertThat(allowed(network, "0:0:0:0:0:0:0:1")).isTrue();
+		assertThat(allowed(network, "10.21.3.4")).isFalse();
+		assertThat(allowed(network, "203.0.113.7")).isFalse();
+	}
+
+	@Test
+	void noAddressesMeansNobody() {
+		assertThat(allowed(new ScrapeNetwork(List.of()), "127.0.0.1")).isFalse();
+	}
+
+	private static boolean allowed(ScrapeNetwork network, String remoteAddress) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+		request.setRemoteAddr(remoteAddress);
+		return network.authorize(() -> null, new RequestAuthorizationContext(request)).isGranted();
+	}
+}
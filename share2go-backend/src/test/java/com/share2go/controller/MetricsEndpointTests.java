@@ -0,0 +1,83 @@
+package com.share2go.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.share2go.TestData;
+import com.share2go.auth.JwtUtil;
+import com.share2go.model.User;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Checks that the Prometheus endpoint is open to scrapers on this host and
+ * that requests leave their search latency and statement counts behind, next
+ * to the cache meters.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.datasource.url="
+		+ "jdbc:h2:mem:share2go_metrics_test;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1")
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void searchRequestsAreTimedAndTheirStatementsCounted() throws Exception {
+		User user = testData.user(User.Role.Passenger);
+		testData.createRide(testData.user(User.Role.Driver), "Metrics", 3);
+		String token = jwtUtil.generateAccessToken(user.getEmail(), user.getId(), user.getRole());
+		HttpResponse<String> search = client.send(HttpRequest
+				.newBuilder(URI.create(url("/api/rides/search?origin=metrics&destination=destination")))
+				.header("Authorization", "Bearer " + token).build(), HttpResponse.BodyHandlers.ofString());
+		assertThat(search.statusCode()).isEqualTo(200);
+
+		DistributionSummary queries = meterRegistry.find("share2go.http.server.queries")
+				.tags("method", "GET", "uri", "/api/rides/search").summary();
+		assertThat(queries).isNotNull();
+		assertThat(queries.count()).isEqualTo(1);
+		assertThat(queries.totalAmount()).isPositive();
+
+		HttpResponse<String> scrape = client.send(HttpRequest.newBuilder(URI.create(url("/actuator/prometheus")))
+				.build(), HttpResponse.BodyHandlers.ofString());
+		assertThat(scrape.statusCode()).isEqualTo(200);
+		assertThat(scrape.body())
+				.contains("share2go_rides_search_seconds_count{application=\"share2go\",type=\"text\"} 1")
+				.contains("share2go_http_server_queries_statements");
+		assertThat(scrape.body()).contains("cache_size{application=\"share2go\",cache=\"rides\"")
+				.contains("cache_size{application=\"share2go\",cache=\"unreadCounters\"");
+	}
+
+	@Test
+	void otherActuatorEndpointsStayProtected() throws Exception {
+		HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(url("/actuator/metrics")))
+				.build(), HttpResponse.BodyHandlers.discarding());
+		assertThat(response.statusCode()).isIn(401, 403);
+	}
+
+	private String url(String path) {
+		return "http://localhost:" + port + path;
+	}
+}
@@ -0,0 +1,137 @@
+package com.share2go.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.share2go.TestData;
+import com.share2go.auth.JwtUtil;
+import com.share2go.dto.NotificationDTO;
+import com.share2go.model.User;
+import com.share2go.service.NotificationService;
+
+/**
+ * Opens a real event stream and checks that it starts with the unread count and
+ * then receives notifications and count changes as they happen.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.datasource.url="
+		+ "jdbc:h2:mem:share2go_stream_test;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1")
+class NotificationStreamTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private NotificationService notificationService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void streamPushesNotificationsAndUnreadCounts() throws Exception {
+		User user = testData.user(User.Role.Passenger);
+		HttpResponse<InputStream> response = client.send(streamRequest(user, streamToken(user)),
+				HttpResponse.BodyHandlers.ofInputStream());
+		assertThat(response.statusCode()).isEqualTo(200);
+		BlockingQueue<String> lines = readLines(response.body());
+
+		assertThat(nextData(lines, "unread-count")).isEqualTo("0");
+
+		NotificationDTO n = new NotificationDTO();
+		n.setRecipientId(user.getId());
+		n.setType("BOOKING_REQUEST");
+		n.setMessage("Streamed");
+		NotificationDTO created = notificationService.createNotification(n);
+		assertThat(nextData(lines, "notification")).contains("\"message\":\"Streamed\"");
+
+		notificationService.markAsRead(created.getId());
+		assertThat(nextData(lines, "unread-count")).isEqualTo("0");
+	}
+
+	@Test
+	void streamRequiresItsOwnStreamToken() throws Exception {
+		User user = testData.user(User.Role.Passenger);
+		String accessToken = jwtUtil.generateAccessToken(user.getEmail(), user.getId(), user.getRole());
+
+		assertThat(status(streamRequest(user, null))).isIn(401, 403);
+		assertThat(status(streamRequest(user, accessToken))).isIn(401, 403);
+		assertThat(status(streamRequest(testData.user(User.Role.Passenger), streamToken(user)))).isIn(401, 403);
+	}
+
+	/**
+	 * Asks for a stream token the way the frontend does, with the login token in
+	 * the Authorization header.
+	 */
+	private String streamToken(User user) throws Exception {
+		String accessToken = jwtUtil.generateAccessToken(user.getEmail(), user.getId(), user.getRole());
+		HttpResponse<String> response = client.send(HttpRequest
+				.newBuilder(URI.create("http://localhost:" + port + "/api/notifications/stream-token"))
+				.header("Authorization", "Bearer " + accessToken).POST(HttpRequest.BodyPublishers.noBody()).build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertThat(response.statusCode()).isEqualTo(200);
+		return objectMapper.readTree(response.body()).get("token").asText();
+	}
+
+	private int status(HttpRequest request) throws Exception {
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private HttpRequest streamRequest(User user, String token) {
+		String url = "http://localhost:" + port + "/api/notifications/user/" + user.getId() + "/stream"
+				+ (token != null ? "?access_token=" + token : "");
+		return HttpRequest.newBuilder(URI.create(url)).header("Accept", "text/event-stream")
+				.timeout(Duration.ofSeconds(10)).build();
+	}
+
+	private static BlockingQueue<String> readLines(InputStream body) {
+		BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+		Thread reader = new Thread(() -> {
+			try (BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = in.readLine()) != null) {
+					lines.add(line);
+				}
+			} catch (Exception closed) {
+				// the stream is abandoned when the test ends
+			}
+		});
+		reader.setDaemon(true);
+		reader.start();
+		return lines;
+	}
+
+	private static String nextData(BlockingQueue<String> lines, String event) throws InterruptedException {
+		String line;
+		while ((line = lines.poll(5, TimeUnit.SECONDS)) != null) {
+			if (line.equals("event:" + event)) {
+				return lines.poll(5, TimeUnit.SECONDS).substring("data:".length());
+			}
+		}
+		throw new AssertionError("No " + event + " event received");
+	}
+}
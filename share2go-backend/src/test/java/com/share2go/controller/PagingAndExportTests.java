@@ -0,0 +1,199 @@
+package com.share2go.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.share2go.TestData;
+import com.share2go.auth.JwtUtil;
+import com.share2go.dto.CursorPage;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.User;
+
+/**
+ * Walks the keyset-paginated listings page by page and checks that the admin
+ * exports write every row as one JSON line, for admins only.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.datasource.url="
+		+ "jdbc:h2:mem:share2go_paging_test;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1")
+class PagingAndExportTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	@Test
+	void pageSizesAreClamped() {
+		assertThat(CursorPage.clampSize(null)).isEqualTo(CursorPage.DEFAULT_SIZE);
+		assertThat(CursorPage.clampSize(0)).isEqualTo(CursorPage.DEFAULT_SIZE);
+		assertThat(CursorPage.clampSize(-5)).isEqualTo(CursorPage.DEFAULT_SIZE);
+		assertThat(CursorPage.clampSize(7)).isEqualTo(7);
+		assertThat(CursorPage.clampSize(CursorPage.MAX_SIZE + 1)).isEqualTo(CursorPage.MAX_SIZE);
+	}
+
+	@Test
+	void onlyTheExtraRowSignalsAnotherPage() {
+		CursorPage<String> more = CursorPage.of(List.of(1L, 2L, 3L), 2, id -> id, String::valueOf);
+		assertThat(more.getItems()).containsExactly("1", "2");
+		assertThat(more.getNextCursor()).isEqualTo(2L);
+
+		CursorPage<String> last = CursorPage.of(List.of(1L, 2L), 2, id -> id, String::valueOf);
+		assertThat(last.getItems()).containsExactly("1", "2");
+		assertThat(last.getNextCursor()).isNull();
+
+		assertThat(CursorPage.of(List.<Long>of(), 2, id -> id, String::valueOf).getNextCursor()).isNull();
+	}
+
+	@Test
+	void requestsWithoutASizeGetOneDefaultPage() {
+		List<Long> rows = LongStream.rangeClosed(1, 450).boxed().toList();
+		List<Integer> sizes = new ArrayList<>();
+
+		ResponseEntity<List<Long>> unsized = PageResponses.of(null, null, (cursor, size) -> {
+			sizes.add(size);
+			return page(rows, cursor, size);
+		});
+		assertThat(sizes).containsExactly(CursorPage.DEFAULT_SIZE);
+		assertThat(unsized.getBody()).isEqualTo(rows.subList(0, CursorPage.DEFAULT_SIZE));
+		assertThat(unsized.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER))
+				.isEqualTo(String.valueOf(CursorPage.DEFAULT_SIZE));
+
+		sizes.clear();
+		ResponseEntity<List<Long>> first = PageResponses.of(null, 1000, (cursor, size) -> {
+			sizes.add(size);
+			return page(rows, cursor, size);
+		});
+		assertThat(sizes).containsExactly(CursorPage.MAX_SIZE);
+		assertThat(first.getBody()).isEqualTo(rows.subList(0, CursorPage.MAX_SIZE));
+		assertThat(first.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER)).isEqualTo("200");
+
+		ResponseEntity<List<Long>> last = PageResponses.of(400L, null, (cursor, size) -> page(rows, cursor, size));
+		assertThat(last.getBody()).isEqualTo(rows.subList(400, 450));
+		assertThat(last.getHeaders().containsKey(CursorPage.NEXT_CURSOR_HEADER)).isFalse();
+	}
+
+	@Test
+	void cursorsWalkTheWholeListOnce() throws Exception {
+		User driver = testData.user(User.Role.Driver);
+		for (int i = 0; i < 5; i++) {
+			ride(driver, List.of());
+		}
+		String token = token(driver);
+
+		String path = "/api/rides/driver/" + driver.getId();
+		List<Long> unpaged = ids(get(path, token).body());
+		List<Long> paged = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			HttpResponse<String> page = get(path + "?size=2" + (cursor != null ? "&cursor=" + cursor : ""), token);
+			assertThat(page.statusCode()).isEqualTo(200);
+			List<Long> ids = ids(page.body());
+			assertThat(ids).hasSizeLessThanOrEqualTo(2);
+			paged.addAll(ids);
+			cursor = page.headers().firstValue(CursorPage.NEXT_CURSOR_HEADER).orElse(null);
+			if (cursor != null) {
+				assertThat(Long.valueOf(cursor)).isEqualTo(ids.get(ids.size() - 1));
+			}
+			pages++;
+		} while (cursor != null);
+
+		assertThat(unpaged).hasSize(5).isSorted().doesNotHaveDuplicates();
+		assertThat(paged).isEqualTo(unpaged);
+		assertThat(pages).isEqualTo((unpaged.size() + 1) / 2);
+	}
+
+	@Test
+	void exportsWriteOneLinePerRowForAdminsOnly() throws Exception {
+		User admin = testData.user(User.Role.Admin);
+		User driver = testData.user(User.Role.Driver);
+		RideDTO direct = ride(driver, List.of());
+		RideDTO routed = ride(driver, List.of("Export Stop One", "Export Stop Two"));
+
+		HttpResponse<String> rides = get("/api/admin/export/rides", token(admin));
+		assertThat(rides.statusCode()).isEqualTo(200);
+		assertThat(rides.headers().firstValue("Content-Type")).hasValueSatisfying(
+				type -> assertThat(type).startsWith("application/x-ndjson"));
+		List<JsonNode> rideLines = lines(rides.body());
+		assertThat(rideLines).extracting(line -> line.get("id").asLong()).isSorted()
+				.contains(direct.getId(), routed.getId());
+		JsonNode routedLine = rideLines.stream().filter(line -> line.get("id").asLong() == routed.getId())
+				.findFirst().orElseThrow();
+		assertThat(routedLine.get("waypoints")).extracting(JsonNode::asText)
+				.containsExactly("Export Stop One", "Export Stop Two");
+
+		HttpResponse<String> users = get("/api/admin/export/users", token(admin));
+		assertThat(users.statusCode()).isEqualTo(200);
+		List<JsonNode> userLines = lines(users.body());
+		assertThat(userLines).extracting(line -> line.get("email").asText()).contains(admin.getEmail(),
+				driver.getEmail());
+		assertThat(userLines).allSatisfy(line -> assertThat(line.path("password").isMissingNode()
+				|| line.get("password").isNull()).isTrue());
+
+		for (String table : List.of("rides", "bookings", "users", "notifications")) {
+			assertThat(get("/api/admin/export/" + table, token(driver)).statusCode()).as(table).isEqualTo(403);
+			assertThat(get("/api/admin/export/" + table, null).statusCode()).as(table).isIn(401, 403);
+		}
+	}
+
+	private static CursorPage<Long> page(List<Long> rows, Long cursor, int size) {
+		List<Long> after = rows.stream().filter(id -> cursor == null || id > cursor).limit(size + 1L).toList();
+		return CursorPage.of(after, size, id -> id, id -> id);
+	}
+
+	private HttpResponse<String> get(String path, String token) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+		if (token != null) {
+			request.header("Authorization", "Bearer " + token);
+		}
+		return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private List<Long> ids(String body) throws Exception {
+		List<Long> ids = new ArrayList<>();
+		objectMapper.readTree(body).forEach(ride -> ids.add(ride.get("id").asLong()));
+		return ids;
+	}
+
+	private List<JsonNode> lines(String body) throws Exception {
+		List<JsonNode> lines = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			lines.add(objectMapper.readTree(line));
+		}
+		return lines;
+	}
+
+	private String token(User user) {
+		return jwtUtil.generateAccessToken(user.getEmail(), user.getId(), user.getRole());
+	}
+
+	private RideDTO ride(User driver, List<String> waypoints) {
+		RideDTO ride = TestData.ride("Paging", 3);
+		ride.setWaypoints(waypoints);
+		return testData.createRide(driver, ride);
+	}
+}
@@ -0,0 +1,186 @@
+package com.share2go.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.share2go.TestData;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.User;
+import com.share2go.service.RideService;
+
+/**
+ * Checks that nearby search finds exactly the rides a full scan would, at the
+ * edge of the radius and across grid cells, and that it follows ride changes.
+ */
+@SpringBootTest
+class RideGeoIndexTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+	@Autowired
+	private RideService rideService;
+
+	@Autowired
+	private TestData testData;
+
+	@Test
+	void findsWhatAFullScanFinds() {
+		RideGeoIndex index = new RideGeoIndex(null, 0.01);
+		Random random = new Random(42);
+		List<RideGeoEntry> entries = new ArrayList<>();
+		for (long id = 1; id <= 2000; id++) {
+			RideGeoEntry entry = new RideGeoEntry(id, 51.5 + random.nextGaussian() * 0.3,
+					-0.1 + random.nextGaussian() * 0.5, 52.2 + random.nextGaussian() * 0.3,
+					0.1 + random.nextGaussian() * 0.5, NOW.plusHours(random.nextInt(48) - 24));
+			entries.add(entry);
+			index.index(entry);
+		}
+
+		for (double radiusKm : new double[] { 0.5, 3, 12, 40 }) {
+			for (int query = 0; query < 10; query++) {
+				double originLat = 51.5 + random.nextGaussian() * 0.2;
+				double originLng = -0.1 + random.nextGaussian() * 0.3;
+				double destinationLat = 52.2 + random.nextGaussian() * 0.2;
+				double destinationLng = 0.1 + random.nextGaussian() * 0.3;
+				List<Long> scanned = entries.stream()
+						.filter(e -> !e.departureTime().isBefore(NOW))
+						.filter(e -> RideGeoIndex.distanceKm(originLat, originLng, e.originLat(), e.originLng()) <= radiusKm)
+						.filter(e -> RideGeoIndex.distanceKm(destinationLat, destinationLng, e.destinationLat(),
+								e.destinationLng()) <= radiusKm)
+						.sorted(Comparator.comparingDouble((RideGeoEntry e) -> RideGeoIndex
+								.distanceKm(originLat, originLng, e.originLat(), e.originLng())
+								+ RideGeoIndex.distanceKm(destinationLat, destinationLng, e.destinationLat(),
+										e.destinationLng()))
+								.thenComparing(RideGeoEntry::id))
+						.map(RideGeoEntry::id).toList();
+
+				assertThat(index.nearby(originLat, originLng, destinationLat, destinationLng, radiusKm, NOW))
+						.as("radius %s km", radiusKm).isEqualTo(scanned);
+			}
+		}
+	}
+
+	@Test
+	void radiusIsInclusive() {
+		RideGeoIndex index = new RideGeoIndex(null, 0.05);
+		index.index(new RideGeoEntry(1L, 48.8566, 2.3522, 45.764, 4.8357, NOW));
+		double pickup = RideGeoIndex.distanceKm(48.87, 2.36, 48.8566, 2.3522);
+
+		assertThat(index.nearby(48.87, 2.36, 45.764, 4.8357, pickup, NOW)).containsExactly(1L);
+		assertThat(index.nearby(48.87, 2.36, 45.764, 4.8357, pickup - 0.001, NOW)).isEmpty();
+		// The drop-off has to be within the radius as well
+		assertThat(index.nearby(48.87, 2.36, 45.9, 4.8357, pickup, NOW)).isEmpty();
+	}
+
+	@Test
+	void matchesAcrossCellBorders() {
+		RideGeoIndex index = new RideGeoIndex(null, 0.05);
+		// Each pair sits on both sides of a cell border, a few hundred metres apart
+		index.index(new RideGeoEntry(1L, 40.0499, -3.0001, 41.0, -4.0, NOW));
+		index.index(new RideGeoEntry(2L, 40.0, -3.0, 40.9999, -3.9999, NOW));
+		index.index(new RideGeoEntry(3L, -0.0001, -0.0001, 0.0001, 0.0001, NOW));
+
+		assertThat(index.nearby(40.0501, -2.9999, 41.0, -4.0, 0.5, NOW)).containsExactly(1L);
+		assertThat(index.nearby(40.0, -3.0, 41.0001, -4.0001, 0.5, NOW)).containsExactly(2L);
+		assertThat(index.nearby(0.0001, 0.0001, -0.0001, -0.0001, 0.1, NOW)).containsExactly(3L);
+	}
+
+	@Test
+	void wrapsAroundTheAntimeridianAndThePoles() {
+		RideGeoIndex index = new RideGeoIndex(null, 0.05);
+		index.index(new RideGeoEntry(1L, 10.0, 179.99, -10.0, -179.99, NOW));
+		index.index(new RideGeoEntry(2L, 89.99, 0.0, -89.99, 90.0, NOW));
+
+		assertThat(index.nearby(10.0, -179.99, -10.0, 179.99, 5, NOW)).containsExactly(1L);
+		// Across a pole the opposite meridian is only a couple of kilometres away
+		assertThat(index.nearby(89.99, 180.0, -89.99, -90.0, 5, NOW)).containsExactly(2L);
+	}
+
+	@Test
+	void coordinatesOffTheGlobeAreRejected() {
+		RideGeoIndex index = new RideGeoIndex(null, 0.05);
+		index.index(new RideGeoEntry(1L, 91.0, 0.0, 0.0, 0.0, NOW));
+		assertThat(index.size()).isZero();
+		assertTimeoutPreemptively(Duration.ofSeconds(1),
+				() -> assertThat(index.nearby(2e8, 73.0, 18.5, 73.8, 10, NOW)).isEmpty());
+
+		for (double lat : new double[] { Double.NaN, Double.POSITIVE_INFINITY, 2e8, -90.5 }) {
+			assertThatThrownBy(() -> rideService.findNearbyRides(lat, 73.0, 18.5, 73.8, 10, null))
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+		assertThatThrownBy(() -> rideService.findNearbyRides(18.5, 73.0, 18.5, 180.5, 10, null))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		User driver = testData.user(User.Role.Driver);
+		RideDTO offTheMap = ride(10, 10);
+		offTheMap.setDestinationLng(Double.NaN);
+		assertThatThrownBy(() -> testData.createRide(driver, offTheMap)).isInstanceOf(IllegalArgumentException.class);
+		RideDTO ride = testData.createRide(driver, ride(10, 10));
+		assertThatThrownBy(() -> rideService.updateRide(ride.getId(), ride(95, 10)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void followsUpdatesAndRemovals() {
+		RideGeoIndex index = new RideGeoIndex(null, 0.05);
+		index.index(new RideGeoEntry(1L, 10.0, 10.0, 11.0, 11.0, NOW));
+		index.index(new RideGeoEntry(2L, 10.0, 10.0, 11.0, 11.0, NOW));
+
+		index.index(new RideGeoEntry(1L, 20.0, 20.0, 21.0, 21.0, NOW));
+		assertThat(index.nearby(10.0, 10.0, 11.0, 11.0, 1, NOW)).containsExactly(2L);
+		assertThat(index.nearby(20.0, 20.0, 21.0, 21.0, 1, NOW)).containsExactly(1L);
+
+		index.index(new RideGeoEntry(1L, 20.0, 20.0, 21.0, 21.0, NOW.minusHours(1)));
+		assertThat(index.nearby(20.0, 20.0, 21.0, 21.0, 1, NOW)).isEmpty();
+
+		// A ride that loses its coordinates leaves the index
+		index.index(new RideGeoEntry(2L, null, null, 11.0, 11.0, NOW));
+		assertThat(index.nearby(10.0, 10.0, 11.0, 11.0, 1, NOW)).isEmpty();
+
+		index.remove(1L);
+		index.remove(3L);
+		assertThat(index.size()).isZero();
+	}
+
+	@Test
+	void serviceKeepsTheIndexCurrent() {
+		Random random = new Random();
+		double lat = -60 + random.nextDouble() * 10;
+		double lng = -170 + random.nextDouble() * 10;
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), ride(lat, lng));
+
+		assertThat(rideService.findNearbyRides(lat, lng, lat + 1, lng + 1, 1, null)).extracting(RideDTO::getId)
+				.containsExactly(ride.getId());
+
+		rideService.updateRide(ride.getId(), ride(lat + 0.5, lng));
+		assertThat(rideService.findNearbyRides(lat, lng, lat + 1, lng + 1, 1, null)).isEmpty();
+		assertThat(rideService.findNearbyRides(lat + 0.5, lng, lat + 1.5, lng + 1, 1, null)).extracting(RideDTO::getId)
+				.containsExactly(ride.getId());
+
+		rideService.deleteRide(ride.getId());
+		assertThat(rideService.findNearbyRides(lat + 0.5, lng, lat + 1.5, lng + 1, 1, null)).isEmpty();
+		assertThatThrownBy(() -> rideService.findNearbyRides(lat, lng, lat, lng, RideGeoIndex.MAX_RADIUS_KM + 1, null))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private RideDTO ride(double originLat, double originLng) {
+		RideDTO ride = TestData.ride("Geo", 2);
+		ride.setOriginLat(originLat);
+		ride.setOriginLng(originLng);
+		ride.setDestinationLat(originLat + 1);
+		ride.setDestinationLng(originLng + 1);
+		return ride;
+	}
+}
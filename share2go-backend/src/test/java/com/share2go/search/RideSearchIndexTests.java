@@ -0,0 +1,129 @@
+package com.share2go.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.share2go.TestData;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.User;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks that the trigram index finds the same rides as the LIKE query it
+ * replaced, and that it normalizes text and follows updates and deletes.
+ */
+@SpringBootTest
+class RideSearchIndexTests {
+
+	// The query RideRepository.searchRides ran before the index existed
+	private static final String LIKE_QUERY = "SELECT r.id FROM Ride r WHERE "
+			+ "(:origin = '' OR LOWER(r.origin) LIKE LOWER(CONCAT('%', :origin, '%'))) AND "
+			+ "(:destination = '' OR LOWER(r.destination) LIKE LOWER(CONCAT('%', :destination, '%'))) AND "
+			+ "r.departureTime >= :departureTime ORDER BY r.id";
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+	@Autowired
+	private RideSearchIndex rideSearchIndex;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Test
+	void findsTheSameRidesAsTheLikeQuery() {
+		String town = UUID.randomUUID().toString().substring(0, 8);
+		User driver = testData.user(User.Role.Driver);
+		List<Long> ids = new ArrayList<>();
+		LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+		ids.add(ride(driver, town + " North Gate", "Harbour", tomorrow));
+		ids.add(ride(driver, town + " Northgate", "Old Harbour", tomorrow.plusHours(2)));
+		ids.add(ride(driver, "SOUTH PORT " + town, "harbour view", tomorrow.plusDays(1)));
+		ids.add(ride(driver, "Port North " + town, "Airport", tomorrow.plusDays(2)));
+		ids.add(ride(driver, town + " North Gate", "Harbour", LocalDateTime.now().plusMinutes(1)));
+
+		String[][] queries = { { town, "" }, { "", "harbour" }, { town + " north", "" }, { "NORTH", "HARBOUR" },
+				{ "no", "" }, { "n", "r" }, { "", "ai" }, { "gate", "old" }, { "port", "" }, { town, "view" },
+				{ "north gate", "harbour" }, { "xyz", "" }, { town, "nowhere" } };
+		for (LocalDateTime from : List.of(LocalDateTime.now(), tomorrow.plusHours(1), tomorrow.plusDays(3))) {
+			for (String[] query : queries) {
+				List<Long> indexed = rideSearchIndex.search(query[0], query[1], from).stream().filter(ids::contains)
+						.toList();
+				List<Long> liked = entityManager.createQuery(LIKE_QUERY, Long.class).setParameter("origin", query[0])
+						.setParameter("destination", query[1]).setParameter("departureTime", from).getResultList().stream()
+						.filter(ids::contains).toList();
+				assertThat(indexed).as("%s -> %s from %s", query[0], query[1], from).isEqualTo(liked);
+			}
+		}
+	}
+
+	@Test
+	void normalizesCaseAndWhitespace() {
+		RideSearchIndex index = new RideSearchIndex(null);
+		index.index(new RideSearchEntry(1L, "  Old \t Town  ", "New\nQuay", NOW));
+
+		assertThat(index.search("old town", "", NOW)).containsExactly(1L);
+		assertThat(index.search(" OLD   TOWN ", "new quay", NOW)).containsExactly(1L);
+		assertThat(index.search("d t", "W Q", NOW)).containsExactly(1L);
+		assertThat(index.search("oldtown", "", NOW)).isEmpty();
+		assertThat(RideSearchIndex.hasTextCriteria("  ", "\t")).isFalse();
+	}
+
+	@Test
+	void shortFragmentsAreVerifiedAgainstEveryRide() {
+		RideSearchIndex index = new RideSearchIndex(null);
+		index.index(new RideSearchEntry(1L, "Bath", "York", NOW));
+		index.index(new RideSearchEntry(2L, "Ely", "Hull", NOW.plusHours(1)));
+		index.index(new RideSearchEntry(3L, "Bath", "Hull", NOW.minusHours(1)));
+
+		assertThat(index.search("", "", NOW)).containsExactly(1L, 2L);
+		assertThat(index.search("a", "", NOW)).containsExactly(1L);
+		assertThat(index.search("ly", "ul", NOW)).containsExactly(2L);
+		assertThat(index.search("b", "hu", NOW.minusHours(1))).containsExactly(3L);
+		assertThat(index.search("q", "", NOW)).isEmpty();
+		// One fragment long enough for trigrams narrows the candidates, the other is still checked
+		assertThat(index.search("bat", "o", NOW.minusHours(1))).containsExactly(1L);
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		RideSearchIndex index = new RideSearchIndex(null);
+		index.index(new RideSearchEntry(1L, "Leeds", "Derby", NOW));
+		index.index(new RideSearchEntry(2L, "Leeds", "Derby", NOW));
+
+		index.index(new RideSearchEntry(1L, "Exeter", "Derby", NOW.plusDays(1)));
+		assertThat(index.search("leeds", "", NOW)).containsExactly(2L);
+		assertThat(index.search("exeter", "derby", NOW)).containsExactly(1L);
+		assertThat(index.search("", "derby", NOW.plusHours(1))).containsExactly(1L);
+		assertThat(index.size()).isEqualTo(2);
+
+		index.remove(1L);
+		index.remove(1L);
+		assertThat(index.search("exeter", "", NOW)).isEmpty();
+		assertThat(index.search("", "", NOW)).containsExactly(2L);
+		assertThat(index.size()).isEqualTo(1);
+
+		index.remove(2L);
+		assertThat(index.search("leeds", "", NOW)).isEmpty();
+		assertThat(index.size()).isZero();
+	}
+
+	private Long ride(User driver, String origin, String destination, LocalDateTime departureTime) {
+		RideDTO ride = TestData.ride(origin, 2);
+		ride.setOrigin(origin);
+		ride.setDestination(destination);
+		ride.setDepartureTime(departureTime);
+		return testData.createRide(driver, ride).getId();
+	}
+}
@@ -0,0 +1,121 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import com.share2go.TestData;
+import com.share2go.dto.BookingDTO;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.Notification;
+import com.share2go.model.User;
+import com.share2go.repository.BookingRepository;
+import com.share2go.repository.NotificationRepository;
+import com.share2go.repository.RideRepository;
+
+/**
+ * Checks that a batch of bookings is all or nothing and that each driver hears
+ * about it once.
+ */
+@SpringBootTest
+class BookingBatchTests {
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private RideRepository rideRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Test
+	void groupBookingNotifiesEachDriverOnce() {
+		User driver = testData.user(User.Role.Driver);
+		User otherDriver = testData.user(User.Role.Driver);
+		RideDTO outbound = testData.createRide(driver, "Batch", 4);
+		RideDTO back = testData.createRide(driver, "Batch", 4);
+		RideDTO other = testData.createRide(otherDriver, "Batch", 2);
+		User first = testData.user(User.Role.Passenger);
+		User second = testData.user(User.Role.Passenger);
+
+		List<BookingDTO> created = bookingService.createBookings(List.of(request(outbound, first, 1),
+				request(outbound, second, 2), request(back, first, 1), request(other, second, 1)));
+
+		assertThat(created).extracting(BookingDTO::getStatus).containsOnly("PENDING");
+		assertThat(created).extracting(BookingDTO::getHoldExpiresAt).doesNotContainNull();
+		assertThat(rideRepository.findById(outbound.getId()).orElseThrow().getAvailableSeats()).isEqualTo(1);
+		assertThat(rideRepository.findById(back.getId()).orElseThrow().getAvailableSeats()).isEqualTo(3);
+		assertThat(rideRepository.findById(other.getId()).orElseThrow().getAvailableSeats()).isEqualTo(1);
+
+		List<Notification> toDriver = notifications(driver, 1);
+		assertThat(toDriver).hasSize(1);
+		assertThat(toDriver.get(0).getMessage()).contains("3 bookings for 4 seat(s) on 2 ride(s)");
+		assertThat(toDriver.get(0).getBookingId()).isNull();
+		List<Notification> toOtherDriver = notifications(otherDriver, 1);
+		assertThat(toOtherDriver).extracting(Notification::getBookingId).containsExactly(created.get(3).getId());
+	}
+
+	@Test
+	void batchIsRolledBackWhenOneRideIsFull() {
+		User driver = testData.user(User.Role.Driver);
+		RideDTO open = testData.createRide(driver, "Batch", 3);
+		RideDTO full = testData.createRide(driver, "Batch", 1);
+		User passenger = testData.user(User.Role.Passenger);
+
+		assertThatThrownBy(() -> bookingService
+				.createBookings(List.of(request(open, passenger, 2), request(full, passenger, 2))))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		assertThat(rideRepository.findById(open.getId()).orElseThrow().getAvailableSeats()).isEqualTo(3);
+		assertThat(bookingRepository.findByRideId(open.getId())).isEmpty();
+	}
+
+	@Test
+	void bookingsNeedARideOrASchedule() {
+		User passenger = testData.user(User.Role.Passenger);
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), "Batch", 3);
+		BookingDTO neither = new BookingDTO();
+		neither.setPassengerId(passenger.getId());
+		neither.setNumberOfSeats(1);
+
+		assertThatThrownBy(() -> bookingService.createBooking(neither)).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("rideId or a scheduleId");
+		assertThatThrownBy(() -> bookingService.createBookings(List.of(request(ride, passenger, 1), neither)))
+				.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("rideId or a scheduleId");
+		assertThat(rideRepository.findById(ride.getId()).orElseThrow().getAvailableSeats()).isEqualTo(3);
+	}
+
+	private List<Notification> newest(Long recipientId) {
+		return notificationRepository.findByRecipientIdAndIdLessThanOrderByIdDesc(recipientId, Long.MAX_VALUE,
+				Limit.of(10));
+	}
+
+	// The dispatcher writes on its own threads, so wait until the expected count has arrived
+	private List<Notification> notifications(User recipient, int expected) {
+		return await().atMost(Duration.ofSeconds(5)).until(() -> newest(recipient.getId()), hasSize(expected));
+	}
+
+	private BookingDTO request(RideDTO ride, User passenger, int seats) {
+		BookingDTO dto = new BookingDTO();
+		dto.setRideId(ride.getId());
+		dto.setPassengerId(passenger.getId());
+		dto.setNumberOfSeats(seats);
+		return dto;
+	}
+}
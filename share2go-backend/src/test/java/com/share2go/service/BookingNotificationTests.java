@@ -0,0 +1,142 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.TestData;
+import com.share2go.dto.BookingDTO;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.Notification;
+import com.share2go.model.NotificationOutbox;
+import com.share2go.model.User;
+import com.share2go.repository.NotificationOutboxRepository;
+import com.share2go.repository.NotificationRepository;
+import com.share2go.service.impl.NotificationDispatcher;
+import com.share2go.service.impl.NotificationDispatcher.PendingNotification;
+
+/**
+ * Checks that booking changes reach the notification table through the
+ * outbox, only for changes that were committed, and that a notification that
+ * cannot be written is retried and kept.
+ */
+@SpringBootTest
+class BookingNotificationTests {
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private NotificationOutboxRepository outboxRepository;
+
+	@Autowired
+	private NotificationDispatcher notificationDispatcher;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void bookingRequestAndAcceptanceAreNotified() {
+		User driver = testData.user(User.Role.Driver);
+		User passenger = testData.user(User.Role.Passenger);
+		RideDTO ride = testData.createRide(driver, "Notify", 3);
+
+		BookingDTO booking = bookingService.createBooking(request(ride, passenger, 2));
+		bookingService.acceptBooking(booking.getId());
+
+		List<Notification> toDriver = notifications(driver, 1);
+		assertThat(toDriver).extracting(Notification::getType).containsExactly("BOOKING_REQUEST");
+		assertThat(toDriver.get(0).getBookingId()).isEqualTo(booking.getId());
+		assertThat(toDriver.get(0).getCreatedAt()).isNotNull();
+		assertThat(notifications(passenger, 1)).extracting(Notification::getType)
+				.containsExactly("BOOKING_ACCEPTED");
+	}
+
+	@Test
+	void rolledBackBookingIsNotNotified() {
+		User driver = testData.user(User.Role.Driver);
+		RideDTO ride = testData.createRide(driver, "Notify", 2);
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			bookingService.createBooking(request(ride, testData.user(User.Role.Passenger), 1));
+			status.setRollbackOnly();
+		});
+		BookingDTO committed = bookingService.createBooking(request(ride, testData.user(User.Role.Passenger), 1));
+
+		// Only the committed booking may ever reach the dispatcher
+		List<Notification> toDriver = notifications(driver, 1);
+		assertThat(toDriver).extracting(Notification::getBookingId).containsExactly(committed.getId());
+	}
+
+	@Test
+	void notificationsCommitWithTheBookingAndAreRelayedAfterwards() {
+		User driver = testData.user(User.Role.Driver);
+		RideDTO ride = testData.createRide(driver, "Notify", 2);
+
+		BookingDTO booking = new TransactionTemplate(transactionManager).execute(status -> {
+			BookingDTO created = bookingService.createBooking(request(ride, testData.user(User.Role.Passenger), 1));
+			// Until the booking commits the notification is only an outbox row in its transaction
+			assertThat(outboxRepository.findAll()).extracting(NotificationOutbox::getBookingId)
+					.contains(created.getId());
+			assertThat(newest(driver.getId())).isEmpty();
+			return created;
+		});
+
+		assertThat(notifications(driver, 1)).extracting(Notification::getBookingId).containsExactly(booking.getId());
+		assertThat(outboxRepository.findAll()).extracting(NotificationOutbox::getBookingId)
+				.doesNotContain(booking.getId());
+	}
+
+	@Test
+	void failingNotificationIsRetriedAndKeptWithoutBlockingOthers() {
+		User driver = testData.user(User.Role.Driver);
+		LocalDateTime now = LocalDateTime.now();
+		// No such user, so the foreign key rejects it on every attempt
+		notificationDispatcher.dispatch(new PendingNotification(-1L, "BOOKING_REQUEST", "Nobody", null, null, now));
+		notificationDispatcher.dispatch(new PendingNotification(driver.getId(), "BOOKING_REQUEST", "Somebody", null,
+				null, now));
+
+		assertThat(notifications(driver, 1)).extracting(Notification::getMessage).containsExactly("Somebody");
+		await().atMost(Duration.ofSeconds(5)).until(() -> {
+			notificationDispatcher.relayDue();
+			return outboxRepository.findAll().stream().filter(row -> row.getRecipientId() == -1L)
+					.mapToInt(NotificationOutbox::getAttempts).sum();
+		}, is(3));
+	}
+
+	private List<Notification> newest(Long recipientId) {
+		return notificationRepository.findByRecipientIdAndIdLessThanOrderByIdDesc(recipientId, Long.MAX_VALUE,
+				Limit.of(10));
+	}
+
+	// The dispatcher writes on its own threads, so wait until the expected count has arrived
+	private List<Notification> notifications(User recipient, int expected) {
+		return await().atMost(Duration.ofSeconds(5)).until(() -> newest(recipient.getId()), hasSize(expected));
+	}
+
+	private BookingDTO request(RideDTO ride, User passenger, int seats) {
+		BookingDTO dto = new BookingDTO();
+		dto.setRideId(ride.getId());
+		dto.setPassengerId(passenger.getId());
+		dto.setNumberOfSeats(seats);
+		return dto;
+	}
+}
@@ -0,0 +1,147 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.is;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.share2go.TestData;
+import com.share2go.dto.BookingDTO;
+import com.share2go.dto.DriverRideSummaryDTO;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.Booking;
+import com.share2go.model.Ride;
+import com.share2go.model.User;
+import com.share2go.repository.BookingRepository;
+import com.share2go.repository.NotificationRepository;
+import com.share2go.repository.RideRepository;
+import com.share2go.service.impl.DriverDashboardProjection;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that the driver dashboard follows bookings as they move through their
+ * states and is read with a single statement.
+ */
+@SpringBootTest
+class DriverDashboardTests {
+
+	@Autowired
+	private DriverDashboardService driverDashboardService;
+
+	@Autowired
+	private DriverDashboardProjection driverDashboardProjection;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private RideRepository rideRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void dashboardFollowsBookings() {
+		User driver = testData.user(User.Role.Driver);
+		RideDTO ride = testData.createRide(driver, "Dashboard", 5);
+		User anna = testData.user(User.Role.Passenger, "Anna");
+		User ben = testData.user(User.Role.Passenger, "Ben");
+		User cleo = testData.user(User.Role.Passenger, "Cleo");
+
+		BookingDTO accepted = bookingService.createBooking(request(ride.getId(), anna, 2));
+		bookingService.acceptBooking(accepted.getId());
+		BookingDTO cancelled = bookingService.createBooking(request(ride.getId(), ben, 1));
+		bookingService.cancelBooking(cancelled.getId());
+		bookingService.createBookings(List.of(request(ride.getId(), cleo, 1)));
+
+		DriverRideSummaryDTO summary = dashboard(driver).get(0);
+		assertThat(summary.getRideId()).isEqualTo(ride.getId());
+		assertThat(summary.getAvailableSeats()).isEqualTo(2);
+		assertThat(summary.getPendingBookings()).isEqualTo(1);
+		assertThat(summary.getConfirmedBookings()).isEqualTo(1);
+		assertThat(summary.getConfirmedSeats()).isEqualTo(2);
+		assertThat(summary.getRecentPassengers()).containsExactly("Cleo", "Ben", "Anna");
+
+		bookingService.cancelBooking(accepted.getId());
+		summary = dashboard(driver).get(0);
+		assertThat(summary.getAvailableSeats()).isEqualTo(4);
+		assertThat(summary.getConfirmedBookings()).isZero();
+		assertThat(summary.getConfirmedSeats()).isZero();
+	}
+
+	@Test
+	void ridesWithoutSummaryAreBackfilled() {
+		User driver = testData.user(User.Role.Driver);
+		User passenger = testData.user(User.Role.Passenger);
+		Ride ride = new Ride();
+		ride.setOrigin("Legacy Origin");
+		ride.setDestination("Legacy Destination");
+		ride.setDepartureTime(LocalDateTime.now().plusDays(1));
+		ride.setAvailableSeats(3);
+		ride.setDriver(driver);
+		ride = rideRepository.save(ride);
+		Booking booking = new Booking();
+		booking.setRide(ride);
+		booking.setPassenger(passenger);
+		booking.setNumberOfSeats(2);
+		booking.setStatus("CONFIRMED");
+		bookingRepository.save(booking);
+
+		driverDashboardProjection.afterSingletonsInstantiated();
+
+		assertThat(dashboard(driver)).singleElement().satisfies(summary -> {
+			assertThat(summary.getAvailableSeats()).isEqualTo(3);
+			assertThat(summary.getConfirmedBookings()).isEqualTo(1);
+			assertThat(summary.getConfirmedSeats()).isEqualTo(2);
+			assertThat(summary.getRecentPassengers()).isEmpty();
+		});
+	}
+
+	@Test
+	void dashboardIsOneStatement() {
+		User driver = testData.user(User.Role.Driver);
+		for (int i = 0; i < 4; i++) {
+			RideDTO ride = testData.createRide(driver, "Dashboard", 3);
+			bookingService.createBooking(request(ride.getId(), testData.user(User.Role.Passenger), 1));
+		}
+		// Statistics count every thread, so let the dispatcher write the driver's notifications first
+		await().atMost(Duration.ofSeconds(5)).until(() -> notificationRepository.countByRecipientIdAndReadFlagFalse(driver.getId()),
+				is(4L));
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		assertThat(dashboard(driver)).hasSize(4);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	private List<DriverRideSummaryDTO> dashboard(User driver) {
+		return driverDashboardService.getDashboard(driver.getId());
+	}
+
+	private BookingDTO request(Long rideId, User passenger, int seats) {
+		BookingDTO dto = new BookingDTO();
+		dto.setRideId(rideId);
+		dto.setPassengerId(passenger.getId());
+		dto.setNumberOfSeats(seats);
+		return dto;
+	}
+}
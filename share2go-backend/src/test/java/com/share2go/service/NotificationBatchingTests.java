@@ -0,0 +1,67 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.TestData;
+import com.share2go.model.Notification;
+import com.share2go.model.User;
+import com.share2go.repository.NotificationRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that with pooled ids a notification fan-out is written as JDBC
+ * batches rather than one INSERT per row.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:share2go_batching_test;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.jdbc.batch_size=50", "spring.jpa.properties.hibernate.order_inserts=true" })
+@ActiveProfiles("sequence-ids")
+class NotificationBatchingTests {
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void fanOutIsBatched() {
+		List<User> recipients = List.of(testData.user(User.Role.Passenger), testData.user(User.Role.Passenger), testData.user(User.Role.Passenger));
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<Notification> saved = transactionTemplate.execute(status -> {
+			List<Notification> notifications = new ArrayList<>();
+			for (int i = 0; i < 120; i++) {
+				Notification n = new Notification();
+				n.setRecipient(recipients.get(i % recipients.size()));
+				n.setType("BOOKING_REQUEST");
+				n.setMessage("Batched " + i);
+				notifications.add(n);
+			}
+			return notificationRepository.saveAll(notifications);
+		});
+
+		assertThat(saved).extracting(Notification::getId).doesNotContainNull().doesNotHaveDuplicates();
+		// Three batches of inserts and three sequence calls for 120 rows
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+	}
+}
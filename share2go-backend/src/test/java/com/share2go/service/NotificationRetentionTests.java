@@ -0,0 +1,85 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.share2go.TestData;
+import com.share2go.model.Notification;
+import com.share2go.model.User;
+import com.share2go.repository.NotificationRepository;
+import com.share2go.service.impl.NotificationRetention;
+
+/**
+ * Checks that bulk mark-all-read flips only the user's rows and that retention
+ * removes old read notifications and nothing else.
+ */
+@SpringBootTest
+class NotificationRetentionTests {
+
+	@Autowired
+	private NotificationService notificationService;
+
+	@Autowired
+	private NotificationRetention notificationRetention;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void markAllAsReadOnlyTouchesTheUser() {
+		User user = testData.user(User.Role.Passenger);
+		User other = testData.user(User.Role.Passenger);
+		notification(user, false, LocalDateTime.now());
+		notification(user, false, LocalDateTime.now());
+		Notification untouched = notification(other, false, LocalDateTime.now());
+
+		notificationService.markAllAsRead(user.getId());
+
+		assertThat(notificationRepository.countByRecipientIdAndReadFlagFalse(user.getId())).isZero();
+		assertThat(notificationRepository.findById(untouched.getId()).orElseThrow().isReadFlag()).isFalse();
+	}
+
+	@Test
+	void purgeRemovesOnlyOldReadNotifications() {
+		User user = testData.user(User.Role.Passenger);
+		LocalDateTime old = LocalDateTime.now().minusDays(90);
+		Notification oldRead = notification(user, true, old);
+		Notification oldUnread = notification(user, false, old);
+		Notification recentRead = notification(user, true, LocalDateTime.now());
+
+		notificationRetention.purgeReadNotifications();
+
+		assertThat(notificationRepository.existsById(oldRead.getId())).isFalse();
+		assertThat(notificationRepository.existsById(oldUnread.getId())).isTrue();
+		assertThat(notificationRepository.existsById(recentRead.getId())).isTrue();
+	}
+
+	@Test
+	void purgeWalksTheReadIndex() {
+		String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM notifications WHERE read_flag = TRUE "
+				+ "AND created_at < ? ORDER BY created_at, id LIMIT 1000", String.class, LocalDateTime.now());
+		assertThat(plan).containsIgnoringCase("idx_notifications_read_created");
+	}
+
+	private Notification notification(User recipient, boolean read, LocalDateTime createdAt) {
+		Notification n = new Notification();
+		n.setRecipient(recipient);
+		n.setType("BOOKING_REQUEST");
+		n.setMessage("Retained");
+		n.setReadFlag(read);
+		n.setCreatedAt(createdAt);
+		return notificationRepository.save(n);
+	}
+}
@@ -0,0 +1,155 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.share2go.TestData;
+import com.share2go.dto.CursorPage;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.Booking;
+import com.share2go.model.User;
+import com.share2go.repository.BookingRepository;
+import com.share2go.repository.RideRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the number of SQL statements behind the ride and booking read paths.
+ * Each listing must cost the same number of statements whatever the number of
+ * rows, drivers or passengers it returns.
+ */
+@SpringBootTest
+class QueryCountTests {
+
+	@Autowired
+	private RideService rideService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private RideRepository rideRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void driverRideListIsConstant() {
+		User driver = testData.user(User.Role.Driver);
+		rides(List.of(driver), "Qc Driver Town", 3);
+		long few = statementsFor(() -> rideService.getRidesByDriver(driver.getId(), null, CursorPage.DEFAULT_SIZE));
+
+		rides(List.of(driver), "Qc Driver Town", 12);
+		long many = statementsFor(() -> rideService.getRidesByDriver(driver.getId(), null, CursorPage.DEFAULT_SIZE));
+
+		assertThat(many).isEqualTo(few).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void searchIsConstant() {
+		String town = "Qc Search " + UUID.randomUUID();
+		rides(drivers(3), town, 3);
+		long few = statementsFor(() -> assertThat(rideService.searchRides(town, "", null)).hasSize(3));
+
+		rides(drivers(12), town, 12);
+		long many = statementsFor(() -> assertThat(rideService.searchRides(town, "", null)).hasSize(15));
+
+		assertThat(many).isEqualTo(few).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void rideListingIsConstant() {
+		rides(drivers(20), "Qc Listing Town", 20);
+
+		// Rides, their passenger ids and, when the page has rides with waypoints, those waypoints
+		assertThat(statementsFor(() -> rideService.getAllRides(null, 5))).isLessThanOrEqualTo(3);
+		assertThat(statementsFor(() -> rideService.getAllRides(null, 50))).isLessThanOrEqualTo(3);
+	}
+
+	@Test
+	void rideBookingsAreConstant() {
+		RideDTO ride = rides(drivers(1), "Qc Booking Town", 1).get(0);
+		for (int i = 0; i < 8; i++) {
+			Booking booking = new Booking();
+			booking.setRide(rideRepository.getReferenceById(ride.getId()));
+			booking.setPassenger(testData.user(User.Role.Passenger));
+			booking.setNumberOfSeats(1);
+			booking.setStatus("PENDING");
+			booking.setBookingTime(LocalDateTime.now());
+			bookingRepository.save(booking);
+		}
+
+		assertThat(statementsFor(() -> bookingService.getBookingsByRide(ride.getId(), null, CursorPage.DEFAULT_SIZE))).isEqualTo(1);
+		assertThat(statementsFor(() -> bookingService.getAllBookings(null, 50))).isEqualTo(1);
+	}
+
+	@Test
+	void rideExportIsBatched() {
+		rides(drivers(3), "Qc Export Town", 12);
+		long batches = rideRepository.count() / 500 + 1;
+
+		// Rides, their passenger ids and their waypoints once per batch of 500 rides
+		assertThat(statementsFor(() -> {
+			try {
+				exportService.exportRides(OutputStream.nullOutputStream());
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		})).isLessThanOrEqualTo(3 * batches);
+	}
+
+	private long statementsFor(Runnable call) {
+		statistics.clear();
+		call.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private List<User> drivers(int count) {
+		List<User> drivers = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			drivers.add(testData.user(User.Role.Driver));
+		}
+		return drivers;
+	}
+
+	private List<RideDTO> rides(List<User> drivers, String town, int count) {
+		List<RideDTO> rides = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			RideDTO ride = testData.createRide(drivers.get(i % drivers.size()), town, 4);
+			testData.addPassengers(ride,
+					List.of(testData.user(User.Role.Passenger), testData.user(User.Role.Passenger)));
+			rides.add(ride);
+		}
+		return rides;
+	}
+}
@@ -0,0 +1,146 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.share2go.TestData;
+import com.share2go.dto.BookingDTO;
+import com.share2go.dto.CursorPage;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.Booking;
+import com.share2go.model.Ride;
+import com.share2go.model.User;
+import com.share2go.repository.BookingRepository;
+import com.share2go.repository.DriverRideSummaryRepository;
+import com.share2go.repository.RideRepository;
+import com.share2go.repository.RideSegmentRepository;
+import com.share2go.service.impl.RideArchiver;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Checks that the archiver moves departed rides with their bookings and old
+ * closed bookings out of the hot tables, and that their history stays readable.
+ */
+@SpringBootTest
+class RideArchiveTests {
+
+	@Autowired
+	private RideService rideService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private RideArchiver rideArchiver;
+
+	@Autowired
+	private RideRepository rideRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private RideSegmentRepository segmentRepository;
+
+	@Autowired
+	private DriverRideSummaryRepository summaryRepository;
+
+	@Autowired
+	private TestData testData;
+
+	@Test
+	void departedRidesMoveToTheArchiveWithTheirBookings() {
+		String town = UUID.randomUUID().toString();
+		User driver = testData.user(User.Role.Driver);
+		User passenger = testData.user(User.Role.Passenger);
+		RideDTO departed = ride(driver, town, List.of(town + " Mid"));
+		BookingDTO booking = bookingService.createBooking(request(departed, passenger));
+		rideService.getRideById(departed.getId());
+
+		LocalDateTime departureTime = LocalDateTime.now().minusDays(2).withNano(0);
+		Ride ride = rideRepository.findById(departed.getId()).orElseThrow();
+		ride.setDepartureTime(departureTime);
+		ride.setPassengers(List.of(passenger));
+		rideRepository.save(ride);
+
+		rideArchiver.archive();
+
+		assertThat(rideRepository.existsById(departed.getId())).isFalse();
+		assertThat(bookingRepository.existsById(booking.getId())).isFalse();
+		assertThat(segmentRepository.findByRideIdIn(List.of(departed.getId()))).isEmpty();
+		assertThat(summaryRepository.existsById(departed.getId())).isFalse();
+		assertThatThrownBy(() -> rideService.getRideById(departed.getId()))
+				.isInstanceOf(EntityNotFoundException.class);
+		assertThat(rideService.getRidesByDriver(driver.getId(), null, CursorPage.DEFAULT_SIZE).getItems()).isEmpty();
+
+		List<RideDTO> history = rideService.getArchivedRidesByDriver(driver.getId());
+		assertThat(history).singleElement().satisfies(archived -> {
+			assertThat(archived.getId()).isEqualTo(departed.getId());
+			assertThat(archived.getDepartureTime()).isEqualTo(departureTime);
+			assertThat(archived.getWaypoints()).containsExactly(town + " Mid");
+			assertThat(archived.getPassengerIds()).containsExactly(passenger.getId());
+			assertThat(archived.getDriverName()).isEqualTo(driver.getName());
+		});
+		assertThat(bookingService.getArchivedBookingsByPassenger(passenger.getId())).singleElement()
+				.satisfies(archived -> {
+					assertThat(archived.getId()).isEqualTo(booking.getId());
+					assertThat(archived.getRideId()).isEqualTo(departed.getId());
+					assertThat(archived.getStatus()).isEqualTo(booking.getStatus());
+				});
+
+		rideArchiver.archive();
+		assertThat(rideService.getArchivedRidesByDriver(driver.getId())).hasSize(1);
+	}
+
+	@Test
+	void onlyOldClosedBookingsLeaveLiveRides() {
+		User driver = testData.user(User.Role.Driver);
+		User passenger = testData.user(User.Role.Passenger);
+		RideDTO live = ride(driver, UUID.randomUUID().toString(), List.of());
+		Booking oldCancelled = booking(live, passenger, "CANCELLED", LocalDateTime.now().minusDays(60));
+		Booking recentCancelled = booking(live, passenger, "CANCELLED", LocalDateTime.now().minusDays(1));
+		Booking oldConfirmed = booking(live, passenger, "CONFIRMED", LocalDateTime.now().minusDays(60));
+
+		rideArchiver.archive();
+
+		assertThat(rideRepository.existsById(live.getId())).isTrue();
+		assertThat(bookingRepository.existsById(oldCancelled.getId())).isFalse();
+		assertThat(bookingRepository.existsById(recentCancelled.getId())).isTrue();
+		assertThat(bookingRepository.existsById(oldConfirmed.getId())).isTrue();
+		assertThat(bookingService.getArchivedBookingsByPassenger(passenger.getId())).extracting(BookingDTO::getId)
+				.containsExactly(oldCancelled.getId());
+	}
+
+	private Booking booking(RideDTO ride, User passenger, String status, LocalDateTime bookingTime) {
+		Booking booking = new Booking();
+		booking.setRide(rideRepository.getReferenceById(ride.getId()));
+		booking.setPassenger(passenger);
+		booking.setNumberOfSeats(1);
+		booking.setStatus(status);
+		booking.setBookingTime(bookingTime);
+		return bookingRepository.save(booking);
+	}
+
+	private BookingDTO request(RideDTO ride, User passenger) {
+		BookingDTO dto = new BookingDTO();
+		dto.setRideId(ride.getId());
+		dto.setPassengerId(passenger.getId());
+		dto.setNumberOfSeats(1);
+		return dto;
+	}
+
+	private RideDTO ride(User driver, String town, List<String> waypoints) {
+		RideDTO ride = TestData.ride(town, 3);
+		ride.setWaypoints(waypoints);
+		return testData.createRide(driver, ride);
+	}
+}
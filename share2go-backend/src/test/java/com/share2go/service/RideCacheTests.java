@@ -0,0 +1,199 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.TestData;
+import com.share2go.dto.BookingDTO;
+import com.share2go.dto.CursorPage;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.Booking;
+import com.share2go.model.User;
+import com.share2go.repository.BookingRepository;
+import com.share2go.search.RideSearchCache;
+import com.share2go.service.impl.RideCaches;
+import com.share2go.service.impl.SeatHoldExpiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that ride details, driver ride lists and search results are served
+ * from the cache and that every seat or ride change is visible on the next
+ * read.
+ */
+@SpringBootTest
+class RideCacheTests {
+
+	@Autowired
+	private RideService rideService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private SeatHoldExpiry seatHoldExpiry;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void repeatedReadsAreServedFromCache() {
+		User driver = testData.user(User.Role.Driver);
+		RideDTO ride = testData.createRide(driver, "Cache", 4);
+		rideService.getRideById(ride.getId());
+		rideService.getRidesByDriver(driver.getId(), null, CursorPage.DEFAULT_SIZE).getItems();
+		double hits = hits(RideCaches.RIDES);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		assertThat(rideService.getRideById(ride.getId()).getAvailableSeats()).isEqualTo(4);
+		assertThat(rideService.getRidesByDriver(driver.getId(), null, CursorPage.DEFAULT_SIZE).getItems()).hasSize(1);
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(hits(RideCaches.RIDES)).isEqualTo(hits + 1);
+	}
+
+	@Test
+	void seatChangesAreNeverServedStale() {
+		User driver = testData.user(User.Role.Driver);
+		RideDTO ride = testData.createRide(driver, "Cache", 4);
+		assertSeats(driver, ride, 4);
+
+		BookingDTO accepted = bookingService.createBooking(request(ride, 1));
+		assertSeats(driver, ride, 3);
+		bookingService.acceptBooking(accepted.getId());
+		assertSeats(driver, ride, 3);
+
+		BookingDTO rejected = bookingService.createBooking(request(ride, 2));
+		assertSeats(driver, ride, 1);
+		bookingService.rejectBooking(rejected.getId());
+		assertSeats(driver, ride, 3);
+
+		bookingService.cancelBooking(accepted.getId());
+		assertSeats(driver, ride, 4);
+
+		BookingDTO expiring = bookingService.createBooking(request(ride, 3));
+		assertSeats(driver, ride, 1);
+		Booking hold = bookingRepository.findById(expiring.getId()).orElseThrow();
+		hold.setHoldExpiresAt(LocalDateTime.now().minusSeconds(1));
+		bookingRepository.save(hold);
+		seatHoldExpiry.sweepExpiredHolds();
+		assertSeats(driver, ride, 4);
+	}
+
+	@Test
+	void rideUpdatesAndDeletesAreNeverServedStale() {
+		User driver = testData.user(User.Role.Driver);
+		RideDTO ride = testData.createRide(driver, "Cache", 4);
+		assertSeats(driver, ride, 4);
+
+		ride.setAvailableSeats(2);
+		rideService.updateRide(ride.getId(), ride);
+		assertSeats(driver, ride, 2);
+
+		rideService.deleteRide(ride.getId());
+		assertThat(rideService.getRidesByDriver(driver.getId(), null, CursorPage.DEFAULT_SIZE).getItems()).isEmpty();
+	}
+
+	@Test
+	void searchResultsAreCachedUntilAMatchingRideChanges() {
+		User driver = testData.user(User.Role.Driver);
+		String town = UUID.randomUUID().toString();
+		LocalDateTime from = LocalDateTime.now().plusDays(2);
+		RideDTO first = ride(driver, town, from.plusHours(1), 4);
+		assertThat(search(town, from)).containsExactly(first.getId());
+		double hits = hits(RideSearchCache.NAME);
+		double invalidations = invalidations();
+
+		// Rides elsewhere leave the entry alone, and seat counts are read fresh
+		ride(driver, UUID.randomUUID().toString(), from.plusHours(1), 4);
+		bookingService.createBooking(request(first, 1));
+		assertThat(rideService.searchRides(town, town, from)).singleElement()
+				.extracting(RideDTO::getAvailableSeats).isEqualTo(3);
+		assertThat(hits(RideSearchCache.NAME)).isEqualTo(hits + 1);
+		assertThat(invalidations()).isEqualTo(invalidations);
+
+		RideDTO second = ride(driver, town, from.plusHours(2), 4);
+		assertThat(invalidations()).isGreaterThan(invalidations);
+		assertThat(search(town, from)).containsExactly(first.getId(), second.getId());
+
+		first.setDepartureTime(from.minusDays(1));
+		rideService.updateRide(first.getId(), first);
+		assertThat(search(town, from)).containsExactly(second.getId());
+
+		rideService.deleteRide(second.getId());
+		assertThat(search(town, from)).isEmpty();
+	}
+
+	@Test
+	void rolledBackDeleteLeavesTheRideListed() {
+		User driver = testData.user(User.Role.Driver);
+		String town = UUID.randomUUID().toString();
+		LocalDateTime from = LocalDateTime.now().plusDays(2);
+		RideDTO ride = ride(driver, town, from.plusHours(1), 4);
+		assertThat(search(town, from)).containsExactly(ride.getId());
+
+		transactionTemplate.executeWithoutResult(status -> {
+			rideService.deleteRide(ride.getId());
+			status.setRollbackOnly();
+		});
+
+		assertThat(search(town, from)).containsExactly(ride.getId());
+		assertSeats(driver, ride, 4);
+	}
+
+	private List<Long> search(String town, LocalDateTime from) {
+		return rideService.searchRides(town, town, from).stream().map(RideDTO::getId).toList();
+	}
+
+	private double invalidations() {
+		return meterRegistry.counter("share2go.rides.search.cache.invalidations").count();
+	}
+
+	private void assertSeats(User driver, RideDTO ride, int seats) {
+		assertThat(rideService.getRideById(ride.getId()).getAvailableSeats()).isEqualTo(seats);
+		assertThat(rideService.getRidesByDriver(driver.getId(), null, CursorPage.DEFAULT_SIZE).getItems()).singleElement()
+				.extracting(RideDTO::getAvailableSeats).isEqualTo(seats);
+	}
+
+	private double hits(String cache) {
+		return meterRegistry.get("cache.gets").tags("cache", cache, "result", "hit").functionCounter().count();
+	}
+
+	private BookingDTO request(RideDTO ride, int seats) {
+		BookingDTO dto = new BookingDTO();
+		dto.setRideId(ride.getId());
+		dto.setPassengerId(testData.user(User.Role.Passenger).getId());
+		dto.setNumberOfSeats(seats);
+		return dto;
+	}
+
+	private RideDTO ride(User driver, String town, LocalDateTime departureTime, int seats) {
+		RideDTO ride = TestData.ride(town, seats);
+		ride.setDepartureTime(departureTime);
+		return testData.createRide(driver, ride);
+	}
+}
@@ -0,0 +1,68 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.share2go.TestData;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.User;
+import com.share2go.search.RideSort;
+
+/**
+ * Checks that ranked searches return the best rides for each sort, trimmed to
+ * the requested limit.
+ */
+@SpringBootTest
+class RideRankingTests {
+
+	@Autowired
+	private RideService rideService;
+
+	@Autowired
+	private TestData testData;
+
+	@Test
+	void eachSortPicksItsBestRides() {
+		String town = UUID.randomUUID().toString();
+		// Far enough ahead that no other test's rides leave in between
+		LocalDateTime from = LocalDateTime.now().plusYears(30).plusDays(ThreadLocalRandom.current().nextInt(10000))
+				.truncatedTo(ChronoUnit.MINUTES);
+		User driver = testData.user(User.Role.Driver);
+		Long soon = testData.createRide(driver, ride(town, from.plusHours(1), 50, 3)).getId();
+		Long cheap = testData.createRide(driver, ride(town, from.plusHours(2), 10, 1)).getId();
+		Long late = testData.createRide(driver, ride(town, from.plusHours(30), 5, 4)).getId();
+		Long roomy = testData.createRide(driver, ride(town, from.plusHours(3), 40, 4)).getId();
+
+		assertThat(ids(town, from, RideSort.PRICE, 2)).containsExactly(late, cheap);
+		assertThat(ids(town, from, RideSort.DEPARTURE, 3)).containsExactly(soon, cheap, roomy);
+		assertThat(ids(town, from, RideSort.SEATS, 2)).containsExactly(roomy, late);
+		assertThat(ids(town, from, RideSort.RELEVANCE, 10)).containsExactly(cheap, roomy, late, soon);
+		assertThat(ids(town, from.plusHours(4), RideSort.RELEVANCE, 10)).containsExactly(late);
+
+		assertThat(rideService.searchRides(null, null, from, RideSort.DEPARTURE, 2)).extracting(RideDTO::getId)
+				.containsExactly(soon, cheap);
+		assertThat(rideService.searchRides(town, town, from)).extracting(RideDTO::getId)
+				.containsExactly(soon, cheap, late, roomy);
+	}
+
+	private List<Long> ids(String town, LocalDateTime from, RideSort sort, int limit) {
+		return rideService.searchRides(town + " Origin", town + " Destination", from, sort, limit).stream()
+				.map(RideDTO::getId).toList();
+	}
+
+	private RideDTO ride(String town, LocalDateTime departureTime, double price, int seats) {
+		RideDTO ride = TestData.ride(town, seats);
+		ride.setDepartureTime(departureTime);
+		ride.setPricePerSeat(price);
+		return ride;
+	}
+}
@@ -0,0 +1,211 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.TestData;
+import com.share2go.dto.BookingDTO;
+import com.share2go.dto.CursorPage;
+import com.share2go.dto.RideDTO;
+import com.share2go.dto.RideScheduleDTO;
+import com.share2go.model.Recurrence;
+import com.share2go.model.User;
+import com.share2go.search.RideSort;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that schedules are listed as occurrences in searches and that an
+ * occurrence gets a ride of its own only when it is first booked.
+ */
+@SpringBootTest
+class RideScheduleTests {
+
+	private static final LocalTime DEPARTURE = LocalTime.of(8, 15);
+
+	@Autowired
+	private RideScheduleService rideScheduleService;
+
+	@Autowired
+	private RideService rideService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void occurrencesBecomeRidesWhenBooked() {
+		String town = UUID.randomUUID().toString();
+		LocalDate tomorrow = LocalDate.now().plusDays(1);
+		User driver = testData.user(User.Role.Driver);
+		RideScheduleDTO schedule = rideScheduleService.createSchedule(schedule(town, "RRULE:freq=daily"),
+				driver.getId());
+		assertThat(schedule.getRecurrence()).isEqualTo("FREQ=DAILY");
+
+		List<RideDTO> listed = rideService.searchRides(town, town, tomorrow.atStartOfDay());
+		assertThat(listed).hasSize(7).allSatisfy(ride -> {
+			assertThat(ride.getId()).isNull();
+			assertThat(ride.getScheduleId()).isEqualTo(schedule.getId());
+			assertThat(ride.getAvailableSeats()).isEqualTo(4);
+		});
+		assertThat(listed.get(0).getDepartureTime()).isEqualTo(tomorrow.atTime(DEPARTURE));
+
+		LocalDateTime first = tomorrow.atTime(DEPARTURE);
+		BookingDTO booking = bookingService.createBooking(request(schedule, first, 1));
+		assertThat(booking.getRideId()).isNotNull();
+		assertThat(bookingService.createBooking(request(schedule, first, 2)).getRideId())
+				.isEqualTo(booking.getRideId());
+		assertThatThrownBy(() -> bookingService.createBooking(request(schedule, first.plusMinutes(5), 1)))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		listed = rideService.searchRides(town, town, tomorrow.atStartOfDay());
+		assertThat(listed).hasSize(7);
+		assertThat(listed.get(0).getId()).isEqualTo(booking.getRideId());
+		assertThat(listed.get(0).getScheduleId()).isEqualTo(schedule.getId());
+		assertThat(listed.get(0).getAvailableSeats()).isEqualTo(1);
+		assertThat(listed.subList(1, 7)).extracting(RideDTO::getId).containsOnlyNulls();
+		assertThat(rideService.getRidesByDriver(driver.getId(), null, CursorPage.DEFAULT_SIZE).getItems()).extracting(RideDTO::getId)
+				.containsExactly(booking.getRideId());
+
+		assertThat(rideService.searchRides(town, town, tomorrow.atStartOfDay(), RideSort.DEPARTURE, 3))
+				.extracting(RideDTO::getDepartureTime)
+				.containsExactly(first, first.plusDays(1), first.plusDays(2));
+	}
+
+	@Test
+	void onlyScheduledDaysWithinTheScheduleAreListed() {
+		String town = UUID.randomUUID().toString();
+		LocalDate monday = LocalDate.now().plusWeeks(1).with(DayOfWeek.MONDAY);
+		RideScheduleDTO dto = schedule(town, "FREQ=WEEKLY;BYDAY=MO,WE");
+		dto.setStartDate(monday);
+		dto.setEndDate(monday.plusDays(9));
+		rideScheduleService.createSchedule(dto, testData.user(User.Role.Driver).getId());
+
+		assertThat(departures(town, monday.atStartOfDay())).containsExactly(monday.atTime(DEPARTURE),
+				monday.plusDays(2).atTime(DEPARTURE));
+		assertThat(departures(town, monday.atTime(DEPARTURE).plusMinutes(1)))
+				.containsExactly(monday.plusDays(2).atTime(DEPARTURE), monday.plusDays(7).atTime(DEPARTURE));
+		assertThat(departures(town, monday.plusDays(8).atStartOfDay()))
+				.containsExactly(monday.plusDays(9).atTime(DEPARTURE));
+		assertThat(rideService.searchRides("elsewhere " + town, "", monday.atStartOfDay())).isEmpty();
+	}
+
+	@Test
+	void deletedSchedulesKeepTheirBookedRides() {
+		String town = UUID.randomUUID().toString();
+		LocalDateTime first = LocalDate.now().plusDays(1).atTime(DEPARTURE);
+		RideScheduleDTO schedule = rideScheduleService.createSchedule(schedule(town, "FREQ=DAILY"),
+				testData.user(User.Role.Driver).getId());
+		Long rideId = bookingService.createBooking(request(schedule, first, 1)).getRideId();
+
+		rideScheduleService.deleteSchedule(schedule.getId());
+
+		assertThat(rideService.searchRides(town, town, first.minusHours(1))).singleElement().satisfies(ride -> {
+			assertThat(ride.getId()).isEqualTo(rideId);
+			assertThat(ride.getScheduleId()).isNull();
+		});
+	}
+
+	@Test
+	void rolledBackSchedulesAreNeverListed() {
+		String town = UUID.randomUUID().toString();
+		LocalDateTime from = LocalDate.now().plusDays(1).atStartOfDay();
+		Long driverId = testData.user(User.Role.Driver).getId();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+		transaction.executeWithoutResult(status -> {
+			rideScheduleService.createSchedule(schedule(town, "FREQ=DAILY"), driverId);
+			status.setRollbackOnly();
+		});
+		assertThat(departures(town, from)).isEmpty();
+
+		RideScheduleDTO schedule = rideScheduleService.createSchedule(schedule(town, "FREQ=DAILY"), driverId);
+		transaction.executeWithoutResult(status -> {
+			rideScheduleService.deleteSchedule(schedule.getId());
+			status.setRollbackOnly();
+		});
+		assertThat(departures(town, from)).hasSize(7);
+	}
+
+	@Test
+	void invalidRequestsNeverMaterializeAnOccurrence() {
+		String town = UUID.randomUUID().toString();
+		LocalDateTime first = LocalDate.now().plusDays(1).atTime(DEPARTURE);
+		RideScheduleDTO schedule = rideScheduleService.createSchedule(schedule(town, "FREQ=DAILY"),
+				testData.user(User.Role.Driver).getId());
+		BookingDTO noSeats = request(schedule, first, 0);
+		List<BookingDTO> batch = List.of(request(schedule, first, 1), request(schedule, first.plusDays(1), -1));
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		assertThatThrownBy(() -> bookingService.createBooking(noSeats)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> bookingService.createBookings(batch)).isInstanceOf(IllegalArgumentException.class);
+		// Rejected before the schedule is even locked
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(rideService.searchRides(town, town, first)).extracting(RideDTO::getId).containsOnlyNulls();
+	}
+
+	@Test
+	void onlySupportedRulesAreAccepted() {
+		Recurrence weekdays = Recurrence.parse("FREQ=WEEKLY;BYDAY=FR,MO,TU,WE,TH;UNTIL=20301231T235959Z");
+		assertThat(weekdays.toRule()).isEqualTo("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR;UNTIL=20301231");
+		assertThat(weekdays.until()).isEqualTo(LocalDate.of(2030, 12, 31));
+
+		assertThatThrownBy(() -> Recurrence.parse("FREQ=MONTHLY")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Recurrence.parse("FREQ=WEEKLY")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Recurrence.parse("FREQ=WEEKLY;BYDAY=1MO"))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Recurrence.parse("FREQ=DAILY;INTERVAL=2"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private List<LocalDateTime> departures(String town, LocalDateTime from) {
+		return rideService.searchRides(town, "", from).stream().map(RideDTO::getDepartureTime).toList();
+	}
+
+	private BookingDTO request(RideScheduleDTO schedule, LocalDateTime departureTime, int seats) {
+		BookingDTO dto = new BookingDTO();
+		dto.setScheduleId(schedule.getId());
+		dto.setDepartureTime(departureTime);
+		dto.setPassengerId(testData.user(User.Role.Passenger).getId());
+		dto.setNumberOfSeats(seats);
+		return dto;
+	}
+
+	private RideScheduleDTO schedule(String town, String recurrence) {
+		RideScheduleDTO schedule = new RideScheduleDTO();
+		schedule.setOrigin(town + " Origin");
+		schedule.setDestination(town + " Destination");
+		schedule.setRecurrence(recurrence);
+		schedule.setDepartureTime(DEPARTURE);
+		schedule.setStartDate(LocalDate.now().plusDays(1));
+		// Bounded, so searches far ahead in other tests never see these schedules
+		schedule.setEndDate(LocalDate.now().plusDays(30));
+		schedule.setAvailableSeats(4);
+		schedule.setPricePerSeat(80);
+		return schedule;
+	}
+}
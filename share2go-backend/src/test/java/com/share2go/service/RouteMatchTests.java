@@ -0,0 +1,166 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.TestData;
+import com.share2go.dto.BookingDTO;
+import com.share2go.dto.RideDTO;
+import com.share2go.dto.RideMatchDTO;
+import com.share2go.model.User;
+import com.share2go.search.RideRouteIndex;
+import com.share2go.search.RideSearchIndex;
+
+/**
+ * Checks that passengers are matched to rides passing both of their stops in
+ * order, and that seats are counted per segment of the route.
+ */
+@SpringBootTest
+class RouteMatchTests {
+
+	@Autowired
+	private RideService rideService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private RideSearchIndex rideSearchIndex;
+
+	@Autowired
+	private RideRouteIndex rideRouteIndex;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void partialRoutesAreMatchedInOrder() {
+		String town = UUID.randomUUID().toString();
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), ride(town, 2));
+
+		assertThat(rideService.matchRoute(town + " b", "  " + town.toUpperCase() + " C ", null, 1))
+				.singleElement().satisfies(match -> {
+					assertThat(match.getRide().getId()).isEqualTo(ride.getId());
+					assertThat(match.getRide().getWaypoints()).containsExactly(town + " B", town + " C");
+					assertThat(match.getBoardStop()).isEqualTo(1);
+					assertThat(match.getAlightStop()).isEqualTo(2);
+					assertThat(match.getAvailableSeats()).isEqualTo(2);
+				});
+		assertThat(rideService.matchRoute(town + " C", town + " B", null, 1)).isEmpty();
+		assertThat(rideService.matchRoute(town + " A", town + " D", null, 3)).isEmpty();
+	}
+
+	@Test
+	void seatsAreTakenOnlyOnTheBookedSegments() {
+		String town = UUID.randomUUID().toString();
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), ride(town, 2));
+		User first = testData.user(User.Role.Passenger);
+
+		BookingDTO middle = bookingService.createBooking(request(ride, first, 1, 2, 2));
+
+		assertThat(rideService.getRideById(ride.getId()).getAvailableSeats()).isZero();
+		assertThat(seats(town + " A", town + " B")).isEqualTo(2);
+		assertThat(seats(town + " C", town + " D")).isEqualTo(2);
+		assertThat(rideService.matchRoute(town + " A", town + " C", null, 1)).isEmpty();
+		bookingService.createBooking(request(ride, testData.user(User.Role.Passenger), 0, 1, 2));
+		assertThatThrownBy(() -> bookingService.createBooking(request(ride, first, 1, 3, 1)))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		bookingService.cancelBooking(middle.getId());
+		assertThat(seats(town + " B", town + " D")).isEqualTo(2);
+		assertThat(rideService.getRideById(ride.getId()).getAvailableSeats()).isZero();
+	}
+
+	@Test
+	void waypointsAreFixedOncePartOfTheRouteIsBooked() {
+		String town = UUID.randomUUID().toString();
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), ride(town, 3));
+		bookingService.createBooking(request(ride, testData.user(User.Role.Passenger), 1, 3, 1));
+
+		RideDTO update = ride(town, 3);
+		update.setWaypoints(List.of(town + " B"));
+		assertThatThrownBy(() -> rideService.updateRide(ride.getId(), update))
+				.isInstanceOf(IllegalStateException.class);
+
+		// The new seat count applies to the whole route and moves every segment alike
+		rideService.updateRide(ride.getId(), ride(town, 5));
+		assertThat(rideService.getRideById(ride.getId()).getAvailableSeats()).isEqualTo(5);
+		assertThat(seats(town + " A", town + " B")).isEqualTo(6);
+		assertThat(seats(town + " B", town + " D")).isEqualTo(5);
+	}
+
+	@Test
+	void ridesWithoutWaypointsOnlyTakeWholeRouteBookings() {
+		RideDTO plain = ride(UUID.randomUUID().toString(), 2);
+		plain.setWaypoints(null);
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), plain);
+		User passenger = testData.user(User.Role.Passenger);
+
+		assertThat(bookingService.createBooking(request(ride, passenger, 0, 1, 1)).getStatus()).isEqualTo("PENDING");
+		assertThatThrownBy(() -> bookingService.createBooking(request(ride, passenger, 1, 2, 1)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(rideService.getRideById(ride.getId()).getAvailableSeats()).isEqualTo(1);
+	}
+
+	@Test
+	void rolledBackChangesStayOutOfTheIndexes() {
+		String town = UUID.randomUUID().toString();
+		String moved = UUID.randomUUID().toString();
+		User driver = testData.user(User.Role.Driver);
+		LocalDateTime now = LocalDateTime.now();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+		transaction.executeWithoutResult(status -> {
+			testData.createRide(driver, ride(moved, 2));
+			status.setRollbackOnly();
+		});
+		assertThat(rideSearchIndex.search(moved + " A", moved + " D", now)).isEmpty();
+		assertThat(rideRouteIndex.match(moved + " B", moved + " C", now)).isEmpty();
+
+		RideDTO ride = testData.createRide(driver, ride(town, 2));
+		transaction.executeWithoutResult(status -> {
+			rideService.updateRide(ride.getId(), ride(moved, 2));
+			status.setRollbackOnly();
+		});
+		assertThat(rideSearchIndex.search(town + " A", town + " D", now)).containsExactly(ride.getId());
+		assertThat(rideSearchIndex.search(moved + " A", moved + " D", now)).isEmpty();
+		assertThat(rideRouteIndex.match(town + " B", town + " C", now)).extracting(match -> match.rideId())
+				.containsExactly(ride.getId());
+	}
+
+	private int seats(String from, String to) {
+		return rideService.matchRoute(from, to, null, 1).stream().mapToInt(RideMatchDTO::getAvailableSeats)
+				.findFirst().orElse(0);
+	}
+
+	private BookingDTO request(RideDTO ride, User passenger, Integer boardStop, Integer alightStop, int seats) {
+		BookingDTO dto = new BookingDTO();
+		dto.setRideId(ride.getId());
+		dto.setPassengerId(passenger.getId());
+		dto.setBoardStop(boardStop);
+		dto.setAlightStop(alightStop);
+		dto.setNumberOfSeats(seats);
+		return dto;
+	}
+
+	private RideDTO ride(String town, int seats) {
+		RideDTO ride = TestData.ride(town, seats);
+		ride.setOrigin(town + " A");
+		ride.setDestination(town + " D");
+		ride.setWaypoints(List.of(town + " B", " ", town + " C"));
+		return ride;
+	}
+}
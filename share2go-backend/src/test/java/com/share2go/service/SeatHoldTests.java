@@ -0,0 +1,108 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.share2go.TestData;
+import com.share2go.dto.BookingDTO;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.Booking;
+import com.share2go.model.User;
+import com.share2go.repository.BookingRepository;
+import com.share2go.repository.RideRepository;
+import com.share2go.service.impl.SeatHoldExpiry;
+
+/**
+ * Checks that pending bookings hold their seats and give them back when the
+ * hold is rejected, cancelled or runs out.
+ */
+@SpringBootTest
+class SeatHoldTests {
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private SeatHoldExpiry seatHoldExpiry;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private RideRepository rideRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Test
+	void pendingBookingHoldsSeats() {
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), "Hold", 4);
+		BookingDTO booking = bookingService.createBooking(request(ride, 3));
+
+		assertThat(booking.getHoldExpiresAt()).isAfter(LocalDateTime.now());
+		assertThat(seatsLeft(ride)).isEqualTo(1);
+		assertThatThrownBy(() -> bookingService.createBooking(request(ride, 2)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void acceptingKeepsHeldSeats() {
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), "Hold", 4);
+		BookingDTO booking = bookingService.createBooking(request(ride, 2));
+
+		BookingDTO accepted = bookingService.acceptBooking(booking.getId());
+
+		assertThat(accepted.getStatus()).isEqualTo("CONFIRMED");
+		assertThat(accepted.getHoldExpiresAt()).isNull();
+		assertThat(seatsLeft(ride)).isEqualTo(2);
+	}
+
+	@Test
+	void rejectingAndCancellingReleaseHeldSeats() {
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), "Hold", 4);
+		BookingDTO rejected = bookingService.createBooking(request(ride, 2));
+		BookingDTO cancelled = bookingService.createBooking(request(ride, 2));
+		assertThat(seatsLeft(ride)).isZero();
+
+		bookingService.rejectBooking(rejected.getId());
+		bookingService.cancelBooking(cancelled.getId());
+
+		assertThat(seatsLeft(ride)).isEqualTo(4);
+	}
+
+	@Test
+	void expiredHoldsAreReleased() {
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), "Hold", 4);
+		BookingDTO booking = bookingService.createBooking(request(ride, 3));
+		Booking entity = bookingRepository.findById(booking.getId()).orElseThrow();
+		entity.setHoldExpiresAt(LocalDateTime.now().minusSeconds(1));
+		bookingRepository.save(entity);
+
+		seatHoldExpiry.sweepExpiredHolds();
+
+		Booking expired = bookingRepository.findById(booking.getId()).orElseThrow();
+		assertThat(expired.getStatus()).isEqualTo("EXPIRED");
+		assertThat(expired.getHoldExpiresAt()).isNull();
+		assertThat(seatsLeft(ride)).isEqualTo(4);
+		assertThatThrownBy(() -> bookingService.acceptBooking(booking.getId()))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	private int seatsLeft(RideDTO ride) {
+		return rideRepository.findById(ride.getId()).orElseThrow().getAvailableSeats();
+	}
+
+	private BookingDTO request(RideDTO ride, int seats) {
+		BookingDTO dto = new BookingDTO();
+		dto.setRideId(ride.getId());
+		dto.setPassengerId(testData.user(User.Role.Passenger).getId());
+		dto.setNumberOfSeats(seats);
+		return dto;
+	}
+}
@@ -0,0 +1,154 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.share2go.TestData;
+import com.share2go.dto.RideDTO;
+import com.share2go.model.Booking;
+import com.share2go.model.User;
+import com.share2go.repository.BookingRepository;
+import com.share2go.repository.RideRepository;
+
+/**
+ * Hammers acceptBooking and cancelBooking from many threads at once and checks
+ * that a ride is never oversold and no seat is lost.
+ */
+@SpringBootTest
+class SeatReservationConcurrencyTests {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private RideRepository rideRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Test
+	void concurrentAcceptsNeverOversell() throws Exception {
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), "Stress", 10);
+		List<Booking> bookings = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			bookings.add(booking(ride, 1 + i % 2));
+		}
+
+		AtomicInteger acceptedSeats = new AtomicInteger();
+		AtomicInteger rejections = new AtomicInteger();
+		runConcurrently(bookings.stream().<Callable<Void>>map(booking -> () -> {
+			try {
+				acceptedSeats.addAndGet(bookingService.acceptBooking(booking.getId()).getNumberOfSeats());
+			} catch (IllegalArgumentException notEnoughSeats) {
+				rejections.incrementAndGet();
+			}
+			return null;
+		}).toList());
+
+		int confirmedSeats = bookingRepository.findByRideId(ride.getId()).stream()
+				.filter(b -> "CONFIRMED".equals(b.getStatus())).mapToInt(Booking::getNumberOfSeats).sum();
+		int seatsLeft = rideRepository.findById(ride.getId()).orElseThrow().getAvailableSeats();
+
+		assertThat(seatsLeft).isGreaterThanOrEqualTo(0);
+		assertThat(confirmedSeats).isEqualTo(acceptedSeats.get()).isEqualTo(10 - seatsLeft);
+		assertThat(seatsLeft).isLessThan(2);
+		assertThat(rejections.get()).isPositive();
+	}
+
+	@Test
+	void acceptingTheSameBookingTwiceReservesOnce() throws Exception {
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), "Stress", 5);
+		Booking booking = booking(ride, 2);
+
+		List<Callable<Void>> accepts = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			accepts.add(() -> {
+				bookingService.acceptBooking(booking.getId());
+				return null;
+			});
+		}
+		runConcurrently(accepts);
+
+		assertThat(rideRepository.findById(ride.getId()).orElseThrow().getAvailableSeats()).isEqualTo(3);
+	}
+
+	@Test
+	void concurrentAcceptsAndCancelsKeepSeatsBalanced() throws Exception {
+		RideDTO ride = testData.createRide(testData.user(User.Role.Driver), "Stress", 8);
+		List<Booking> bookings = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			bookings.add(booking(ride, 1));
+		}
+
+		List<Callable<Void>> operations = new ArrayList<>();
+		for (Booking booking : bookings) {
+			operations.add(() -> {
+				try {
+					bookingService.acceptBooking(booking.getId());
+				} catch (IllegalArgumentException | IllegalStateException expected) {
+					// sold out, or already cancelled by the other operation
+				}
+				return null;
+			});
+			operations.add(() -> {
+				bookingService.cancelBooking(booking.getId());
+				return null;
+			});
+		}
+		runConcurrently(operations);
+
+		long stillConfirmed = bookingRepository.findByRideId(ride.getId()).stream()
+				.filter(b -> "CONFIRMED".equals(b.getStatus())).count();
+		int seatsLeft = rideRepository.findById(ride.getId()).orElseThrow().getAvailableSeats();
+		assertThat(stillConfirmed).isZero();
+		assertThat(seatsLeft).isEqualTo(8);
+	}
+
+	private static void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			for (Callable<Void> task : tasks) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					return task.call();
+				}));
+			}
+			start.countDown();
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private Booking booking(RideDTO ride, int seats) {
+		Booking booking = new Booking();
+		booking.setRide(rideRepository.getReferenceById(ride.getId()));
+		booking.setPassenger(testData.user(User.Role.Passenger));
+		booking.setNumberOfSeats(seats);
+		booking.setStatus("PENDING");
+		booking.setBookingTime(LocalDateTime.now());
+		return bookingRepository.save(booking);
+	}
+}
@@ -0,0 +1,107 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.share2go.TestData;
+import com.share2go.dto.NotificationDTO;
+import com.share2go.model.Notification;
+import com.share2go.model.User;
+import com.share2go.repository.NotificationRepository;
+import com.share2go.service.impl.UnreadCounters;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that unread counts come from the counter cache, follow creates and
+ * reads incrementally, and are repaired by reconciliation.
+ */
+@SpringBootTest
+class UnreadCounterTests {
+
+	@Autowired
+	private NotificationService notificationService;
+
+	@Autowired
+	private UnreadCounters unreadCounters;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private TestData testData;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void countIsServedFromCacheAndUpdatedIncrementally() {
+		User user = testData.user(User.Role.Passenger);
+		assertThat(notificationService.getUnreadCount(user.getId())).isZero();
+
+		NotificationDTO first = notificationService.createNotification(notification(user));
+		notificationService.createNotification(notification(user));
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(2);
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		notificationService.markAsRead(first.getId());
+		notificationService.markAsRead(first.getId());
+		assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(1);
+
+		notificationService.markAllAsRead(user.getId());
+		assertThat(notificationService.getUnreadCount(user.getId())).isZero();
+	}
+
+	@Test
+	void rolledBackReadsLeaveTheCountAlone() {
+		User user = testData.user(User.Role.Passenger);
+		NotificationDTO first = notificationService.createNotification(notification(user));
+		notificationService.createNotification(notification(user));
+
+		transactionTemplate.executeWithoutResult(status -> {
+			notificationService.markAsRead(first.getId());
+			notificationService.markAllAsRead(user.getId());
+			status.setRollbackOnly();
+		});
+
+		assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(2);
+		assertThat(notificationRepository.countByRecipientIdAndReadFlagFalse(user.getId())).isEqualTo(2);
+	}
+
+	@Test
+	void reconciliationFixesDrift() {
+		User user = testData.user(User.Role.Passenger);
+		assertThat(notificationService.getUnreadCount(user.getId())).isZero();
+
+		// Written behind the counter's back
+		Notification n = new Notification();
+		n.setRecipient(user);
+		n.setType("BOOKING_REQUEST");
+		n.setMessage("Unseen");
+		notificationRepository.save(n);
+		assertThat(notificationService.getUnreadCount(user.getId())).isZero();
+
+		unreadCounters.reconcile();
+		assertThat(notificationService.getUnreadCount(user.getId())).isEqualTo(1);
+	}
+
+	private static NotificationDTO notification(User user) {
+		NotificationDTO n = new NotificationDTO();
+		n.setRecipientId(user.getId());
+		n.setType("BOOKING_REQUEST");
+		n.setMessage("Counted");
+		return n;
+	}
+}
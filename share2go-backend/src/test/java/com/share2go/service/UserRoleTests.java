@@ -0,0 +1,65 @@
+package com.share2go.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.share2go.dto.UserDTO;
+import com.share2go.model.User;
+import com.share2go.service.impl.UserServiceImpl;
+
+/**
+ * Checks that clients can only give themselves the Driver or Passenger role
+ * and that Admin is granted only when the listed accounts are promoted.
+ */
+@SpringBootTest
+class UserRoleTests {
+
+	@Autowired
+	private UserServiceImpl userService;
+
+	@Test
+	void adminCannotBeRequested() {
+		assertThatThrownBy(() -> userService.createUser(dto(UUID.randomUUID() + "@roles.test", User.Role.Admin)))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		UserDTO passenger = userService.createUser(dto(UUID.randomUUID() + "@roles.test", User.Role.Passenger));
+		assertThat(passenger.getRole()).isEqualTo(User.Role.Passenger);
+		assertThatThrownBy(() -> userService.updateUser(passenger.getId(), dto(passenger.getEmail(), User.Role.Admin)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(userService.getUserById(passenger.getId()).getRole()).isEqualTo(User.Role.Passenger);
+
+		assertThat(userService.updateUser(passenger.getId(), dto(passenger.getEmail(), User.Role.Driver)).getRole())
+				.isEqualTo(User.Role.Driver);
+	}
+
+	@Test
+	void listedAccountsArePromotedAtStartupOnly() {
+		UserDTO admin = userService.createUser(dto("admin@share2go.test", User.Role.Passenger));
+		assertThat(admin.getRole()).isEqualTo(User.Role.Passenger);
+		UserDTO other = userService.createUser(dto(UUID.randomUUID() + "@roles.test", User.Role.Driver));
+		other.setEmail("admin@share2go.test");
+		userService.deleteUser(admin.getId());
+		assertThat(userService.updateUser(other.getId(), other).getRole()).isEqualTo(User.Role.Driver);
+
+		userService.promoteAdmins();
+		assertThat(userService.getUserById(other.getId()).getRole()).isEqualTo(User.Role.Admin);
+		assertThat(userService.updateUser(other.getId(), dto(other.getEmail(), User.Role.Admin)).getRole())
+				.isEqualTo(User.Role.Admin);
+		userService.deleteUser(other.getId());
+	}
+
+	private UserDTO dto(String email, User.Role role) {
+		UserDTO dto = new UserDTO();
+		dto.setName("Roles");
+		dto.setEmail(email);
+		dto.setPassword("unused");
+		dto.setRole(role);
+		return dto;
+	}
+}
@@ -56,4 +56,17 @@ api.interceptors.response.use(
   }
 );
 
+// Follows X-Next-Cursor until the last page, for views that need the whole
+// list (such as totals); each request stays bounded by the server's page size
+export async function getAllPages(url, size = 200) {
+  const items = [];
+  let cursor = null;
+  do {
+    const res = await api.get(url, { params: { cursor, size } });
+    items.push(...res.data);
+    cursor = res.headers["x-next-cursor"] ?? null;
+  } while (cursor !== null);
+  return items;
+}
+
 export default api;
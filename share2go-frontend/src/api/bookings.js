@@ -1,4 +1,4 @@
-import api from "./axios";
+import api, { getAllPages } from "./axios";
 
 export async function createBooking(bookingData) {
   const res = await api.post("/api/bookings", bookingData);
@@ -6,8 +6,7 @@ export async function createBooking(bookingData) {
 }
 
 export async function getPassengerBookings(passengerId) {
-  const res = await api.get(`/api/bookings/passenger/${passengerId}`);
-  return res.data;
+  return getAllPages(`/api/bookings/passenger/${passengerId}`);
 }
 
 export async function cancelBooking(bookingId) {
@@ -16,8 +15,7 @@ export async function cancelBooking(bookingId) {
 }
 
 export async function getBookingsForRide(rideId) {
-  const res = await api.get(`/api/bookings/ride/${rideId}`);
-  return res.data;
+  return getAllPages(`/api/bookings/ride/${rideId}`);
 }
 
 export async function updateBookingStatus(bookingId, status) {
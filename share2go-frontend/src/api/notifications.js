@@ -1,8 +1,10 @@
 import api from "./axios";
 
-export async function getUserNotifications(userId) {
-  const res = await api.get(`/api/notifications/user/${userId}`);
-  return res.data;
+// Newest first: pass the returned nextCursor to get older notifications,
+// which is null once there are none left
+export async function getUserNotifications(userId, cursor, size = 20) {
+  const res = await api.get(`/api/notifications/user/${userId}`, { params: { cursor, size } });
+  return { notifications: res.data, nextCursor: res.headers["x-next-cursor"] ?? null };
 }
 
 export async function getUnreadCount(userId) {
@@ -19,3 +21,45 @@ export async function markAllNotificationsRead(userId) {
   const res = await api.put(`/api/notifications/user/${userId}/read-all`);
   return res.data;
 }
+
+const STREAM_RETRY_MS = 5000;
+
+// EventSource cannot send an Authorization header, so the URL carries a
+// short-lived token that only opens this user's stream. The token expires
+// soon after the stream opens, so every reconnect asks for a new one instead
+// of letting the browser retry with the old URL.
+export function openNotificationStream(userId, { onNotification, onUnreadCount }) {
+  let source = null;
+  let retry = null;
+  let closed = false;
+
+  const reconnectLater = () => {
+    if (!closed) retry = setTimeout(connect, STREAM_RETRY_MS);
+  };
+
+  async function connect() {
+    try {
+      const res = await api.post("/api/notifications/stream-token");
+      if (closed) return;
+      const url = `${import.meta.env.VITE_API_BASE_URL}/api/notifications/user/${userId}/stream?access_token=${encodeURIComponent(res.data.token)}`;
+      source = new EventSource(url);
+      source.addEventListener("notification", (e) => onNotification(JSON.parse(e.data)));
+      source.addEventListener("unread-count", (e) => onUnreadCount(Number(e.data)));
+      source.onerror = () => {
+        source.close();
+        reconnectLater();
+      };
+    } catch {
+      reconnectLater();
+    }
+  }
+
+  connect();
+  return {
+    close() {
+      closed = true;
+      clearTimeout(retry);
+      source?.close();
+    },
+  };
+}
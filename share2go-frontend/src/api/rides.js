@@ -1,14 +1,18 @@
-import api from "./axios";
+import api, { getAllPages } from "./axios";
 
 export async function publishRideApi(driverId, rideData) {
   const res = await api.post(`/api/rides/driver/${driverId}`, rideData);
   return res.data;
 }
 
-export async function getRidesByDriver(driverId, page = 0, size = 10) {
-  const res = await api.get(
-    `/api/rides/driver/${driverId}?page=${page}&size=${size}`
-  );
+export async function getRidesByDriver(driverId) {
+  return getAllPages(`/api/rides/driver/${driverId}`);
+}
+
+// One summary row per ride with its booking counts, kept up to date by the
+// server so the dashboard does not have to load every ride's bookings
+export async function getDriverDashboard(driverId) {
+  const res = await api.get(`/api/drivers/${driverId}/dashboard`);
   return res.data;
 }
 
@@ -27,7 +31,9 @@ export async function searchRides(params) {
   return res.data;
 }
 
-export async function getAllRides(page = 0, size = 10) {
-  const res = await api.get(`/api/rides?page=${page}&size=${size}`);
-  return res.data;
+// Pages are keyed by ride id: pass the returned nextCursor to get the next
+// page, which is null after the last one
+export async function getAllRides(cursor, size = 10) {
+  const res = await api.get("/api/rides", { params: { cursor, size } });
+  return { rides: res.data, nextCursor: res.headers["x-next-cursor"] ?? null };
 }
\ No newline at end of file
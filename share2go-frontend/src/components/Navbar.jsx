@@ -6,6 +6,7 @@ import {
   getUnreadCount,
   markNotificationRead,
   markAllNotificationsRead,
+  openNotificationStream,
 } from "../api/notifications";
 
 export default function Navbar() {
@@ -14,6 +15,7 @@ export default function Navbar() {
 
   // Notification State
   const [notifications, setNotifications] = useState([]);
+  const [olderCursor, setOlderCursor] = useState(null);
   const [unreadCount, setUnreadCount] = useState(0);
   const [showDropdown, setShowDropdown] = useState(false);
   const dropdownRef = useRef(null);
@@ -29,22 +31,45 @@ export default function Navbar() {
     try {
       const count = await getUnreadCount(user.id);
       setUnreadCount(count);
-      const list = await getUserNotifications(user.id);
+      const { notifications: list, nextCursor } = await getUserNotifications(user.id);
       // Ensure list is an array
       setNotifications(Array.isArray(list) ? list : []);
+      setOlderCursor(nextCursor);
     } catch (err) {
       console.error("Failed to fetch notifications", err);
     }
   };
 
-  // Auto-refresh every 15s
+  // Append the next page of older notifications below the ones shown
+  const loadOlderNotifications = async () => {
+    if (!user?.id || olderCursor === null) return;
+    try {
+      const { notifications: older, nextCursor } = await getUserNotifications(user.id, olderCursor);
+      setNotifications((prev) => [
+        ...prev,
+        ...older.filter((n) => !prev.some((p) => p.id === n.id)),
+      ]);
+      setOlderCursor(nextCursor);
+    } catch (err) {
+      console.error("Failed to fetch older notifications", err);
+    }
+  };
+
+  // Load once, then let the server push new notifications and unread counts
   useEffect(() => {
     if (user) {
       fetchNotifications();
-      const interval = setInterval(fetchNotifications, 15000);
-      return () => clearInterval(interval);
+      const stream = openNotificationStream(user.id, {
+        onNotification: (notif) => {
+          setNotifications((prev) => [notif, ...prev.filter((n) => n.id !== notif.id)]);
+          setUnreadCount((prev) => prev + 1);
+        },
+        onUnreadCount: setUnreadCount,
+      });
+      return () => stream.close();
     } else {
       setNotifications([]);
+      setOlderCursor(null);
       setUnreadCount(0);
     }
   }, [user]);
@@ -191,6 +216,14 @@ export default function Navbar() {
                         </div>
                       ))
                     )}
+                    {olderCursor !== null && (
+                      <button
+                        onClick={loadOlderNotifications}
+                        className="w-full p-2 text-xs text-blue-600 hover:underline"
+                      >
+                        Load older
+                      </button>
+                    )}
                   </div>
                 </div>
               )}
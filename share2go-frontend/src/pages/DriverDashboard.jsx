@@ -2,6 +2,7 @@ import React, { useEffect, useState } from "react";
 import { useAuth } from "../context/AuthContext";
 import {
   getRidesByDriver,
+  getDriverDashboard,
   deleteRide,
   updateRide,
   publishRideApi,
@@ -18,7 +19,8 @@ export default function DriverDashboard() {
   const driverId = user?.id;
 
   const [rides, setRides] = useState([]);
-  const [bookingsMap, setBookingsMap] = useState({}); // rideId -> bookings[]
+  const [summaries, setSummaries] = useState({}); // rideId -> dashboard summary
+  const [selectedRideBookings, setSelectedRideBookings] = useState([]);
   const [stats, setStats] = useState({
     totalRides: 0,
     activeRides: 0,
@@ -37,27 +39,21 @@ export default function DriverDashboard() {
     if (!driverId) return;
     setLoading(true);
     try {
-      // Fetching all rides (large size) to calculate stats on frontend
-      // In a real app, we should have a dedicated stats endpoint
-      const data = await getRidesByDriver(driverId, 0, 100);
-      const ridesList = data.content || (Array.isArray(data) ? data : []) || [];
+      // Booking counts come from the dashboard summaries, so no ride's
+      // bookings are loaded until the driver opens them
+      const [data, dashboard] = await Promise.all([
+        getRidesByDriver(driverId),
+        getDriverDashboard(driverId),
+      ]);
+      const ridesList = Array.isArray(data) ? data : [];
+      const summaryMap = Object.fromEntries(
+        (Array.isArray(dashboard) ? dashboard : []).map((s) => [s.rideId, s])
+      );
 
       setRides(ridesList);
+      setSummaries(summaryMap);
 
-      // Fetch bookings for all rides to calculate stats correctly
-      const newBookingsMap = {};
-      await Promise.all(ridesList.map(async (ride) => {
-        try {
-          const bookings = await getBookingsForRide(ride.id);
-          newBookingsMap[ride.id] = bookings || [];
-        } catch (e) {
-          console.warn(`Failed to fetch bookings for ride ${ride.id}`, e);
-          newBookingsMap[ride.id] = [];
-        }
-      }));
-      setBookingsMap(newBookingsMap);
-
-      calculateStats(ridesList, newBookingsMap);
+      calculateStats(ridesList, summaryMap);
     } catch (err) {
       console.error("Error fetching rides:", err);
       setError("Failed to load dashboard data.");
@@ -66,7 +62,7 @@ export default function DriverDashboard() {
     }
   };
 
-  const calculateStats = (ridesData, bookingsData) => {
+  const calculateStats = (ridesData, summaryData) => {
     const totalRides = ridesData.length;
     const activeRides = ridesData.filter(r => new Date(r.departureTime) > new Date()).length;
 
@@ -74,12 +70,11 @@ export default function DriverDashboard() {
     let totalEarnings = 0;
 
     ridesData.forEach(r => {
-      const bookings = bookingsData[r.id] || [];
-      const confirmedBookings = bookings.filter(b => b.status === 'CONFIRMED' || b.status === 'ACCEPTED');
+      const summary = summaryData[r.id];
 
-      totalPassengers += confirmedBookings.length;
+      totalPassengers += summary?.confirmedBookings || 0;
 
-      const bookedSeats = confirmedBookings.reduce((acc, b) => acc + b.numberOfSeats, 0);
+      const bookedSeats = summary?.confirmedSeats || 0;
       // Update ride object with calculated booked seats for display
       r.bookedSeats = bookedSeats;
 
@@ -132,8 +127,19 @@ export default function DriverDashboard() {
     }
   };
 
+  const loadBookingsFor = async (ride) => {
+    try {
+      setSelectedRideBookings(await getBookingsForRide(ride.id));
+    } catch (err) {
+      console.error(`Failed to fetch bookings for ride ${ride.id}`, err);
+      setSelectedRideBookings([]);
+    }
+  };
+
   const handleViewBookings = async (ride) => {
     setSelectedRideForBookings(ride);
+    setSelectedRideBookings([]);
+    loadBookingsFor(ride);
   };
 
   const handleBookingAction = async (bookingId, action) => {
@@ -141,6 +147,7 @@ export default function DriverDashboard() {
       await updateBookingStatus(bookingId, action); // 'CONFIRMED' or 'REJECTED'
       // Refresh all data to update stats and UI
       fetchRides();
+      if (selectedRideForBookings) loadBookingsFor(selectedRideForBookings);
     } catch (err) {
       console.error(err);
       alert(`Failed to ${action.toLowerCase()} booking.`);
@@ -148,8 +155,7 @@ export default function DriverDashboard() {
   };
 
   const getPendingCount = (rideId) => {
-    const bookings = bookingsMap[rideId] || [];
-    return bookings.filter(b => b.status === 'PENDING').length;
+    return summaries[rideId]?.pendingBookings || 0;
   };
 
   return (
@@ -223,7 +229,7 @@ export default function DriverDashboard() {
         {selectedRideForBookings && (
           <BookingsModal
             ride={selectedRideForBookings}
-            bookings={bookingsMap[selectedRideForBookings.id] || []}
+            bookings={selectedRideBookings}
             onClose={() => setSelectedRideForBookings(null)}
             onAction={handleBookingAction}
           />